@@ -0,0 +1,80 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Next occurrence of each kind of schedule, from a reference time that moves forward on every
+ * invocation so cached results can't be reused.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NextTriggerBenchmark {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final long STEP = 37 * 60 * 1000L + 13_000L;
+
+    @Param({ "every-minute", "every-day", "every-month", "repeating-at", "on-hour", "on-weekdays" })
+    public String kind;
+
+    private LocalNotificationSchedule schedule;
+    private long anchor;
+    private long now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        schedule = new LocalNotificationSchedule();
+        anchor = START;
+        LocalNotificationSchedule.ScheduleOn on = new LocalNotificationSchedule.ScheduleOn();
+        switch (kind) {
+            case "every-minute":
+                schedule.setEvery("minute");
+                break;
+            case "every-day":
+                schedule.setEvery("day");
+                break;
+            case "every-month":
+                schedule.setEvery("month");
+                break;
+            case "repeating-at":
+                schedule.setAt(new Date(START));
+                schedule.setRepeats(true);
+                break;
+            case "on-hour":
+                on.minute = CronField.of(30);
+                schedule.setOn(on);
+                break;
+            case "on-weekdays":
+                on.weekday = CronField.parse("2-6");
+                on.hour = CronField.parse("9,18");
+                on.minute = CronField.of(0);
+                schedule.setOn(on);
+                break;
+            default:
+                throw new IllegalArgumentException(kind);
+        }
+        now = START;
+    }
+
+    @Benchmark
+    public Long nextTrigger() {
+        now += STEP;
+        return schedule.getNextTrigger(anchor, new Date(now));
+    }
+}
@@ -0,0 +1,95 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encoding and decoding of a single stored record
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RecordCodecBenchmark {
+
+    /**
+     * Same shape as the stored notifications: a few strings and flags around a schedule
+     */
+    static class StoredRecord {
+
+        Integer id;
+        String title;
+        String body;
+        String largeBody;
+        String summaryText;
+        String channelId;
+        String group;
+        Integer priority;
+        boolean autoCancel;
+        boolean ongoing;
+        LocalNotificationSchedule schedule;
+    }
+
+    static StoredRecord newRecord(int id) {
+        StoredRecord record = new StoredRecord();
+        record.id = id;
+        record.title = "Reminder " + id;
+        record.body = "Take a break and stretch for a few minutes";
+        record.largeBody = "Take a break and stretch for a few minutes, then drink a glass of water.";
+        record.summaryText = "Health";
+        record.channelId = "reminders";
+        record.group = "health";
+        record.priority = 3;
+        record.autoCancel = true;
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        switch (id % 3) {
+            case 0:
+                schedule.setAt(new Date(1_700_000_000_000L + id * 60_000L));
+                break;
+            case 1:
+                schedule.setEvery("day");
+                schedule.setAnchor(1_700_000_000_000L + id * 1000L);
+                break;
+            default:
+                LocalNotificationSchedule.ScheduleOn on = new LocalNotificationSchedule.ScheduleOn();
+                on.weekday = CronField.parse("2-6");
+                on.hour = CronField.of(9 + id % 10);
+                on.minute = CronField.of(id % 60);
+                schedule.setOn(on);
+        }
+        record.schedule = schedule;
+        return record;
+    }
+
+    private final RecordCodec<StoredRecord> codec = new RecordCodec<>(StoredRecord.class);
+    private StoredRecord record;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        record = newRecord(2);
+        encoded = codec.encode(record);
+    }
+
+    @Benchmark
+    public String encode() {
+        return codec.encode(record);
+    }
+
+    @Benchmark
+    public StoredRecord decode() {
+        return codec.decode(encoded);
+    }
+}
@@ -0,0 +1,57 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 90 days of load of a mix of daily, weekly, hourly and cron like schedules
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ScheduleLoadSimulatorBenchmark {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final long DAYS = 90;
+
+    private static final String[] SCHEDULES = {
+        "{\"every\":\"day\"}",
+        "{\"every\":\"week\"}",
+        "{\"every\":\"hour\"}",
+        "{\"on\":{\"hour\":[9,18],\"minute\":0}}",
+        "{\"on\":{\"weekday\":\"2-6\",\"hour\":8,\"minute\":30}}"
+    };
+
+    @Param({ "10000", "100000" })
+    public int schedules;
+
+    private List<String> notifications;
+
+    @Setup
+    public void setUp() {
+        notifications = new ArrayList<>(schedules);
+        for (int id = 0; id < schedules; id++) {
+            notifications.add("{\"id\":" + id + ",\"title\":\"Reminder\",\"schedule\":" + SCHEDULES[id % SCHEDULES.length] + "}");
+        }
+    }
+
+    @Benchmark
+    public ScheduleLoadSimulator.Report simulate() {
+        return new ScheduleLoadSimulator(START, START + DAYS * 24 * ScheduleLoadSimulator.HOUR_IN_MILLIS).run(notifications);
+    }
+}
@@ -0,0 +1,49 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading a whole store of records, as getPending and boot restore do
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class StoreLoadBenchmark {
+
+    @Param({ "10000", "30000", "100000" })
+    public int records;
+
+    private final RecordCodec<RecordCodecBenchmark.StoredRecord> codec = new RecordCodec<>(RecordCodecBenchmark.StoredRecord.class);
+    private Map<String, String> store;
+
+    @Setup
+    public void setUp() {
+        // Same type the preferences getAll() returns
+        store = new HashMap<>();
+        for (int id = 0; id < records; id++) {
+            store.put(Integer.toString(id), codec.encode(RecordCodecBenchmark.newRecord(id)));
+        }
+    }
+
+    @Benchmark
+    public List<RecordCodecBenchmark.StoredRecord> decodeAll() {
+        return codec.decodeAll(store, null);
+    }
+}
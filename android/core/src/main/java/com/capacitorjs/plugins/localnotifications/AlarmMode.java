@@ -0,0 +1,78 @@
+package com.capacitorjs.plugins.localnotifications;
+
+/**
+ * How the alarm backing a scheduled notification is handed to AlarmManager.
+ *
+ * Priorities use the same 1-5 scale as channel importance (1 = min, 3 = default, 5 = max).
+ */
+public enum AlarmMode {
+    /** RTC alarm delivered somewhere inside {@link #WINDOW_LENGTH_MS}, never wakes the device */
+    WINDOWED(false, false),
+    /** RTC alarm, inexact because exact alarms are not allowed */
+    INEXACT(false, false),
+    /** RTC_WAKEUP alarm, inexact because exact alarms are not allowed */
+    INEXACT_WAKEUP(true, false),
+    /** Exact RTC alarm, delivered when the device is next awake */
+    EXACT(false, true),
+    /** Exact RTC_WAKEUP alarm */
+    EXACT_WAKEUP(true, true),
+    /** RTC_WAKEUP alarm allowed to fire in Doze, inexact */
+    IDLE(true, false),
+    /** Exact RTC_WAKEUP alarm allowed to fire in Doze */
+    EXACT_IDLE(true, true);
+
+    public static final int PRIORITY_MIN = 1;
+    public static final int PRIORITY_LOW = 2;
+    public static final int PRIORITY_DEFAULT = 3;
+    public static final int PRIORITY_HIGH = 4;
+    public static final int PRIORITY_MAX = 5;
+
+    /** Delivery window used for low priority notifications */
+    public static final long WINDOW_LENGTH_MS = 15 * 60 * 1000L;
+
+    private final boolean wakeup;
+    private final boolean exact;
+
+    AlarmMode(boolean wakeup, boolean exact) {
+        this.wakeup = wakeup;
+        this.exact = exact;
+    }
+
+    public boolean isWakeup() {
+        return wakeup;
+    }
+
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * Pick the alarm mode for a notification
+     *
+     * @param priority - effective priority on the 1-5 importance scale
+     * @param allowWhileIdle - schedule explicitly asked to fire in Doze
+     * @param canScheduleExact - exact alarms are permitted for this app
+     */
+    public static AlarmMode resolve(int priority, boolean allowWhileIdle, boolean canScheduleExact) {
+        if (allowWhileIdle) {
+            return canScheduleExact ? EXACT_IDLE : IDLE;
+        }
+        if (priority <= PRIORITY_LOW) {
+            return WINDOWED;
+        }
+        if (priority >= PRIORITY_HIGH) {
+            return canScheduleExact ? EXACT_WAKEUP : INEXACT_WAKEUP;
+        }
+        return canScheduleExact ? EXACT : INEXACT;
+    }
+
+    /**
+     * Clamp a priority (or channel importance) to the supported 1-5 range
+     */
+    public static int normalizePriority(Integer priority) {
+        if (priority == null) {
+            return PRIORITY_DEFAULT;
+        }
+        return Math.max(PRIORITY_MIN, Math.min(PRIORITY_MAX, priority));
+    }
+}
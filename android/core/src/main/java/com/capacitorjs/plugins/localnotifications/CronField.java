@@ -0,0 +1,166 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * Set of values of a cron-like schedule field, stored as a bitset (bit n set = value n matches).
+ *
+ * Accepts a single number, an array of numbers, or a string of comma separated values and
+ * ranges such as "9,18" or "2-6". Values must be between 0 and 63.
+ */
+@JsonAdapter(CronField.Adapter.class)
+public class CronField {
+
+    private final long mask;
+
+    public CronField(long mask) {
+        this.mask = mask;
+    }
+
+    public static CronField of(int... values) {
+        long mask = 0;
+        for (int value : values) {
+            mask |= bit(value);
+        }
+        return new CronField(mask);
+    }
+
+    /**
+     * Parse a "1-5,7" style list of values and ranges
+     */
+    public static CronField parse(String spec) {
+        long mask = 0;
+        for (String part : spec.split(",")) {
+            part = part.trim();
+            if (part.isEmpty()) {
+                continue;
+            }
+            int dash = part.indexOf('-', 1);
+            try {
+                if (dash < 0) {
+                    mask |= bit(Integer.parseInt(part));
+                } else {
+                    int from = Integer.parseInt(part.substring(0, dash).trim());
+                    int to = Integer.parseInt(part.substring(dash + 1).trim());
+                    if (from > to) {
+                        throw new IllegalArgumentException("Invalid range " + part);
+                    }
+                    for (int value = from; value <= to; value++) {
+                        mask |= bit(value);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid schedule value " + part, e);
+            }
+        }
+        return new CronField(mask);
+    }
+
+    private static long bit(int value) {
+        if (value < 0 || value > 63) {
+            throw new IllegalArgumentException("Schedule value out of range: " + value);
+        }
+        return 1L << value;
+    }
+
+    public long getMask() {
+        return mask;
+    }
+
+    public boolean isSingleValue() {
+        return Long.bitCount(mask) == 1;
+    }
+
+    public int[] values() {
+        int[] values = new int[Long.bitCount(mask)];
+        long remaining = mask;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+        }
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return mask == ((CronField) o).mask;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(mask);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int value : values()) {
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Reads numbers, arrays and range strings; writes a number for a single value and an array otherwise
+     */
+    public static class Adapter extends TypeAdapter<CronField> {
+
+        @Override
+        public void write(JsonWriter out, CronField field) throws IOException {
+            if (field == null) {
+                out.nullValue();
+                return;
+            }
+            if (field.isSingleValue()) {
+                out.value(Long.numberOfTrailingZeros(field.mask));
+                return;
+            }
+            out.beginArray();
+            for (int value : field.values()) {
+                out.value(value);
+            }
+            out.endArray();
+        }
+
+        @Override
+        public CronField read(JsonReader in) throws IOException {
+            try {
+                JsonToken token = in.peek();
+                if (token == JsonToken.NULL) {
+                    in.nextNull();
+                    return null;
+                }
+                if (token == JsonToken.BEGIN_ARRAY) {
+                    long mask = 0;
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        mask |= readValue(in);
+                    }
+                    in.endArray();
+                    return new CronField(mask);
+                }
+                return new CronField(readValue(in));
+            } catch (IllegalArgumentException e) {
+                throw new JsonSyntaxException(e.getMessage(), e);
+            }
+        }
+
+        private long readValue(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.STRING) {
+                return parse(in.nextString()).mask;
+            }
+            return bit(in.nextInt());
+        }
+    }
+}
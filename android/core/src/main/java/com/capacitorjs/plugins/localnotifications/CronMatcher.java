@@ -0,0 +1,295 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import java.util.TimeZone;
+
+/**
+ * Cron-like matcher compiled from {@link LocalNotificationSchedule.ScheduleOn}.
+ *
+ * Every field is a bitset of the values it matches. Fields more granular than the most granular
+ * field that was set match only their first value (so "hour: 9" fires at 09:00:00), coarser
+ * fields that weren't set match everything. Day of month and weekday must both match.
+ *
+ * Searching for the next occurrence jumps straight to the next set bit of each field and works on
+ * primitive local wall-clock fields, so it doesn't allocate.
+ */
+public final class CronMatcher {
+
+    /** Returned by {@link #next(long, TimeZone)} when the schedule never fires again */
+    public static final long NONE = Long.MIN_VALUE;
+
+    private static final long ALL_SECONDS = (1L << 60) - 1;
+    private static final long ALL_MINUTES = (1L << 60) - 1;
+    private static final long ALL_HOURS = (1L << 24) - 1;
+    // Bits 1-31 and 1-12, day and month are 1-based
+    private static final long ALL_DAYS = ((1L << 32) - 1) & ~1L;
+    private static final long ALL_MONTHS = ((1L << 13) - 1) & ~1L;
+    // Bits 1-7, 1 = Sunday as in java.util.Calendar
+    private static final long ALL_WEEKDAYS = ((1L << 8) - 1) & ~1L;
+
+    private static final int SECONDS_PER_DAY = 86400;
+    // Longest gap between two matching days (Feb 29 on a given weekday) is 28 years,
+    // a Gregorian cycle is 400
+    private static final int MAX_SEARCH_YEARS = 400;
+
+    private final int year;
+    private final long monthMask;
+    private final long dayMask;
+    private final long weekdayMask;
+    private final long hourMask;
+    private final long minuteMask;
+    private final long secondMask;
+
+    private CronMatcher(int year, long monthMask, long dayMask, long weekdayMask, long hourMask, long minuteMask, long secondMask) {
+        this.year = year;
+        this.monthMask = monthMask & ALL_MONTHS;
+        this.dayMask = dayMask & ALL_DAYS;
+        this.weekdayMask = weekdayMask & ALL_WEEKDAYS;
+        this.hourMask = hourMask & ALL_HOURS;
+        this.minuteMask = minuteMask & ALL_MINUTES;
+        this.secondMask = secondMask & ALL_SECONDS;
+    }
+
+    /**
+     * Compile the schedule fields, or return null if none is set
+     */
+    public static CronMatcher compile(LocalNotificationSchedule.ScheduleOn on) {
+        if (on == null) {
+            return null;
+        }
+        boolean daySet = on.day != null || on.weekday != null;
+        int finest;
+        if (on.second != null) {
+            finest = 6;
+        } else if (on.minute != null) {
+            finest = 5;
+        } else if (on.hour != null) {
+            finest = 4;
+        } else if (daySet) {
+            finest = 3;
+        } else if (on.month != null) {
+            finest = 2;
+        } else if (on.year != null) {
+            finest = 1;
+        } else {
+            return null;
+        }
+
+        long months = on.month != null ? bit(on.month) : (finest > 2 ? ALL_MONTHS : bit(1));
+        long days = on.day != null ? bit(on.day) : (finest > 3 || daySet ? ALL_DAYS : bit(1));
+        long weekdays = on.weekday != null ? on.weekday.getMask() : ALL_WEEKDAYS;
+        long hours = on.hour != null ? on.hour.getMask() : (finest > 4 ? ALL_HOURS : 1L);
+        long minutes = on.minute != null ? on.minute.getMask() : (finest > 5 ? ALL_MINUTES : 1L);
+        long seconds = on.second != null ? bit(on.second) : 1L;
+        return new CronMatcher(on.year != null ? on.year : -1, months, days, weekdays, hours, minutes, seconds);
+    }
+
+    private static long bit(int value) {
+        return value >= 0 && value < 64 ? 1L << value : 0L;
+    }
+
+    /**
+     * Next matching instant strictly after the given time
+     *
+     * @param afterMillis - epoch milliseconds to search from
+     * @param zone - time zone the fields are interpreted in
+     * @return epoch milliseconds or {@link #NONE}
+     */
+    public long next(long afterMillis, TimeZone zone) {
+        long utcSeconds = Math.floorDiv(afterMillis, 1000) + 1;
+        long localSeconds = utcSeconds + zone.getOffset(utcSeconds * 1000) / 1000;
+        // A local time repeated by a DST fall back can map to an instant before afterMillis
+        for (int attempt = 0; attempt < 3; attempt++) {
+            long match = nextLocal(localSeconds);
+            if (match == NONE) {
+                return NONE;
+            }
+            long utcMillis = toUtcMillis(match * 1000, zone);
+            if (utcMillis > afterMillis) {
+                return utcMillis;
+            }
+            localSeconds = match + 1;
+        }
+        return NONE;
+    }
+
+    /**
+     * Next matching local wall-clock second at or after the given one, in seconds since the local epoch
+     */
+    long nextLocal(long localSeconds) {
+        if (monthMask == 0 || dayMask == 0 || weekdayMask == 0 || hourMask == 0 || minuteMask == 0 || secondMask == 0) {
+            return NONE;
+        }
+        long epochDay = Math.floorDiv(localSeconds, SECONDS_PER_DAY);
+        int secondOfDay = Math.floorMod(localSeconds, SECONDS_PER_DAY);
+        long civil = civilFromDays(epochDay);
+        int y = (int) (civil / 10000);
+        int m = (int) (civil / 100 % 100);
+        int d = (int) (civil % 100);
+        int h = secondOfDay / 3600;
+        int mi = secondOfDay / 60 % 60;
+        int s = secondOfDay % 60;
+        int lastYear = (year >= 0 ? year : y) + MAX_SEARCH_YEARS;
+
+        while (y <= lastYear) {
+            if (year >= 0) {
+                if (y > year) {
+                    return NONE;
+                }
+                if (y < year) {
+                    y = year;
+                    m = 1;
+                    d = 1;
+                    h = mi = s = 0;
+                }
+            }
+
+            int nextMonth = nextBit(monthMask, m);
+            if (nextMonth < 0) {
+                y++;
+                m = 1;
+                d = 1;
+                h = mi = s = 0;
+                continue;
+            }
+            if (nextMonth != m) {
+                m = nextMonth;
+                d = 1;
+                h = mi = s = 0;
+            }
+
+            int nextDay = nextDay(y, m, d);
+            if (nextDay < 0) {
+                m++;
+                d = 1;
+                h = mi = s = 0;
+                continue;
+            }
+            if (nextDay != d) {
+                d = nextDay;
+                h = mi = s = 0;
+            }
+
+            int nextHour = nextBit(hourMask, h);
+            if (nextHour < 0) {
+                d++;
+                h = mi = s = 0;
+                continue;
+            }
+            if (nextHour != h) {
+                h = nextHour;
+                mi = s = 0;
+            }
+
+            int nextMinute = nextBit(minuteMask, mi);
+            if (nextMinute < 0) {
+                h++;
+                mi = s = 0;
+                continue;
+            }
+            if (nextMinute != mi) {
+                mi = nextMinute;
+                s = 0;
+            }
+
+            int nextSecond = nextBit(secondMask, s);
+            if (nextSecond < 0) {
+                mi++;
+                s = 0;
+                continue;
+            }
+
+            return daysFromCivil(y, m, d) * SECONDS_PER_DAY + h * 3600L + mi * 60L + nextSecond;
+        }
+        return NONE;
+    }
+
+    /**
+     * First day at or after {@code d} matching both the day and weekday masks, or -1
+     */
+    private int nextDay(int y, int m, int d) {
+        int daysInMonth = daysInMonth(y, m);
+        if (d > daysInMonth) {
+            return -1;
+        }
+        int firstWeekday = dayOfWeek(daysFromCivil(y, m, d));
+        for (int candidate = nextBit(dayMask, d); candidate > 0 && candidate <= daysInMonth; candidate = nextBit(dayMask, candidate + 1)) {
+            int weekday = (firstWeekday - 1 + candidate - d) % 7 + 1;
+            if ((weekdayMask & (1L << weekday)) != 0) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    private static int nextBit(long mask, int from) {
+        if (from > 63) {
+            return -1;
+        }
+        long remaining = mask >>> from;
+        return remaining == 0 ? -1 : from + Long.numberOfTrailingZeros(remaining);
+    }
+
+    private static long toUtcMillis(long localMillis, TimeZone zone) {
+        int offset = zone.getOffset(localMillis - zone.getRawOffset());
+        long utc = localMillis - offset;
+        int actualOffset = zone.getOffset(utc);
+        if (actualOffset != offset) {
+            utc = localMillis - actualOffset;
+        }
+        return utc;
+    }
+
+    static boolean isLeapYear(int y) {
+        return (y & 3) == 0 && (y % 100 != 0 || y % 400 == 0);
+    }
+
+    static int daysInMonth(int y, int m) {
+        switch (m) {
+            case 2:
+                return isLeapYear(y) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * 1 = Sunday ... 7 = Saturday, as in java.util.Calendar
+     */
+    static int dayOfWeek(long epochDay) {
+        // 1970-01-01 was a Thursday
+        return Math.floorMod(epochDay + 4, 7) + 1;
+    }
+
+    /**
+     * Days since 1970-01-01 of a proleptic Gregorian date
+     */
+    static long daysFromCivil(int y, int m, int d) {
+        long year = m <= 2 ? y - 1 : y;
+        long era = Math.floorDiv(year, 400);
+        long yearOfEra = year - era * 400;
+        long dayOfYear = (153L * (m > 2 ? m - 3 : m + 9) + 2) / 5 + d - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Inverse of {@link #daysFromCivil(int, int, int)}, packed as yyyy * 10000 + mm * 100 + dd
+     */
+    static long civilFromDays(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        long d = dayOfYear - (153 * mp + 2) / 5 + 1;
+        long m = mp < 10 ? mp + 3 : mp - 9;
+        long y = yearOfEra + era * 400 + (m <= 2 ? 1 : 0);
+        return y * 10000 + m * 100 + d;
+    }
+}
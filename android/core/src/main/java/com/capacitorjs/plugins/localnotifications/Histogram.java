@@ -0,0 +1,170 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram with fixed bucket upper bounds, safe to record into from several threads without locks.
+ *
+ * Bucket i counts values up to {@code bounds[i]} (inclusive), the last bucket counts everything
+ * above the last bound. Negative values are counted in the first bucket.
+ */
+public class Histogram {
+
+    private final long[] bounds;
+    private final AtomicLongArray counts;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param bounds - strictly increasing bucket upper bounds
+     */
+    public Histogram(long[] bounds) {
+        for (int i = 1; i < bounds.length; i++) {
+            if (bounds[i] <= bounds[i - 1]) {
+                throw new IllegalArgumentException("Histogram bounds must be strictly increasing");
+            }
+        }
+        this.bounds = bounds.clone();
+        this.counts = new AtomicLongArray(bounds.length + 1);
+    }
+
+    public void record(long value) {
+        counts.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    private int bucketOf(long value) {
+        // Binary search for the first bound >= value
+        int low = 0;
+        int high = bounds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bounds[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public long[] getBounds() {
+        return bounds.clone();
+    }
+
+    public long[] getCounts() {
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getSum() {
+        return sum.get();
+    }
+
+    /**
+     * Largest recorded value, or 0 when empty
+     */
+    public long getMax() {
+        return count.get() == 0 ? 0 : max.get();
+    }
+
+    public double getMean() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Estimate a quantile as the upper bound of the bucket it falls in, or the max for the last bucket
+     *
+     * @param quantile - between 0 and 1
+     */
+    public long getQuantile(double quantile) {
+        long[] snapshot = getCounts();
+        long total = 0;
+        for (long bucketCount : snapshot) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return i < bounds.length ? Math.min(bounds[i], getMax()) : getMax();
+            }
+        }
+        return getMax();
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(Long.MIN_VALUE);
+    }
+
+    /**
+     * Compact text form, "count,count,...;sum;max", for persisting
+     */
+    public String encode() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < counts.length(); i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(counts.get(i));
+        }
+        return builder.append(';').append(sum.get()).append(';').append(max.get()).toString();
+    }
+
+    /**
+     * Restore a histogram written by {@link #encode()}, or an empty one when the text doesn't
+     * match the bounds
+     */
+    public static Histogram decode(long[] bounds, String encoded) {
+        Histogram histogram = new Histogram(bounds);
+        if (encoded == null) {
+            return histogram;
+        }
+        String[] parts = encoded.split(";");
+        if (parts.length != 3) {
+            return histogram;
+        }
+        String[] bucketCounts = parts[0].split(",");
+        if (bucketCounts.length != bounds.length + 1) {
+            return histogram;
+        }
+        try {
+            long total = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                long bucketCount = Long.parseLong(bucketCounts[i]);
+                histogram.counts.set(i, bucketCount);
+                total += bucketCount;
+            }
+            histogram.count.set(total);
+            histogram.sum.set(Long.parseLong(parts[1]));
+            histogram.max.set(Long.parseLong(parts[2]));
+        } catch (NumberFormatException e) {
+            return new Histogram(bounds);
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,370 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import com.google.gson.annotations.SerializedName;
+import java.util.Date;
+import java.util.TimeZone;
+
+public class LocalNotificationSchedule {
+
+    public static final String JS_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";
+
+    /** One-shot {@code at} */
+    public static final String KIND_AT = "at";
+    /** Repeating {@code at} */
+    public static final String KIND_REPEATING_AT = "repeating-at";
+    /** {@code every} day, week, month or year */
+    public static final String KIND_EVERY_CALENDAR = "every-calendar";
+    /** {@code every} hour, minute or second */
+    public static final String KIND_EVERY_FIXED = "every-fixed";
+    /** Cron-like {@code on} */
+    public static final String KIND_ON = "on";
+
+    private static final long SECOND_IN_MILLIS = 1000L;
+    private static final long MINUTE_IN_MILLIS = 60 * SECOND_IN_MILLIS;
+    private static final long HOUR_IN_MILLIS = 60 * MINUTE_IN_MILLIS;
+    private static final long DAY_IN_MILLIS = 24 * HOUR_IN_MILLIS;
+    private static final long WEEK_IN_MILLIS = 7 * DAY_IN_MILLIS;
+
+    private Date at;
+    private Boolean repeats;
+    private String every;
+    private Integer count = 1;
+
+    private ScheduleOn on;
+
+    @SerializedName("allowWhileIdle")
+    private Boolean allowWhileIdle;
+
+    /** First trigger of an interval based schedule, recorded when it is armed */
+    private Long anchor;
+
+    /** Default time zone when the anchor was recorded, local-time anchors move with the zone */
+    private String anchorZone;
+
+    /** Compiled form of {@link #on}, built on first use */
+    private transient CronMatcher matcher;
+
+    /** No-arg constructor required for Gson deserialization */
+    public LocalNotificationSchedule() {}
+
+    /**
+     * Nested class representing cron-like schedule rules.
+     * Weekday, hour and minute accept several values, see {@link CronField}.
+     */
+    public static class ScheduleOn {
+        public Integer year;
+        public Integer month;
+        public Integer day;
+        public CronField weekday;
+        public CronField hour;
+        public CronField minute;
+        public Integer second;
+    }
+
+    /**
+     * Copy of the schedule, e.g. for notifications built from the same template that are armed
+     * and anchored independently
+     */
+    public LocalNotificationSchedule copy() {
+        LocalNotificationSchedule copy = new LocalNotificationSchedule();
+        copy.at = at != null ? new Date(at.getTime()) : null;
+        copy.repeats = repeats;
+        copy.every = every;
+        copy.count = count;
+        if (on != null) {
+            copy.on = new ScheduleOn();
+            copy.on.year = on.year;
+            copy.on.month = on.month;
+            copy.on.day = on.day;
+            copy.on.weekday = on.weekday;
+            copy.on.hour = on.hour;
+            copy.on.minute = on.minute;
+            copy.on.second = on.second;
+        }
+        copy.allowWhileIdle = allowWhileIdle;
+        copy.anchor = anchor;
+        copy.anchorZone = anchorZone;
+        copy.matcher = matcher;
+        return copy;
+    }
+
+    public ScheduleOn getOn() {
+        return on;
+    }
+
+    public void setOn(ScheduleOn on) {
+        this.on = on;
+        this.matcher = null;
+    }
+
+    public Date getAt() {
+        return at;
+    }
+
+    public void setAt(Date at) {
+        this.at = at;
+    }
+
+    public Boolean getRepeats() {
+        return repeats;
+    }
+
+    public void setRepeats(Boolean repeats) {
+        this.repeats = repeats;
+    }
+
+    public String getEvery() {
+        return every;
+    }
+
+    public void setEvery(String every) {
+        this.every = every;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+    public Long getAnchor() {
+        return anchor;
+    }
+
+    /**
+     * Record the anchor of an interval based schedule, computed in the current default time zone
+     */
+    public void setAnchor(Long anchor) {
+        this.anchor = anchor;
+        this.anchorZone = anchor != null ? TimeZone.getDefault().getID() : null;
+    }
+
+    /**
+     * Time the occurrences of a repeating schedule are computed from: the stored anchor, keeping
+     * the original phase after a reboot or a time change, else {@code at} or the first
+     * {@code every} trigger after now. Cron like schedules are computed from now.
+     *
+     * @return null when {@code every} is invalid
+     */
+    public Long resolveAnchor(long now) {
+        if ((at != null || every != null) && anchor != null) {
+            return anchor;
+        }
+        if (at != null) {
+            return at.getTime();
+        }
+        if (every != null) {
+            return getFirstEveryTrigger(now);
+        }
+        return now;
+    }
+
+    public String getAnchorZone() {
+        return anchorZone;
+    }
+
+    /**
+     * Move the anchor of a repeating {@code at} or calendar {@code every} schedule to the same
+     * wall-clock time in the current default time zone, after the zone changed. A daily reminder
+     * at 9:00 keeps firing at 9:00 local time.
+     *
+     * @return whether the anchor moved
+     */
+    public boolean moveAnchorToDefaultZone() {
+        String kind = getKind();
+        if (anchor == null || anchorZone == null || !RecurrenceEngine.isSupported()) {
+            return false;
+        }
+        if (!KIND_REPEATING_AT.equals(kind) && !KIND_EVERY_CALENDAR.equals(kind)) {
+            return false;
+        }
+        RecurrenceEngine engine = RecurrenceEngine.forDefaultZone();
+        long moved = engine.sameLocalTime(anchor, anchorZone);
+        if (moved == RecurrenceEngine.NONE) {
+            return false;
+        }
+        anchor = moved;
+        anchorZone = engine.getZone().getId();
+        return true;
+    }
+
+    public boolean allowWhileIdle() {
+        return Boolean.TRUE.equals(this.allowWhileIdle);
+    }
+
+    public void setAllowWhileIdle(Boolean allowWhileIdle) {
+        this.allowWhileIdle = allowWhileIdle;
+    }
+
+    public boolean isRepeating() {
+        return Boolean.TRUE.equals(this.repeats);
+    }
+
+    /**
+     * Kind of schedule, one of the {@code KIND_*} constants
+     */
+    public String getKind() {
+        if (at != null) {
+            return isRepeating() ? KIND_REPEATING_AT : KIND_AT;
+        }
+        if (every != null) {
+            switch (every) {
+                case "hour":
+                case "minute":
+                case "second":
+                    return KIND_EVERY_FIXED;
+                default:
+                    return KIND_EVERY_CALENDAR;
+            }
+        }
+        return KIND_ON;
+    }
+
+    /**
+     * Whether the trigger time is computed in local wall-clock time, and so has to be recomputed
+     * when the time zone or the clock changes
+     */
+    public static boolean isLocalTimeKind(String kind) {
+        return KIND_REPEATING_AT.equals(kind) || KIND_EVERY_CALENDAR.equals(kind) || KIND_ON.equals(kind);
+    }
+
+    public boolean isRemovable() {
+        if (every == null && on == null) {
+            if (at != null) {
+                return !isRepeating();
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get constant long value representing specific interval of time (weeks, days etc.).
+     * Only used where java.time isn't available, {@link RecurrenceEngine} steps months and years
+     * exactly.
+     */
+    public Long getEveryInterval() {
+        if (every == null) {
+            return null;
+        }
+        int countVal = getCountValue();
+        switch (every) {
+            case "year":
+                // This case is just approximation as not all years have the same number of days
+                return countVal * WEEK_IN_MILLIS * 52;
+            case "month":
+                // This case is just approximation as months have different number of days
+                return countVal * 30 * DAY_IN_MILLIS;
+            case "two-weeks":
+                return countVal * 2 * WEEK_IN_MILLIS;
+            case "week":
+                return countVal * WEEK_IN_MILLIS;
+            case "day":
+                return countVal * DAY_IN_MILLIS;
+            case "hour":
+                return countVal * HOUR_IN_MILLIS;
+            case "minute":
+                return countVal * MINUTE_IN_MILLIS;
+            case "second":
+                return countVal * SECOND_IN_MILLIS;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Interval between two deliveries of an interval based schedule: the {@code every} interval,
+     * or one day for a repeating {@code at} without {@code every}
+     */
+    public Long getRepeatInterval() {
+        if (at != null && isRepeating() && every == null) {
+            return DAY_IN_MILLIS;
+        }
+        return getEveryInterval();
+    }
+
+    /**
+     * First trigger of an {@code every} schedule created at the given time: one interval later
+     *
+     * @return millisecond trigger or null if {@code every} is not set or invalid
+     */
+    public Long getFirstEveryTrigger(long now) {
+        if (every == null) {
+            return null;
+        }
+        if (RecurrenceEngine.isSupported()) {
+            long first = RecurrenceEngine.forDefaultZone().step(now, every, getCountValue());
+            return first == RecurrenceEngine.NONE ? null : first;
+        }
+        Long interval = getEveryInterval();
+        return interval == null ? null : now + interval;
+    }
+
+    /**
+     * Get next trigger time of a repeating schedule.
+     * Interval based schedules are computed from their anchor (the first trigger) rather than from
+     * the previous delivery, so late deliveries never accumulate into drift.
+     *
+     * @param anchor - first trigger time of an interval based schedule
+     * @param currentTime - current time that will be used to calculate next trigger
+     * @return millisecond trigger or null if the schedule doesn't repeat
+     */
+    public Long getNextTrigger(long anchor, Date currentTime) {
+        if (at != null) {
+            if (!isRepeating()) {
+                return null;
+            }
+        } else if (every == null) {
+            return getNextOnSchedule(currentTime);
+        }
+
+        long now = currentTime.getTime();
+        if (RecurrenceEngine.isSupported()) {
+            String unit = every != null ? every : "day";
+            long next = RecurrenceEngine.forDefaultZone().next(anchor, unit, getCountValue(), now);
+            return next == RecurrenceEngine.NONE ? null : next;
+        }
+
+        Long interval = getRepeatInterval();
+        if (interval == null || interval <= 0) {
+            return null;
+        }
+        if (anchor > now) {
+            return anchor;
+        }
+        long elapsedIntervals = (now - anchor) / interval + 1;
+        return anchor + elapsedIntervals * interval;
+    }
+
+    private int getCountValue() {
+        return count == null ? 1 : count;
+    }
+
+    /**
+     * Get next trigger time based on calendar and current time
+     *
+     * @param currentTime - current time that will be used to calculate next trigger
+     * @return millisecond trigger or null if the schedule never matches again
+     */
+    public Long getNextOnSchedule(Date currentTime) {
+        if (this.on == null) {
+            return null;
+        }
+        if (matcher == null) {
+            matcher = CronMatcher.compile(on);
+            if (matcher == null) {
+                return null;
+            }
+        }
+        long next;
+        if (RecurrenceEngine.isSupported()) {
+            next = RecurrenceEngine.forDefaultZone().nextOn(matcher, currentTime.getTime());
+        } else {
+            next = matcher.next(currentTime.getTime(), TimeZone.getDefault());
+        }
+        return next == CronMatcher.NONE || next == RecurrenceEngine.NONE ? null : next;
+    }
+}
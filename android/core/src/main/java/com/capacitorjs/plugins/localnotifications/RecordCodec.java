@@ -0,0 +1,71 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON encoding of the records the plugin stores and passes in alarm intents, using the date
+ * format of the JavaScript layer.
+ *
+ * Gson instances are thread safe and costly to build, so every codec shares {@link #GSON}.
+ */
+public class RecordCodec<T> {
+
+    /** Shared Gson configured for plugin records */
+    public static final Gson GSON = new GsonBuilder().setDateFormat(LocalNotificationSchedule.JS_DATE_FORMAT).create();
+
+    private final Class<T> type;
+
+    public RecordCodec(Class<T> type) {
+        this.type = type;
+    }
+
+    public String encode(T record) {
+        return GSON.toJson(record);
+    }
+
+    /**
+     * @return the decoded record, null for a null or "null" input
+     * @throws JsonSyntaxException if the text is not a valid record
+     */
+    public T decode(String encoded) {
+        if (encoded == null) {
+            return null;
+        }
+        return GSON.fromJson(encoded, type);
+    }
+
+    /**
+     * Decode every record of a store, e.g. the entries of a preferences file
+     *
+     * @param records - encoded records by key, values that are not strings are skipped
+     * @param undecodable - receives the key and text of records that failed to decode, may be null
+     * @return the decoded records, in the iteration order of the store
+     */
+    public List<T> decodeAll(Map<String, ?> records, Map<String, String> undecodable) {
+        List<T> decoded = new ArrayList<>(records.size());
+        for (Map.Entry<String, ?> entry : records.entrySet()) {
+            if (!(entry.getValue() instanceof String)) {
+                continue;
+            }
+            String encoded = (String) entry.getValue();
+            T record;
+            try {
+                record = GSON.fromJson(encoded, type);
+            } catch (JsonSyntaxException e) {
+                if (undecodable != null) {
+                    undecodable.put(entry.getKey(), encoded);
+                }
+                continue;
+            }
+            if (record != null) {
+                decoded.add(record);
+            }
+        }
+        return decoded;
+    }
+}
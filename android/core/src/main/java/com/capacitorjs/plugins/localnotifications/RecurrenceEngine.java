@@ -0,0 +1,211 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.List;
+
+/**
+ * Computes occurrences of recurring schedules in a time zone.
+ *
+ * Calendar units (day and up) step in local time from the anchor, so a monthly reminder on the
+ * 31st lands on the last day of shorter months without drifting, and a daily reminder at 9:00
+ * stays at 9:00 across DST changes. Hour, minute and second steps are exact durations.
+ *
+ * Local times that fall in a DST gap are moved forward by the length of the gap, ambiguous local
+ * times in an overlap use the earlier offset, same as {@link java.time.ZonedDateTime#of}.
+ *
+ * Requires java.time (API 26+), see {@link #isSupported()}.
+ */
+public final class RecurrenceEngine {
+
+    /** Returned when a schedule has no further occurrence */
+    public static final long NONE = Long.MIN_VALUE;
+
+    private static final boolean SUPPORTED = hasJavaTime();
+
+    private static volatile RecurrenceEngine defaultZoneEngine;
+
+    private final ZoneId zone;
+    private final ZoneRules rules;
+
+    public RecurrenceEngine(ZoneId zone) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+    }
+
+    private static boolean hasJavaTime() {
+        try {
+            Class.forName("java.time.zone.ZoneRules");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Whether java.time is available on this device
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * Engine for the current default time zone, reused until the default zone changes
+     */
+    public static RecurrenceEngine forDefaultZone() {
+        ZoneId zone = ZoneId.systemDefault();
+        RecurrenceEngine engine = defaultZoneEngine;
+        if (engine == null || !engine.zone.equals(zone)) {
+            engine = new RecurrenceEngine(zone);
+            defaultZoneEngine = engine;
+        }
+        return engine;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * First occurrence of an interval schedule strictly after the given time
+     *
+     * @param anchor - first occurrence, epoch milliseconds
+     * @param every - one of the {@code ScheduleEvery} units
+     * @param count - number of units between two occurrences
+     * @param after - epoch milliseconds to search from
+     * @return epoch milliseconds or {@link #NONE} for an unknown unit or a count below 1
+     */
+    public long next(long anchor, String every, int count, long after) {
+        if (anchor > after) {
+            return anchor;
+        }
+        if (count < 1 || every == null) {
+            return NONE;
+        }
+        switch (every) {
+            case "year":
+                return nextByMonths(anchor, 12L * count, after);
+            case "month":
+                return nextByMonths(anchor, count, after);
+            case "two-weeks":
+                return nextByDays(anchor, 14L * count, after);
+            case "week":
+                return nextByDays(anchor, 7L * count, after);
+            case "day":
+                return nextByDays(anchor, count, after);
+            case "hour":
+                return nextByDuration(anchor, count * 3_600_000L, after);
+            case "minute":
+                return nextByDuration(anchor, count * 60_000L, after);
+            case "second":
+                return nextByDuration(anchor, count * 1_000L, after);
+            default:
+                return NONE;
+        }
+    }
+
+    /**
+     * The occurrence following the anchor, e.g. the first trigger of an {@code every} schedule created now
+     */
+    public long step(long anchor, String every, int count) {
+        return next(anchor, every, count, anchor);
+    }
+
+    /**
+     * Next instant strictly after the given time matching a cron schedule in this engine's zone
+     */
+    public long nextOn(CronMatcher matcher, long after) {
+        long localSeconds = Math.floorDiv(after, 1000) + 1 + rules.getOffset(Instant.ofEpochMilli(after)).getTotalSeconds();
+        // Local times repeated by a DST overlap can map before the search start
+        for (int attempt = 0; attempt < 3; attempt++) {
+            long match = matcher.nextLocal(localSeconds);
+            if (match == CronMatcher.NONE) {
+                return NONE;
+            }
+            long millis = toEpochMillis(LocalDateTime.ofEpochSecond(match, 0, ZoneOffset.UTC));
+            if (millis > after) {
+                return millis;
+            }
+            localSeconds = match + 1;
+        }
+        return NONE;
+    }
+
+    /**
+     * The instant showing in this engine's zone the wall-clock time the given instant shows in
+     * another zone
+     *
+     * @param zoneId - id of the other zone
+     * @return epoch milliseconds, {@link #NONE} for an unknown zone
+     */
+    public long sameLocalTime(long epochMillis, String zoneId) {
+        ZoneId from;
+        try {
+            from = ZoneId.of(zoneId);
+        } catch (DateTimeException e) {
+            return NONE;
+        }
+        if (from.equals(zone)) {
+            return epochMillis;
+        }
+        return toEpochMillis(new RecurrenceEngine(from).toLocal(epochMillis));
+    }
+
+    private long nextByDuration(long anchor, long interval, long after) {
+        long elapsedIntervals = (after - anchor) / interval + 1;
+        return anchor + elapsedIntervals * interval;
+    }
+
+    private long nextByMonths(long anchor, long months, long after) {
+        LocalDateTime start = toLocal(anchor);
+        LocalDateTime end = toLocal(after);
+        long elapsedMonths = (end.getYear() - (long) start.getYear()) * 12 + end.getMonthValue() - start.getMonthValue();
+        // Start one step early, the estimate ignores day and time of day
+        long n = Math.max(0, elapsedMonths / months - 1);
+        long occurrence = toEpochMillis(start.plusMonths(n * months));
+        while (occurrence <= after) {
+            n++;
+            occurrence = toEpochMillis(start.plusMonths(n * months));
+        }
+        return occurrence;
+    }
+
+    private long nextByDays(long anchor, long days, long after) {
+        LocalDateTime start = toLocal(anchor);
+        long elapsedDays = toLocal(after).toLocalDate().toEpochDay() - start.toLocalDate().toEpochDay();
+        long n = Math.max(0, elapsedDays / days - 1);
+        long occurrence = toEpochMillis(start.plusDays(n * days));
+        while (occurrence <= after) {
+            n++;
+            occurrence = toEpochMillis(start.plusDays(n * days));
+        }
+        return occurrence;
+    }
+
+    private LocalDateTime toLocal(long epochMillis) {
+        ZoneOffset offset = rules.getOffset(Instant.ofEpochMilli(epochMillis));
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000), Math.floorMod(epochMillis, 1000) * 1_000_000, offset);
+    }
+
+    /**
+     * Resolve a local date-time to an instant, moving it forward across a gap and taking the
+     * earlier offset in an overlap
+     */
+    long toEpochMillis(LocalDateTime local) {
+        List<ZoneOffset> offsets = rules.getValidOffsets(local);
+        ZoneOffset offset;
+        if (offsets.isEmpty()) {
+            ZoneOffsetTransition gap = rules.getTransition(local);
+            local = local.plusSeconds(gap.getDuration().getSeconds());
+            offset = gap.getOffsetAfter();
+        } else {
+            offset = offsets.get(0);
+        }
+        return local.toEpochSecond(offset) * 1000 + local.getNano() / 1_000_000;
+    }
+}
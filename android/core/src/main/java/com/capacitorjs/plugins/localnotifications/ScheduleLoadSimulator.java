@@ -0,0 +1,347 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Offline estimate of the alarm and notification load a set of schedules produces, for capacity
+ * planning before a reminder plan is rolled out.
+ *
+ * Notifications are given in the format they are stored in, and expanded on a virtual clock with
+ * the same {@link LocalNotificationSchedule} logic and alarm mode resolution the plugin uses to arm
+ * and re-arm alarms. Every alarm set, alarm fired (and so notification posted) and wake-up is
+ * counted per hour of the simulated range. Schedules are independent, they are expanded in
+ * parallel and their counts summed.
+ *
+ * Calendar schedules are computed in the default time zone. Notifications without a priority use
+ * the default priority.
+ *
+ * <pre>
+ * ./gradlew -p core simulate --args="notifications.json 90"
+ * </pre>
+ */
+public class ScheduleLoadSimulator {
+
+    public static final long HOUR_IN_MILLIS = 60 * 60 * 1000L;
+    private static final long DAY_IN_MILLIS = 24 * HOUR_IN_MILLIS;
+
+    // Schedules expanded by one parallel task
+    private static final int CHUNK_SIZE = 1024;
+
+    /**
+     * The part of a stored notification the simulation needs, other fields are ignored
+     */
+    static class Record {
+
+        Integer id;
+        Integer priority;
+        LocalNotificationSchedule schedule;
+    }
+
+    private static final RecordCodec<Record> CODEC = new RecordCodec<>(Record.class);
+
+    /**
+     * Counts per hour of the simulated range, starting at its first millisecond
+     */
+    public static class Report {
+
+        private final long from;
+        private final long[] alarmsSet;
+        private final long[] alarmsFired;
+        private final long[] wakeups;
+        private int schedules;
+        private int skipped;
+
+        Report(long from, int hours) {
+            this.from = from;
+            this.alarmsSet = new long[hours];
+            this.alarmsFired = new long[hours];
+            this.wakeups = new long[hours];
+        }
+
+        private void merge(Report other) {
+            for (int i = 0; i < alarmsSet.length; i++) {
+                alarmsSet[i] += other.alarmsSet[i];
+                alarmsFired[i] += other.alarmsFired[i];
+                wakeups[i] += other.wakeups[i];
+            }
+            schedules += other.schedules;
+            skipped += other.skipped;
+        }
+
+        public long getFrom() {
+            return from;
+        }
+
+        public int getHours() {
+            return alarmsSet.length;
+        }
+
+        /**
+         * Notifications simulated, including the ones that never fire within the range
+         */
+        public int getSchedules() {
+            return schedules;
+        }
+
+        /**
+         * Records that could not be decoded or have no schedule
+         */
+        public int getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * AlarmManager calls, the first arming and the re-arming after each repeating delivery
+         */
+        public long[] getAlarmsSetPerHour() {
+            return alarmsSet.clone();
+        }
+
+        /**
+         * Alarms delivered, each one posts a notification
+         */
+        public long[] getAlarmsFiredPerHour() {
+            return alarmsFired.clone();
+        }
+
+        /**
+         * Alarms delivered with a wakeup type, waking the device if asleep
+         */
+        public long[] getWakeupsPerHour() {
+            return wakeups.clone();
+        }
+
+        public long getTotalAlarmsSet() {
+            return sum(alarmsSet);
+        }
+
+        public long getTotalAlarmsFired() {
+            return sum(alarmsFired);
+        }
+
+        public long getTotalWakeups() {
+            return sum(wakeups);
+        }
+
+        /**
+         * Start time of the hour with the most alarms fired, the earliest one on ties
+         */
+        public long getPeakFiredHour() {
+            return from + peakIndex(alarmsFired) * HOUR_IN_MILLIS;
+        }
+
+        public long getPeakAlarmsFiredPerHour() {
+            return alarmsFired.length == 0 ? 0 : alarmsFired[peakIndex(alarmsFired)];
+        }
+
+        public long getPeakAlarmsSetPerHour() {
+            return alarmsSet.length == 0 ? 0 : alarmsSet[peakIndex(alarmsSet)];
+        }
+
+        public long getPeakWakeupsPerHour() {
+            return wakeups.length == 0 ? 0 : wakeups[peakIndex(wakeups)];
+        }
+
+        private static long sum(long[] counts) {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            return total;
+        }
+
+        private static int peakIndex(long[] counts) {
+            int peak = 0;
+            for (int i = 1; i < counts.length; i++) {
+                if (counts[i] > counts[peak]) {
+                    peak = i;
+                }
+            }
+            return peak;
+        }
+
+        @Override
+        public String toString() {
+            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+            double hours = Math.max(1, alarmsSet.length);
+            StringBuilder report = new StringBuilder();
+            report.append(String.format("Schedules: %d (%d skipped)%n", schedules, skipped));
+            report.append(String.format("Range: %s, %d hours%n", format.format(new Date(from)), alarmsSet.length));
+            report.append(String.format("%-14s %12s %14s %14s%n", "", "total", "mean per hour", "peak per hour"));
+            report.append(row("Alarms set", getTotalAlarmsSet(), hours, getPeakAlarmsSetPerHour()));
+            report.append(row("Alarms fired", getTotalAlarmsFired(), hours, getPeakAlarmsFiredPerHour()));
+            report.append(row("Wake-ups", getTotalWakeups(), hours, getPeakWakeupsPerHour()));
+            report.append(String.format("Busiest hour: %s%n", format.format(new Date(getPeakFiredHour()))));
+            return report.toString();
+        }
+
+        private static String row(String name, long total, double hours, long peak) {
+            return String.format("%-14s %12d %14.1f %14d%n", name, total, total / hours, peak);
+        }
+    }
+
+    private final long from;
+    private final long to;
+    private final int hours;
+    private boolean exactAlarmsAllowed = true;
+
+    /**
+     * @param from - start of the simulated range, when the notifications are scheduled
+     * @param to - end of the simulated range, exclusive
+     */
+    public ScheduleLoadSimulator(long from, long to) {
+        if (to <= from) {
+            throw new IllegalArgumentException("The range must end after it starts");
+        }
+        this.from = from;
+        this.to = to;
+        this.hours = (int) ((to - from + HOUR_IN_MILLIS - 1) / HOUR_IN_MILLIS);
+    }
+
+    /**
+     * Whether the exact alarm permission is granted, granted by default
+     */
+    public void setExactAlarmsAllowed(boolean exactAlarmsAllowed) {
+        this.exactAlarmsAllowed = exactAlarmsAllowed;
+    }
+
+    /**
+     * Simulate the given notifications, each one encoded as stored by the plugin
+     */
+    public Report run(List<String> encodedNotifications) {
+        int chunks = (encodedNotifications.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, chunks)
+            .parallel()
+            .mapToObj(chunk -> {
+                Report report = new Report(from, hours);
+                int end = Math.min(encodedNotifications.size(), (chunk + 1) * CHUNK_SIZE);
+                for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                    simulate(encodedNotifications.get(i), report);
+                }
+                return report;
+            })
+            .reduce((total, report) -> {
+                total.merge(report);
+                return total;
+            })
+            .orElseGet(() -> new Report(from, hours));
+    }
+
+    private void simulate(String encoded, Report report) {
+        Record record;
+        try {
+            record = CODEC.decode(encoded);
+        } catch (JsonSyntaxException e) {
+            report.skipped++;
+            return;
+        }
+        if (record == null || record.schedule == null) {
+            report.skipped++;
+            return;
+        }
+        report.schedules++;
+        LocalNotificationSchedule schedule = record.schedule;
+        AlarmMode mode = AlarmMode.resolve(AlarmMode.normalizePriority(record.priority), schedule.allowWhileIdle(), exactAlarmsAllowed);
+
+        // Arm the first occurrence as LocalNotificationManager does
+        Long next;
+        long anchor = from;
+        Date at = schedule.getAt();
+        if (at != null && !schedule.isRepeating()) {
+            if (at.getTime() < from) {
+                return;
+            }
+            next = at.getTime();
+        } else {
+            if (at != null) {
+                anchor = at.getTime();
+            } else if (schedule.getEvery() != null && schedule.getAnchor() != null) {
+                anchor = schedule.getAnchor();
+            } else if (schedule.getEvery() != null) {
+                Long firstTrigger = schedule.getFirstEveryTrigger(from);
+                if (firstTrigger == null) {
+                    return;
+                }
+                anchor = firstTrigger;
+            }
+            next = schedule.getNextTrigger(anchor, new Date(from));
+        }
+        if (next == null) {
+            return;
+        }
+        report.alarmsSet[0]++;
+
+        // Deliver and re-arm as TimedNotificationPublisher does
+        while (next < to) {
+            int hour = (int) ((next - from) / HOUR_IN_MILLIS);
+            report.alarmsFired[hour]++;
+            if (mode.isWakeup()) {
+                report.wakeups[hour]++;
+            }
+            if (at != null && !schedule.isRepeating()) {
+                return;
+            }
+            Long following = schedule.getNextTrigger(anchor, new Date(next));
+            if (following == null || following <= next) {
+                return;
+            }
+            report.alarmsSet[hour]++;
+            next = following;
+        }
+    }
+
+    /**
+     * Encoded notifications of a JSON document, either an array of notifications or an object of
+     * encoded notifications by id as found in the plugin's preferences file
+     */
+    public static List<String> readNotifications(Reader reader) {
+        JsonElement root = JsonParser.parseReader(reader);
+        List<String> notifications = new ArrayList<>();
+        if (root.isJsonArray()) {
+            JsonArray array = root.getAsJsonArray();
+            for (JsonElement element : array) {
+                notifications.add(element.toString());
+            }
+        } else if (root.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> entry : root.getAsJsonObject().entrySet()) {
+                JsonElement value = entry.getValue();
+                notifications.add(value.isJsonPrimitive() ? value.getAsString() : value.toString());
+            }
+        }
+        return notifications;
+    }
+
+    /**
+     * Usage: ScheduleLoadSimulator notifications.json [days]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ScheduleLoadSimulator <notifications.json> [days, default 90]");
+            System.exit(2);
+        }
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 90;
+        List<String> notifications;
+        try (Reader reader = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            notifications = readNotifications(reader);
+        }
+        long from = System.currentTimeMillis();
+        long start = System.nanoTime();
+        Report report = new ScheduleLoadSimulator(from, from + days * DAY_IN_MILLIS).run(notifications);
+        System.out.print(report);
+        System.out.printf("Simulated in %d ms%n", (System.nanoTime() - start) / 1_000_000L);
+    }
+}
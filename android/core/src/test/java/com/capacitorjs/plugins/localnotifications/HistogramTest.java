@@ -0,0 +1,112 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class HistogramTest {
+
+    private static final long[] BOUNDS = { 10, 100, 1000 };
+
+    @Test
+    public void testCountsValuesIntoBuckets() {
+        Histogram histogram = new Histogram(BOUNDS);
+
+        histogram.record(-5);
+        histogram.record(10);
+        histogram.record(11);
+        histogram.record(1000);
+        histogram.record(5000);
+
+        assertArrayEquals(new long[] { 2, 1, 1, 1 }, histogram.getCounts());
+        assertEquals(5, histogram.getCount());
+        assertEquals(6016, histogram.getSum());
+        assertEquals(5000, histogram.getMax());
+    }
+
+    @Test
+    public void testQuantilesUseBucketUpperBounds() {
+        Histogram histogram = new Histogram(BOUNDS);
+        for (int i = 0; i < 90; i++) {
+            histogram.record(5);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(50);
+        }
+        histogram.record(2500);
+
+        assertEquals(10, histogram.getQuantile(0.5));
+        assertEquals(10, histogram.getQuantile(0.9));
+        assertEquals(100, histogram.getQuantile(0.99));
+        // Values above the last bound report the max
+        assertEquals(2500, histogram.getQuantile(1));
+    }
+
+    @Test
+    public void testQuantileIsCappedAtMax() {
+        Histogram histogram = new Histogram(BOUNDS);
+        histogram.record(20);
+
+        assertEquals(20, histogram.getQuantile(0.5));
+    }
+
+    @Test
+    public void testEmptyHistogram() {
+        Histogram histogram = new Histogram(BOUNDS);
+
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean(), 0);
+        assertEquals(0, histogram.getQuantile(0.5));
+    }
+
+    @Test
+    public void testEncodeDecodeRoundTrip() {
+        Histogram histogram = new Histogram(BOUNDS);
+        histogram.record(3);
+        histogram.record(300);
+        histogram.record(3000);
+
+        Histogram decoded = Histogram.decode(BOUNDS, histogram.encode());
+
+        assertArrayEquals(histogram.getCounts(), decoded.getCounts());
+        assertEquals(histogram.getCount(), decoded.getCount());
+        assertEquals(histogram.getSum(), decoded.getSum());
+        assertEquals(histogram.getMax(), decoded.getMax());
+    }
+
+    @Test
+    public void testDecodeIgnoresMismatchedBounds() {
+        Histogram histogram = new Histogram(new long[] { 10, 100 });
+        histogram.record(3);
+
+        assertEquals(0, Histogram.decode(BOUNDS, histogram.encode()).getCount());
+        assertEquals(0, Histogram.decode(BOUNDS, "garbage").getCount());
+        assertEquals(0, Histogram.decode(BOUNDS, "a,b,c,d;1;2").getCount());
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        Histogram histogram = new Histogram(BOUNDS);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    histogram.record(i % 2000 + offset);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40000, histogram.getCount());
+        long total = 0;
+        for (long bucketCount : histogram.getCounts()) {
+            total += bucketCount;
+        }
+        assertEquals(40000, total);
+        assertEquals(1999 + 3, histogram.getMax());
+    }
+}
@@ -0,0 +1,168 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+import org.junit.Test;
+
+public class LocalNotificationScheduleTest {
+
+    private static final long MINUTE = 60 * 1000L;
+    private static final long DAY = 24 * 60 * MINUTE;
+
+    @Test
+    public void testEveryTrigger_isComputedFromAnchor() {
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setEvery("minute");
+        schedule.setCount(5);
+
+        long anchor = 1_700_000_000_000L;
+
+        // Before the anchor the anchor itself is the next trigger
+        assertEquals(Long.valueOf(anchor), schedule.getNextTrigger(anchor, new Date(anchor - 1000)));
+
+        // A delivery that fired 42s late must not shift the following occurrences
+        long lateDelivery = anchor + 42_000;
+        assertEquals(Long.valueOf(anchor + 5 * MINUTE), schedule.getNextTrigger(anchor, new Date(lateDelivery)));
+
+        // Exactly on an occurrence, the next one is returned
+        assertEquals(Long.valueOf(anchor + 10 * MINUTE), schedule.getNextTrigger(anchor, new Date(anchor + 5 * MINUTE)));
+    }
+
+    @Test
+    public void testEveryTrigger_skipsMissedOccurrences() {
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setEvery("hour");
+
+        long anchor = 1_700_000_000_000L;
+        long afterReboot = anchor + 3 * 60 * MINUTE + 7 * MINUTE;
+
+        assertEquals(Long.valueOf(anchor + 4 * 60 * MINUTE), schedule.getNextTrigger(anchor, new Date(afterReboot)));
+    }
+
+    @Test
+    public void testRepeatingAt_repeatsDailyFromAt() {
+        long at = 1_700_000_000_000L;
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setAt(new Date(at));
+        schedule.setRepeats(true);
+
+        assertEquals(Long.valueOf(at), schedule.getNextTrigger(at, new Date(at - MINUTE)));
+        assertEquals(Long.valueOf(at + DAY), schedule.getNextTrigger(at, new Date(at + 1000)));
+        assertEquals(Long.valueOf(at + 3 * DAY), schedule.getNextTrigger(at, new Date(at + 2 * DAY + 1)));
+    }
+
+    @Test
+    public void testRepeatingAt_usesEveryInterval() {
+        long at = 1_700_000_000_000L;
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setAt(new Date(at));
+        schedule.setRepeats(true);
+        schedule.setEvery("minute");
+
+        assertEquals(Long.valueOf(at + MINUTE), schedule.getNextTrigger(at, new Date(at)));
+    }
+
+    @Test
+    public void testOneShotAt_hasNoNextTrigger() {
+        long at = 1_700_000_000_000L;
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setAt(new Date(at));
+
+        assertNull(schedule.getNextTrigger(at, new Date(at - MINUTE)));
+    }
+
+    @Test
+    public void testScheduleOn_parsesListsAndRanges() {
+        LocalNotificationSchedule schedule = new Gson()
+            .fromJson("{\"on\":{\"weekday\":\"2-6\",\"hour\":[9,18],\"minute\":30}}", LocalNotificationSchedule.class);
+
+        assertEquals(CronField.of(2, 3, 4, 5, 6), schedule.getOn().weekday);
+        assertEquals(CronField.of(9, 18), schedule.getOn().hour);
+        assertEquals(CronField.of(30), schedule.getOn().minute);
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void testScheduleOn_rejectsOutOfRangeValues() {
+        new Gson().fromJson("{\"on\":{\"hour\":[9,99]}}", LocalNotificationSchedule.class);
+    }
+
+    @Test
+    public void testCronMatcher_weekdaysTwiceADay() {
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        LocalNotificationSchedule.ScheduleOn on = new LocalNotificationSchedule.ScheduleOn();
+        on.weekday = CronField.parse("2-6");
+        on.hour = CronField.of(9, 18);
+        CronMatcher matcher = CronMatcher.compile(on);
+
+        // Friday 2024-03-01 10:00 UTC
+        long friday = utcMillis(2024, 3, 1, 10, 0, 0);
+        long fridayEvening = matcher.next(friday, utc);
+        assertEquals(utcMillis(2024, 3, 1, 18, 0, 0), fridayEvening);
+        // Skips the weekend to Monday morning
+        assertEquals(utcMillis(2024, 3, 4, 9, 0, 0), matcher.next(fridayEvening, utc));
+    }
+
+    @Test
+    public void testCronMatcher_finerFieldsDefaultToTheirMinimum() {
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        LocalNotificationSchedule.ScheduleOn on = new LocalNotificationSchedule.ScheduleOn();
+        on.day = 29;
+        on.month = 2;
+        CronMatcher matcher = CronMatcher.compile(on);
+
+        assertEquals(utcMillis(2028, 2, 29, 0, 0, 0), matcher.next(utcMillis(2024, 2, 29, 0, 0, 0), utc));
+    }
+
+    @Test
+    public void testCronMatcher_pastYearNeverMatches() {
+        LocalNotificationSchedule.ScheduleOn on = new LocalNotificationSchedule.ScheduleOn();
+        on.year = 2020;
+        on.hour = CronField.of(9);
+
+        assertEquals(CronMatcher.NONE, CronMatcher.compile(on).next(utcMillis(2024, 1, 1, 0, 0, 0), TimeZone.getTimeZone("UTC")));
+    }
+
+    @Test
+    public void testCronMatcher_matchesCalendarSearch() {
+        TimeZone zone = TimeZone.getTimeZone("Europe/Berlin");
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            LocalNotificationSchedule.ScheduleOn on = new LocalNotificationSchedule.ScheduleOn();
+            on.weekday = new CronField(random.nextInt(127) + 1L << 1);
+            on.hour = CronField.of(random.nextInt(24), random.nextInt(24));
+            on.minute = CronField.of(random.nextInt(60), random.nextInt(60), random.nextInt(60));
+            CronMatcher matcher = CronMatcher.compile(on);
+
+            long after = utcMillis(2024, 1, 1, 0, 0, 0) + (long) random.nextInt(366) * DAY + random.nextInt((int) DAY);
+            assertEquals(bruteForceNext(on, after, zone), matcher.next(after, zone));
+        }
+    }
+
+    private static long bruteForceNext(LocalNotificationSchedule.ScheduleOn on, long after, TimeZone zone) {
+        Calendar calendar = Calendar.getInstance(zone);
+        calendar.setTimeInMillis(after - after % MINUTE + MINUTE);
+        while (true) {
+            if (
+                (on.weekday.getMask() & (1L << calendar.get(Calendar.DAY_OF_WEEK))) != 0 &&
+                (on.hour.getMask() & (1L << calendar.get(Calendar.HOUR_OF_DAY))) != 0 &&
+                (on.minute.getMask() & (1L << calendar.get(Calendar.MINUTE))) != 0
+            ) {
+                return calendar.getTimeInMillis();
+            }
+            calendar.add(Calendar.MINUTE, 1);
+        }
+    }
+
+    private static long utcMillis(int year, int month, int day, int hour, int minute, int second) {
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        calendar.clear();
+        calendar.set(year, month - 1, day, hour, minute, second);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -0,0 +1,76 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+
+import com.google.gson.JsonSyntaxException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class RecordCodecTest {
+
+    private final RecordCodec<LocalNotificationSchedule> codec = new RecordCodec<>(LocalNotificationSchedule.class);
+
+    @Test
+    public void testRoundTrip() {
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setAt(new Date(1_700_000_000_000L));
+        schedule.setRepeats(true);
+        schedule.setEvery("week");
+        schedule.setCount(2);
+        schedule.setAnchor(1_700_000_000_000L);
+        LocalNotificationSchedule.ScheduleOn on = new LocalNotificationSchedule.ScheduleOn();
+        on.weekday = CronField.parse("2-6");
+        on.hour = CronField.of(9);
+        schedule.setOn(on);
+
+        LocalNotificationSchedule decoded = codec.decode(codec.encode(schedule));
+
+        assertEquals(schedule.getAt(), decoded.getAt());
+        assertTrue(decoded.isRepeating());
+        assertEquals("week", decoded.getEvery());
+        assertEquals(Integer.valueOf(2), decoded.getCount());
+        assertEquals(schedule.getAnchor(), decoded.getAnchor());
+        assertArrayEquals(new int[] { 2, 3, 4, 5, 6 }, decoded.getOn().weekday.values());
+        assertArrayEquals(new int[] { 9 }, decoded.getOn().hour.values());
+    }
+
+    @Test
+    public void testDecodesJavaScriptDates() {
+        LocalNotificationSchedule decoded = codec.decode("{\"at\":\"2024-01-02T03:04:05.678Z\"}");
+
+        assertNotNull(decoded.getAt());
+    }
+
+    @Test
+    public void testDecodeNull() {
+        assertNull(codec.decode(null));
+        assertNull(codec.decode("null"));
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void testDecodeInvalid() {
+        codec.decode("{\"at\":[1]}");
+    }
+
+    @Test
+    public void testDecodeAllCollectsUndecodableRecords() {
+        Map<String, Object> store = new LinkedHashMap<>();
+        store.put("1", "{\"every\":\"day\"}");
+        store.put("2", "{\"every\":[]}");
+        store.put("3", 42);
+        store.put("4", "{\"every\":\"hour\"}");
+        Map<String, String> undecodable = new HashMap<>();
+
+        List<LocalNotificationSchedule> decoded = codec.decodeAll(store, undecodable);
+
+        assertEquals(2, decoded.size());
+        assertEquals("day", decoded.get(0).getEvery());
+        assertEquals("hour", decoded.get(1).getEvery());
+        assertEquals(1, undecodable.size());
+        assertEquals("{\"every\":[]}", undecodable.get("2"));
+    }
+}
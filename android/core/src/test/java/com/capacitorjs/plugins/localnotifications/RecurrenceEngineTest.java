@@ -0,0 +1,201 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import org.junit.Test;
+
+public class RecurrenceEngineTest {
+
+    private static final String[] ZONES = {
+        "UTC",
+        "Europe/Berlin",
+        "America/New_York",
+        "America/Sao_Paulo",
+        "Australia/Lord_Howe",
+        "Pacific/Chatham",
+        "Asia/Kolkata"
+    };
+
+    @Test
+    public void testMonthly_keepsAnchorDayWithoutDrift() {
+        ZoneId zone = ZoneId.of("Europe/Berlin");
+        RecurrenceEngine engine = new RecurrenceEngine(zone);
+        long anchor = millis(LocalDateTime.of(2024, 1, 31, 9, 0), zone);
+
+        long february = engine.next(anchor, "month", 1, anchor);
+        assertEquals(millis(LocalDateTime.of(2024, 2, 29, 9, 0), zone), february);
+        // Clamped to the 29th in February, back on the 31st in March
+        assertEquals(millis(LocalDateTime.of(2024, 3, 31, 9, 0), zone), engine.next(anchor, "month", 1, february));
+    }
+
+    @Test
+    public void testDaily_keepsWallClockTimeAcrossDst() {
+        ZoneId zone = ZoneId.of("America/New_York");
+        RecurrenceEngine engine = new RecurrenceEngine(zone);
+        long anchor = millis(LocalDateTime.of(2024, 3, 9, 9, 0), zone);
+
+        // 2024-03-10 is 23 hours long in New York
+        assertEquals(millis(LocalDateTime.of(2024, 3, 10, 9, 0), zone), engine.next(anchor, "day", 1, anchor));
+    }
+
+    @Test
+    public void testDaily_localTimeInGapMovesForward() {
+        ZoneId zone = ZoneId.of("Europe/Berlin");
+        RecurrenceEngine engine = new RecurrenceEngine(zone);
+        long anchor = millis(LocalDateTime.of(2024, 3, 30, 2, 30), zone);
+
+        long gapDay = engine.next(anchor, "day", 1, anchor);
+        assertEquals(millis(LocalDateTime.of(2024, 3, 31, 3, 30), zone), gapDay);
+        assertEquals(millis(LocalDateTime.of(2024, 4, 1, 2, 30), zone), engine.next(anchor, "day", 1, gapDay));
+    }
+
+    @Test
+    public void testHourly_isFixedDuration() {
+        ZoneId zone = ZoneId.of("Europe/Berlin");
+        RecurrenceEngine engine = new RecurrenceEngine(zone);
+        long anchor = millis(LocalDateTime.of(2024, 10, 27, 1, 0), zone);
+
+        assertEquals(anchor + 3 * 3_600_000L, engine.next(anchor, "hour", 3, anchor));
+    }
+
+    @Test
+    public void testInvalidSchedule_hasNoOccurrence() {
+        RecurrenceEngine engine = new RecurrenceEngine(ZoneId.of("UTC"));
+
+        assertEquals(RecurrenceEngine.NONE, engine.next(0, "fortnight", 1, 0));
+        assertEquals(RecurrenceEngine.NONE, engine.next(0, "day", 0, 0));
+    }
+
+    @Test
+    public void testYearly_thousandsOfYearsMatchZonedDateTime() {
+        for (String id : ZONES) {
+            ZoneId zone = ZoneId.of(id);
+            LocalDateTime start = LocalDateTime.of(1904, 2, 29, 2, 30);
+            assertChainMatchesReference(zone, start, "year", 1, 3000);
+        }
+    }
+
+    @Test
+    public void testMonthly_thousandsOfYearsMatchZonedDateTime() {
+        for (String id : ZONES) {
+            ZoneId zone = ZoneId.of(id);
+            LocalDateTime start = LocalDateTime.of(1970, 1, 31, 0, 30);
+            assertChainMatchesReference(zone, start, "month", 1, 12 * 1000);
+            assertChainMatchesReference(zone, start, "month", 5, 12 * 2000 / 5);
+        }
+    }
+
+    @Test
+    public void testDailyAndWeekly_matchZonedDateTime() {
+        for (String id : ZONES) {
+            ZoneId zone = ZoneId.of(id);
+            LocalDateTime start = LocalDateTime.of(2000, 3, 1, 2, 15);
+            assertChainMatchesReference(zone, start, "day", 1, 365 * 60);
+            assertChainMatchesReference(zone, start, "week", 1, 52 * 200);
+            assertChainMatchesReference(zone, start, "two-weeks", 3, 1000);
+        }
+    }
+
+    @Test
+    public void testRandomSearchStart_matchesReference() {
+        Random random = new Random(7);
+        for (String id : ZONES) {
+            ZoneId zone = ZoneId.of(id);
+            RecurrenceEngine engine = new RecurrenceEngine(zone);
+            for (int i = 0; i < 500; i++) {
+                LocalDateTime start = resolve(
+                    LocalDateTime.of(1950 + random.nextInt(100), 1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24), random.nextInt(60)),
+                    zone
+                );
+                int count = 1 + random.nextInt(4);
+                String every = random.nextBoolean() ? "month" : "day";
+                long anchor = millis(start, zone);
+                long after = anchor + (long) (random.nextDouble() * 50L * 365 * 86_400_000L);
+
+                long expected = anchor;
+                for (long n = 1; expected <= after; n++) {
+                    LocalDateTime local = every.equals("month") ? start.plusMonths(n * count) : start.plusDays(n * count);
+                    expected = millis(local, zone);
+                }
+                assertEquals(id + " " + start + " every " + count + " " + every, expected, engine.next(anchor, every, count, after));
+            }
+        }
+    }
+
+    @Test
+    public void testCronMatcher_matchesZonedDateTimeSearch() {
+        for (String id : ZONES) {
+            ZoneId zone = ZoneId.of(id);
+            RecurrenceEngine engine = new RecurrenceEngine(zone);
+            LocalNotificationSchedule.ScheduleOn on = new LocalNotificationSchedule.ScheduleOn();
+            on.weekday = CronField.parse("1,7");
+            on.hour = CronField.of(2, 14);
+            on.minute = CronField.of(30);
+            CronMatcher matcher = CronMatcher.compile(on);
+
+            LocalDateTime local = LocalDateTime.of(2020, 1, 1, 0, 0);
+            long after = millis(local, zone);
+            for (int i = 0; i < 1000; i++) {
+                long next = engine.nextOn(matcher, after);
+                // Walk wall-clock minutes and resolve matches the same way as ZonedDateTime.of
+                long expected = Long.MIN_VALUE;
+                while (expected <= after) {
+                    local = local.plusMinutes(1);
+                    int weekday = local.getDayOfWeek().getValue() % 7 + 1;
+                    if ((weekday == 1 || weekday == 7) && (local.getHour() == 2 || local.getHour() == 14) && local.getMinute() == 30) {
+                        expected = millis(local, zone);
+                    }
+                }
+                assertEquals(id + " at " + local, expected, next);
+                after = next;
+            }
+        }
+    }
+
+    /**
+     * Re-arm the way TimedNotificationPublisher does, from the previous occurrence, and compare
+     * every occurrence with the anchor stepped by ZonedDateTime
+     */
+    private static void assertChainMatchesReference(ZoneId zone, LocalDateTime start, String every, int count, int occurrences) {
+        RecurrenceEngine engine = new RecurrenceEngine(zone);
+        start = resolve(start, zone);
+        long anchor = millis(start, zone);
+        long current = anchor;
+        for (long n = 1; n <= occurrences; n++) {
+            LocalDateTime local;
+            switch (every) {
+                case "year":
+                    local = start.plusYears(n * count);
+                    break;
+                case "month":
+                    local = start.plusMonths(n * count);
+                    break;
+                case "week":
+                    local = start.plusWeeks(n * count);
+                    break;
+                case "two-weeks":
+                    local = start.plusWeeks(2 * n * count);
+                    break;
+                default:
+                    local = start.plusDays(n * count);
+            }
+            current = engine.next(anchor, every, count, current);
+            assertEquals(zone + " " + every + " #" + n, millis(local, zone), current);
+        }
+    }
+
+    /**
+     * The wall-clock time an anchor actually represents, a time in a gap is moved forward
+     */
+    private static LocalDateTime resolve(LocalDateTime local, ZoneId zone) {
+        return ZonedDateTime.of(local, zone).toLocalDateTime();
+    }
+
+    private static long millis(LocalDateTime local, ZoneId zone) {
+        return ZonedDateTime.of(local, zone).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,155 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScheduleLoadSimulatorTest {
+
+    private static final long HOUR = ScheduleLoadSimulator.HOUR_IN_MILLIS;
+    private static final long DAY = 24 * HOUR;
+    // 2024-01-01T00:00:00Z
+    private static final long START = 1_704_067_200_000L;
+
+    private final RecordCodec<ScheduleLoadSimulator.Record> codec = new RecordCodec<>(ScheduleLoadSimulator.Record.class);
+    private TimeZone defaultZone;
+
+    @Before
+    public void setUp() {
+        defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+    }
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(defaultZone);
+    }
+
+    @Test
+    public void testRepeatingScheduleFiresAndRearmsEveryInterval() {
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setEvery("day");
+
+        ScheduleLoadSimulator.Report report = simulate(90, encode(1, schedule, null));
+
+        assertEquals(1, report.getSchedules());
+        assertEquals(90 * 24, report.getHours());
+        // First occurrence one interval after scheduling, the 90th on the last hour boundary is excluded
+        assertEquals(89, report.getTotalAlarmsFired());
+        assertEquals(90, report.getTotalAlarmsSet());
+        assertEquals(1, report.getAlarmsFiredPerHour()[24]);
+        assertEquals(0, report.getAlarmsFiredPerHour()[25]);
+    }
+
+    @Test
+    public void testOneShotFiresOnce() {
+        LocalNotificationSchedule inRange = new LocalNotificationSchedule();
+        inRange.setAt(new Date(START + 5 * HOUR + 1));
+        LocalNotificationSchedule past = new LocalNotificationSchedule();
+        past.setAt(new Date(START - 1));
+        LocalNotificationSchedule later = new LocalNotificationSchedule();
+        later.setAt(new Date(START + 10 * DAY));
+
+        ScheduleLoadSimulator.Report report = simulate(1, encode(1, inRange, null), encode(2, past, null), encode(3, later, null));
+
+        assertEquals(3, report.getSchedules());
+        assertEquals(1, report.getTotalAlarmsFired());
+        assertEquals(1, report.getAlarmsFiredPerHour()[5]);
+        // The past one is rejected, the later one is armed but fires after the range
+        assertEquals(2, report.getTotalAlarmsSet());
+    }
+
+    @Test
+    public void testReportsPeakHour() {
+        List<String> notifications = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+            LocalNotificationSchedule.ScheduleOn on = new LocalNotificationSchedule.ScheduleOn();
+            on.hour = CronField.of(i < 7 ? 9 : 18);
+            on.minute = CronField.of(0);
+            schedule.setOn(on);
+            notifications.add(encode(i, schedule, null));
+        }
+
+        ScheduleLoadSimulator.Report report = new ScheduleLoadSimulator(START, START + 2 * DAY).run(notifications);
+
+        assertEquals(20, report.getTotalAlarmsFired());
+        assertEquals(7, report.getPeakAlarmsFiredPerHour());
+        assertEquals(START + 9 * HOUR, report.getPeakFiredHour());
+    }
+
+    @Test
+    public void testCountsWakeupsByPriority() {
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setEvery("hour");
+
+        ScheduleLoadSimulator simulator = new ScheduleLoadSimulator(START, START + DAY);
+        ScheduleLoadSimulator.Report report = simulator.run(List.of(encode(1, schedule, AlarmMode.PRIORITY_MIN), encode(2, schedule, AlarmMode.PRIORITY_MAX)));
+
+        assertEquals(46, report.getTotalAlarmsFired());
+        assertEquals(23, report.getTotalWakeups());
+    }
+
+    @Test
+    public void testUsesExactAlarmsWithoutPriority() {
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setEvery("hour");
+
+        ScheduleLoadSimulator.Report report = new ScheduleLoadSimulator(START, START + DAY).run(List.of(encode(1, schedule, null)));
+
+        assertEquals(23, report.getTotalAlarmsFired());
+        assertEquals(0, report.getTotalWakeups());
+    }
+
+    @Test
+    public void testSkipsInvalidRecords() {
+        ScheduleLoadSimulator.Report report = simulate(1, "{\"id\":1}", "{\"id\":2,\"schedule\":{\"every\":[]}}", "null");
+
+        assertEquals(0, report.getSchedules());
+        assertEquals(3, report.getSkipped());
+    }
+
+    @Test
+    public void testReadsArraysAndStores() {
+        List<String> fromArray = ScheduleLoadSimulator.readNotifications(new StringReader("[{\"id\":1},{\"id\":2}]"));
+        List<String> fromStore = ScheduleLoadSimulator.readNotifications(new StringReader("{\"1\":\"{\\\"id\\\":1}\"}"));
+
+        assertEquals(List.of("{\"id\":1}", "{\"id\":2}"), fromArray);
+        assertEquals(List.of("{\"id\":1}"), fromStore);
+    }
+
+    @Test
+    public void testSumsAcrossParallelChunks() {
+        List<String> notifications = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+            schedule.setAt(new Date(START + (i % 48) * HOUR + 1));
+            notifications.add(encode(i, schedule, null));
+        }
+
+        ScheduleLoadSimulator.Report report = new ScheduleLoadSimulator(START, START + 2 * DAY).run(notifications);
+
+        assertEquals(5000, report.getSchedules());
+        assertEquals(5000, report.getTotalAlarmsFired());
+        assertEquals(105, report.getPeakAlarmsFiredPerHour());
+    }
+
+    private ScheduleLoadSimulator.Report simulate(int days, String... notifications) {
+        return new ScheduleLoadSimulator(START, START + days * DAY).run(List.of(notifications));
+    }
+
+    private String encode(int id, LocalNotificationSchedule schedule, Integer priority) {
+        ScheduleLoadSimulator.Record record = new ScheduleLoadSimulator.Record();
+        record.id = id;
+        record.priority = priority;
+        record.schedule = schedule;
+        return codec.encode(record);
+    }
+}
@@ -0,0 +1,129 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import android.app.AlarmManager;
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Build;
+import androidx.core.app.NotificationManagerCompat;
+import java.util.List;
+
+/**
+ * Forwards to AlarmManager and NotificationManager, alarms broadcast through PendingIntents
+ */
+public class AndroidPlatformGateway implements PlatformGateway {
+
+    private final Context context;
+    private NotificationManager notificationManager;
+
+    public AndroidPlatformGateway(Context context) {
+        this.context = context;
+    }
+
+    public AndroidPlatformGateway(Context context, NotificationManager notificationManager) {
+        this.context = context;
+        this.notificationManager = notificationManager;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public boolean canScheduleExactAlarms() {
+        return Build.VERSION.SDK_INT < Build.VERSION_CODES.S || getAlarmManager().canScheduleExactAlarms();
+    }
+
+    @Override
+    public void setAlarm(int requestCode, Intent intent, AlarmMode mode, long triggerAtMillis) {
+        int flags = PendingIntent.FLAG_CANCEL_CURRENT;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
+            flags = flags | PendingIntent.FLAG_MUTABLE;
+        }
+        PendingIntent pendingIntent = PendingIntent.getBroadcast(context, requestCode, intent, flags);
+        AlarmManager alarmManager = getAlarmManager();
+        int type = mode.isWakeup() ? AlarmManager.RTC_WAKEUP : AlarmManager.RTC;
+        switch (mode) {
+            case WINDOWED:
+                alarmManager.setWindow(type, triggerAtMillis, AlarmMode.WINDOW_LENGTH_MS, pendingIntent);
+                break;
+            case INEXACT:
+            case INEXACT_WAKEUP:
+                alarmManager.set(type, triggerAtMillis, pendingIntent);
+                break;
+            case EXACT:
+            case EXACT_WAKEUP:
+                alarmManager.setExact(type, triggerAtMillis, pendingIntent);
+                break;
+            case IDLE:
+                alarmManager.setAndAllowWhileIdle(type, triggerAtMillis, pendingIntent);
+                break;
+            case EXACT_IDLE:
+                alarmManager.setExactAndAllowWhileIdle(type, triggerAtMillis, pendingIntent);
+                break;
+        }
+    }
+
+    @Override
+    public void cancelAlarm(int requestCode, Intent intent) {
+        int flags = 0;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
+            flags = PendingIntent.FLAG_MUTABLE;
+        }
+        PendingIntent pendingIntent = PendingIntent.getBroadcast(context, requestCode, intent, flags);
+        if (pendingIntent != null) {
+            getAlarmManager().cancel(pendingIntent);
+        }
+    }
+
+    @Override
+    public boolean areNotificationsEnabled() {
+        return NotificationManagerCompat.from(context).areNotificationsEnabled();
+    }
+
+    @Override
+    public void notify(int id, Notification notification) {
+        getNotificationManager().notify(id, notification);
+    }
+
+    @Override
+    public void cancelNotification(int id) {
+        NotificationManagerCompat.from(context).cancel(id);
+    }
+
+    @Override
+    public void createNotificationChannel(NotificationChannel channel) {
+        getNotificationManager().createNotificationChannel(channel);
+    }
+
+    @Override
+    public void deleteNotificationChannel(String channelId) {
+        getNotificationManager().deleteNotificationChannel(channelId);
+    }
+
+    @Override
+    public NotificationChannel getNotificationChannel(String channelId) {
+        NotificationManager manager = getNotificationManager();
+        return manager != null ? manager.getNotificationChannel(channelId) : null;
+    }
+
+    @Override
+    public List<NotificationChannel> getNotificationChannels() {
+        return getNotificationManager().getNotificationChannels();
+    }
+
+    private AlarmManager getAlarmManager() {
+        return (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+    }
+
+    private NotificationManager getNotificationManager() {
+        if (notificationManager == null) {
+            notificationManager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+        }
+        return notificationManager;
+    }
+}
@@ -0,0 +1,113 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Persisted histograms of how late scheduled notifications are delivered compared to the time
+ * they were armed for, one per schedule kind and alarm mode.
+ */
+public class DeliveryStats {
+
+    // Key for private preferences
+    private static final String DELIVERY_STATS_ID = "NOTIFICATION_DELIVERY_STATS";
+
+    private static final String KEY_SEPARATOR = "/";
+
+    /** Bucket upper bounds in milliseconds, from 1 second to 6 hours */
+    static final long[] LATENESS_BOUNDS_MS = {
+        1_000L,
+        5_000L,
+        15_000L,
+        30_000L,
+        60_000L,
+        2 * 60_000L,
+        5 * 60_000L,
+        10 * 60_000L,
+        15 * 60_000L,
+        30 * 60_000L,
+        60 * 60_000L,
+        2 * 60 * 60_000L,
+        6 * 60 * 60_000L
+    };
+
+    private final Context context;
+
+    public DeliveryStats(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Record one delivery
+     *
+     * @param kind - schedule kind, one of the {@code LocalNotificationSchedule.KIND_*} constants
+     * @param mode - alarm mode the notification was armed with
+     * @param latenessMs - delivery time minus intended trigger time
+     */
+    public void record(String kind, String mode, long latenessMs) {
+        SharedPreferences storage = getStorage();
+        String key = kind + KEY_SEPARATOR + mode;
+        Histogram histogram = Histogram.decode(LATENESS_BOUNDS_MS, storage.getString(key, null));
+        histogram.record(Math.max(0, latenessMs));
+        storage.edit().putString(key, histogram.encode()).apply();
+    }
+
+    /**
+     * Histograms as returned to JavaScript, sorted by kind and mode
+     */
+    public JSObject toJSObject() {
+        Map<String, ?> all = getStorage().getAll();
+        Map<String, Object> sorted = new TreeMap<>(all);
+        JSArray stats = new JSArray();
+        for (Map.Entry<String, Object> entry : sorted.entrySet()) {
+            if (!(entry.getValue() instanceof String)) {
+                continue;
+            }
+            String[] key = entry.getKey().split(KEY_SEPARATOR, 2);
+            if (key.length != 2) {
+                continue;
+            }
+            Histogram histogram = Histogram.decode(LATENESS_BOUNDS_MS, (String) entry.getValue());
+            JSObject jsStat = new JSObject();
+            jsStat.put("kind", key[0]);
+            jsStat.put("alarmMode", key[1]);
+            putHistogram(jsStat, histogram, "Ms");
+            stats.put(jsStat);
+        }
+        JSObject result = new JSObject();
+        result.put("stats", stats);
+        return result;
+    }
+
+    /**
+     * Add the summary and buckets of a histogram to a JS object
+     *
+     * @param unit - suffix of the value keys, e.g. "Ms" for meanMs, maxMs, bucketBoundsMs...
+     */
+    static void putHistogram(JSObject target, Histogram histogram, String unit) {
+        target.put("count", histogram.getCount());
+        target.put("mean" + unit, histogram.getMean());
+        target.put("max" + unit, histogram.getMax());
+        target.put("p50" + unit, histogram.getQuantile(0.5));
+        target.put("p90" + unit, histogram.getQuantile(0.9));
+        target.put("p99" + unit, histogram.getQuantile(0.99));
+        JSArray bounds = new JSArray();
+        for (long bound : histogram.getBounds()) {
+            bounds.put(bound);
+        }
+        JSArray counts = new JSArray();
+        for (long bucketCount : histogram.getCounts()) {
+            counts.put(bucketCount);
+        }
+        target.put("bucketBounds" + unit, bounds);
+        target.put("bucketCounts", counts);
+    }
+
+    private SharedPreferences getStorage() {
+        return context.getSharedPreferences(DELIVERY_STATS_ID, Context.MODE_PRIVATE);
+    }
+}
@@ -0,0 +1,97 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Handler;
+import android.os.Looper;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Logger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the notifications dismissed within a short window, e.g. all of them at once with
+ * "Clear all", so they are removed from storage with one write and reported to the plugin at
+ * once instead of one by one.
+ *
+ * The batch is handed to the plugin directly when it is loaded in this process, sent with a
+ * package scoped broadcast when only its receiver is registered, and kept in the
+ * {@link EventOutbox} when there is no plugin at all.
+ *
+ * Receivers hand over their {@link BroadcastReceiver.PendingResult}, it is finished with the
+ * batch so the process stays alive until the batch is flushed.
+ */
+class DismissBatcher {
+
+    static final long WINDOW_MS = 250;
+
+    private static final List<Integer> ids = new ArrayList<>();
+    private static final List<BroadcastReceiver.PendingResult> pendingResults = new ArrayList<>();
+    private static Context context;
+
+    private DismissBatcher() {}
+
+    /**
+     * @param pendingResult - result of the receiver that got the dismissal, may be null
+     */
+    static synchronized void add(Context context, int id, BroadcastReceiver.PendingResult pendingResult) {
+        if (ids.isEmpty()) {
+            Context applicationContext = context.getApplicationContext();
+            DismissBatcher.context = applicationContext != null ? applicationContext : context;
+            new Handler(Looper.getMainLooper()).postDelayed(DismissBatcher::flush, WINDOW_MS);
+        }
+        ids.add(id);
+        if (pendingResult != null) {
+            pendingResults.add(pendingResult);
+        }
+    }
+
+    private static synchronized void flush() {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> storageIds = new ArrayList<>(ids.size());
+            int[] notificationIds = new int[ids.size()];
+            for (int i = 0; i < ids.size(); i++) {
+                storageIds.add(Integer.toString(ids.get(i)));
+                notificationIds[i] = ids.get(i);
+            }
+            NotificationStorage storage = new NotificationStorage(context);
+            storage.deleteNotifications(storageIds);
+            storage.deleteMessages(storageIds);
+
+            long dispatchStart = Metrics.start();
+            if (LocalNotificationsPlugin.fireDismissed(notificationIds, dispatchStart)) {
+                return;
+            }
+            if (!LocalNotificationsPlugin.isDismissReceiverRegistered()) {
+                // Nobody would get the broadcast, kept for the next plugin to load
+                JSArray ids = new JSArray();
+                for (int notificationId : notificationIds) {
+                    ids.put(notificationId);
+                }
+                JSObject batch = new JSObject();
+                batch.put("notificationIds", ids);
+                new EventOutbox(context).append("localNotificationsDismissedBatch", batch);
+                return;
+            }
+            Intent broadcastIntent = new Intent(LocalNotificationManager.NOTIFICATION_DISMISSED_ACTION);
+            broadcastIntent.putExtra(LocalNotificationManager.NOTIFICATION_IDS_INTENT_KEY, notificationIds);
+            broadcastIntent.putExtra(LocalNotificationManager.DISPATCH_START_INTENT_KEY, dispatchStart);
+            broadcastIntent.setPackage(context.getPackageName());
+            context.sendBroadcast(broadcastIntent);
+            Metrics.increment(Metrics.Counter.DISMISS_BROADCASTS);
+            Logger.debug(Logger.tags("LN"), "Notification dismissed broadcast sent for " + notificationIds.length + " notifications");
+        } finally {
+            for (BroadcastReceiver.PendingResult pendingResult : pendingResults) {
+                pendingResult.finish();
+            }
+            ids.clear();
+            pendingResults.clear();
+            context = null;
+        }
+    }
+}
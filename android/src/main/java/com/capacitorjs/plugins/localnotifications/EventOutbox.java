@@ -0,0 +1,211 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import android.content.Context;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Logger;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.json.JSONException;
+
+/**
+ * Append-only file of the events fired while no plugin is loaded to report them, e.g. in a
+ * process woken by an alarm. The events of a type stay in the file until a plugin has a
+ * JavaScript listener for them.
+ *
+ * One event per line, its name and its data as JSON separated by a tab. A line cut short by the
+ * process dying while appending is skipped when read. The file is bounded to {@link #MAX_BYTES},
+ * when an event doesn't fit the oldest events are evicted first.
+ */
+class EventOutbox {
+
+    static final String FILE_NAME = "ln_event_outbox";
+    static final int MAX_BYTES = 256 * 1024;
+
+    static class Event {
+
+        final String name;
+        final JSObject data;
+
+        Event(String name, JSObject data) {
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    // Appends come from receivers and the main thread, the file is shared by every instance
+    private static final Object lock = new Object();
+
+    private final File file;
+
+    EventOutbox(Context context) {
+        this.file = new File(context.getNoBackupFilesDir(), FILE_NAME);
+    }
+
+    void append(String eventName, JSObject data) {
+        append(eventName, data.toString());
+    }
+
+    /**
+     * @param json - the event data as a JSON object on a single line
+     */
+    void append(String eventName, String json) {
+        byte[] line = (eventName + '\t' + json + '\n').getBytes(StandardCharsets.UTF_8);
+        if (line.length > MAX_BYTES) {
+            Logger.warn(Logger.tags("LN"), "Event " + eventName + " too large for the outbox, dropped");
+            Metrics.increment(Metrics.Counter.OUTBOX_EVICTIONS);
+            return;
+        }
+        synchronized (lock) {
+            try {
+                if (file.length() + line.length > MAX_BYTES) {
+                    evict(line.length);
+                }
+                try (OutputStream out = new FileOutputStream(file, true)) {
+                    out.write(line);
+                }
+                Metrics.increment(Metrics.Counter.OUTBOX_APPENDS);
+            } catch (IOException e) {
+                Logger.error(Logger.tags("LN"), "Failed to append event " + eventName + " to the outbox", e);
+            }
+        }
+    }
+
+    /**
+     * Events in the order they were appended, emptying the outbox
+     */
+    List<Event> drain() {
+        List<String> lines;
+        synchronized (lock) {
+            if (!file.exists()) {
+                return Collections.emptyList();
+            }
+            try {
+                lines = readLines();
+            } catch (IOException e) {
+                Logger.error(Logger.tags("LN"), "Failed to read the event outbox", e);
+                lines = Collections.emptyList();
+            }
+            if (!file.delete()) {
+                Logger.warn(Logger.tags("LN"), "Failed to truncate the event outbox");
+            }
+        }
+        return parse(lines);
+    }
+
+    private static List<Event> parse(List<String> lines) {
+        List<Event> events = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            int separator = line.indexOf('\t');
+            if (separator <= 0) {
+                continue;
+            }
+            try {
+                events.add(new Event(line.substring(0, separator), new JSObject(line.substring(separator + 1))));
+            } catch (JSONException e) {
+                Logger.warn(Logger.tags("LN"), "Skipping malformed outbox event");
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Events of a type in the order they were appended, removed from the outbox while the events
+     * of other types are kept
+     */
+    List<Event> take(String eventName) {
+        List<String> taken = new ArrayList<>();
+        synchronized (lock) {
+            if (!file.exists()) {
+                return Collections.emptyList();
+            }
+            try {
+                List<String> kept = new ArrayList<>();
+                for (String line : readLines()) {
+                    (line.startsWith(eventName + '\t') ? taken : kept).add(line);
+                }
+                if (taken.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                if (kept.isEmpty()) {
+                    if (!file.delete()) {
+                        Logger.warn(Logger.tags("LN"), "Failed to truncate the event outbox");
+                    }
+                } else {
+                    rewrite(kept);
+                }
+            } catch (IOException e) {
+                Logger.error(Logger.tags("LN"), "Failed to take " + eventName + " events from the outbox", e);
+                return Collections.emptyList();
+            }
+        }
+        return parse(taken);
+    }
+
+    /**
+     * Drop the oldest events until the given number of bytes fits. Evicts down to half the bound
+     * so a full outbox isn't rewritten on every append.
+     */
+    private void evict(int needed) throws IOException {
+        List<String> lines = readLines();
+        long size = 0;
+        for (String line : lines) {
+            size += lineBytes(line);
+        }
+        int first = 0;
+        while (first < lines.size() && size + needed > MAX_BYTES / 2) {
+            size -= lineBytes(lines.get(first));
+            first++;
+        }
+        Metrics.add(Metrics.Counter.OUTBOX_EVICTIONS, first);
+        rewrite(lines.subList(first, lines.size()));
+    }
+
+    private void rewrite(List<String> lines) throws IOException {
+        File rewritten = new File(file.getParentFile(), FILE_NAME + ".tmp");
+        try (OutputStream out = new FileOutputStream(rewritten)) {
+            for (String line : lines) {
+                out.write(line.getBytes(StandardCharsets.UTF_8));
+                out.write('\n');
+            }
+        }
+        if (!rewritten.renameTo(file)) {
+            throw new IOException("Failed to replace " + file);
+        }
+    }
+
+    /**
+     * Complete lines of the file, without a trailing line cut short
+     */
+    private List<String> readLines() throws IOException {
+        List<String> lines = new ArrayList<>();
+        if (!file.exists()) {
+            return lines;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            StringBuilder line = new StringBuilder();
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (c == '\n') {
+                    lines.add(line.toString());
+                    line.setLength(0);
+                } else {
+                    line.append((char) c);
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static int lineBytes(String line) {
+        return line.getBytes(StandardCharsets.UTF_8).length + 1;
+    }
+}
@@ -0,0 +1,53 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Logger;
+import java.util.function.Supplier;
+import org.json.JSONException;
+
+/**
+ * Notification sent with an event, parsed from its JSON on first use so the events that never
+ * reach a listener are never parsed
+ */
+class LazyPayload implements Supplier<JSObject> {
+
+    private Supplier<String> json;
+    private String jsonText;
+    private JSObject payload;
+
+    /**
+     * @param json - the data as JSON, called at most once
+     */
+    LazyPayload(Supplier<String> json) {
+        this.json = json;
+    }
+
+    /**
+     * The data, null when its JSON is missing or malformed
+     */
+    @Override
+    public synchronized JSObject get() {
+        if (payload == null && getJson() != null) {
+            try {
+                payload = LocalNotification.toJSPayload(new JSObject(jsonText));
+                Metrics.increment(Metrics.Counter.PAYLOADS_BUILT);
+            } catch (JSONException e) {
+                Logger.error(Logger.tags("LN"), "Failed to parse event payload", e);
+                jsonText = null;
+            }
+        }
+        return payload;
+    }
+
+    synchronized String getJson() {
+        if (json != null) {
+            jsonText = json.get();
+            json = null;
+        }
+        return jsonText;
+    }
+
+    synchronized boolean isBuilt() {
+        return payload != null;
+    }
+}
@@ -0,0 +1,250 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.Person;
+import com.getcapacitor.JSObject;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.json.JSONObject;
+
+/**
+ * Builders of the notifications posted right away, kept so their progress, title, body and
+ * conversation can be updated in place without decoding, storing and rebuilding the whole
+ * notification.
+ *
+ * Android drops the posts of a notification updated more often than about 5 times per second,
+ * so posts are throttled per notification: an update within the interval of the previous post
+ * is applied to the builder and posted once the interval has passed, together with every other
+ * update received until then. Updates that change nothing are not posted.
+ */
+class LiveNotifications {
+
+    /** Builders kept at most, the least recently updated notification stops being live first */
+    static final int MAX_LIVE = 32;
+
+    static final int DEFAULT_UPDATES_PER_SECOND = 5;
+
+    private static class Live {
+
+        final NotificationCompat.Builder builder;
+        String title;
+        String body;
+        LocalNotificationProgress progress;
+        // Null when the notification is not a conversation
+        List<LocalNotificationMessage> messages;
+        long lastPostUptime;
+        boolean postPending;
+
+        Live(NotificationCompat.Builder builder, LocalNotification notification, List<LocalNotificationMessage> messages) {
+            this.builder = builder;
+            title = notification.getTitle();
+            body = notification.getBody();
+            progress = notification.getProgress();
+            this.messages = messages;
+        }
+    }
+
+    private final PlatformGateway platform;
+    private final long intervalMs;
+    private final Person user;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Map<Integer, Live> live = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Live> eldest) {
+            if (size() <= MAX_LIVE) {
+                return false;
+            }
+            handler.removeCallbacksAndMessages(eldest.getValue());
+            return true;
+        }
+    };
+
+    /**
+     * @param updatesPerSecond - posts per notification at most, not throttled when 0 or less
+     * @param userName - name of the user of the device in conversations
+     */
+    LiveNotifications(PlatformGateway platform, int updatesPerSecond, String userName) {
+        this.platform = platform;
+        intervalMs = updatesPerSecond > 0 ? 1000L / updatesPerSecond : 0;
+        user = new Person.Builder().setName(userName).build();
+    }
+
+    /**
+     * Keep the builder of a notification that was just posted, replacing the one of a previous
+     * notification with the same id
+     *
+     * @param messages - messages of the conversation shown, null when it is not a conversation
+     */
+    synchronized void retain(LocalNotification notification, NotificationCompat.Builder builder, List<LocalNotificationMessage> messages) {
+        Live entry = new Live(builder, notification, messages);
+        entry.lastPostUptime = SystemClock.uptimeMillis();
+        Live previous = live.put(notification.getId(), entry);
+        if (previous != null) {
+            handler.removeCallbacksAndMessages(previous);
+        }
+    }
+
+    /**
+     * Stop updating a notification that was cancelled, dismissed or acted upon, dropping the
+     * update not posted yet
+     */
+    synchronized void remove(int id) {
+        Live entry = live.remove(id);
+        if (entry != null) {
+            handler.removeCallbacksAndMessages(entry);
+        }
+    }
+
+    synchronized void clear() {
+        handler.removeCallbacksAndMessages(null);
+        live.clear();
+    }
+
+    /**
+     * Apply the fields of the patch that differ from the posted notification
+     *
+     * @param patch - title, body and progress to change, a null progress removes the bar
+     * @return false when the notification is not live
+     */
+    synchronized boolean update(int id, JSObject patch) {
+        Live entry = live.get(id);
+        if (entry == null) {
+            return false;
+        }
+        Metrics.increment(Metrics.Counter.LIVE_UPDATES);
+        boolean changed = false;
+        if (patch.has("title")) {
+            String title = patch.getString("title");
+            if (!Objects.equals(title, entry.title)) {
+                entry.builder.setContentTitle(title);
+                entry.title = title;
+                if (entry.messages != null) {
+                    applyMessages(entry.builder, title, entry.messages);
+                }
+                changed = true;
+            }
+        }
+        if (patch.has("body")) {
+            String body = patch.getString("body");
+            if (!Objects.equals(body, entry.body)) {
+                entry.builder.setContentText(body);
+                entry.body = body;
+                changed = true;
+            }
+        }
+        if (patch.has("progress")) {
+            LocalNotificationProgress progress = parseProgress(patch.optJSONObject("progress"));
+            if (!sameProgress(progress, entry.progress)) {
+                applyProgress(entry.builder, progress);
+                entry.progress = progress;
+                changed = true;
+            }
+        }
+        if (changed) {
+            post(id, entry);
+        }
+        return true;
+    }
+
+    synchronized boolean isConversation(int id) {
+        Live entry = live.get(id);
+        return entry != null && entry.messages != null;
+    }
+
+    /**
+     * Show the conversation of a live notification with new messages
+     *
+     * @param messages - all the messages of the conversation, oldest first
+     * @return false when the notification is not a live conversation
+     */
+    synchronized boolean updateMessages(int id, List<LocalNotificationMessage> messages) {
+        Live entry = live.get(id);
+        if (entry == null || entry.messages == null) {
+            return false;
+        }
+        Metrics.increment(Metrics.Counter.LIVE_UPDATES);
+        applyMessages(entry.builder, entry.title, messages);
+        entry.messages = messages;
+        post(id, entry);
+        return true;
+    }
+
+    /**
+     * Show messages with MessagingStyle, the ones without a sender as sent by the user
+     */
+    void applyMessages(NotificationCompat.Builder builder, String title, List<LocalNotificationMessage> messages) {
+        NotificationCompat.MessagingStyle style = new NotificationCompat.MessagingStyle(user);
+        style.setConversationTitle(title);
+        Map<String, Person> senders = new HashMap<>();
+        for (LocalNotificationMessage message : messages) {
+            Person sender = null;
+            if (message.getSender() != null) {
+                sender = senders.computeIfAbsent(message.getSender(), name -> new Person.Builder().setName(name).build());
+            }
+            style.addMessage(message.getText(), message.getTimestamp(), sender);
+        }
+        style.setGroupConversation(senders.size() > 1);
+        builder.setStyle(style);
+    }
+
+    static void applyProgress(NotificationCompat.Builder builder, LocalNotificationProgress progress) {
+        if (progress == null) {
+            builder.setProgress(0, 0, false);
+        } else {
+            builder.setProgress(progress.getMax(), progress.getValue(), progress.isIndeterminate());
+        }
+    }
+
+    private void post(int id, Live entry) {
+        if (entry.postPending) {
+            // Picked up by the pending post
+            return;
+        }
+        long now = SystemClock.uptimeMillis();
+        long next = entry.lastPostUptime + intervalMs;
+        if (now >= next) {
+            postNow(id, entry, now);
+        } else {
+            entry.postPending = true;
+            handler.postAtTime(() -> flush(id, entry), entry, next);
+        }
+    }
+
+    private synchronized void flush(int id, Live entry) {
+        if (live.get(id) != entry || !entry.postPending) {
+            return;
+        }
+        entry.postPending = false;
+        postNow(id, entry, SystemClock.uptimeMillis());
+    }
+
+    private void postNow(int id, Live entry, long now) {
+        entry.lastPostUptime = now;
+        platform.notify(id, entry.builder.build());
+        Metrics.increment(Metrics.Counter.LIVE_POSTS);
+    }
+
+    private static LocalNotificationProgress parseProgress(JSONObject json) {
+        if (json == null) {
+            return null;
+        }
+        LocalNotificationProgress progress = new LocalNotificationProgress();
+        progress.setValue(json.optInt("value", 0));
+        progress.setMax(json.optInt("max", progress.getMax()));
+        progress.setIndeterminate(json.optBoolean("indeterminate", false));
+        return progress;
+    }
+
+    private static boolean sameProgress(LocalNotificationProgress a, LocalNotificationProgress b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.getValue() == b.getValue() && a.getMax() == b.getMax() && a.isIndeterminate() == b.isIndeterminate();
+    }
+}
@@ -10,7 +10,6 @@ import com.getcapacitor.Logger;
 import com.getcapacitor.PluginCall;
 import com.getcapacitor.plugin.util.AssetUtil;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
 import java.util.ArrayList;
 import java.util.List;
@@ -38,11 +37,14 @@ public class LocalNotification {
     private boolean groupSummary;
     private boolean ongoing;
     private boolean autoCancel = true;
+    private Integer priority;
     // Marked transient because these require custom deserialization post-Gson parsing
     private JSObject extra;
     private List<LocalNotificationAttachment> attachments;
     private LocalNotificationSchedule schedule;
     private String channelId;
+    private LocalNotificationProgress progress;
+    private List<LocalNotificationMessage> messages;
 
     public String getTitle() {
         return title;
@@ -197,6 +199,14 @@ public class LocalNotification {
         this.autoCancel = autoCancel;
     }
 
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
     public String getChannelId() {
         return channelId;
     }
@@ -205,12 +215,87 @@ public class LocalNotification {
         this.channelId = channelId;
     }
 
+    public LocalNotificationProgress getProgress() {
+        return progress;
+    }
+
+    public void setProgress(LocalNotificationProgress progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * @return the messages added to the conversation when scheduled, null when the notification
+     *         is not a conversation
+     */
+    public List<LocalNotificationMessage> getMessages() {
+        return messages;
+    }
+
+    public void setMessages(List<LocalNotificationMessage> messages) {
+        this.messages = messages;
+    }
+
+    /**
+     * Copy of the notification, with copies of its schedule, extra and the other mutable objects
+     * and lists it holds
+     */
+    LocalNotification copy() {
+        LocalNotification copy = new LocalNotification();
+        copy.title = title;
+        copy.body = body;
+        copy.largeBody = largeBody;
+        copy.summaryText = summaryText;
+        copy.id = id;
+        copy.sound = sound;
+        copy.smallIcon = smallIcon;
+        copy.largeIcon = largeIcon;
+        copy.iconColor = iconColor;
+        copy.actionTypeId = actionTypeId;
+        copy.group = group;
+        copy.inboxList = inboxList != null ? new ArrayList<>(inboxList) : null;
+        copy.groupSummary = groupSummary;
+        copy.ongoing = ongoing;
+        copy.autoCancel = autoCancel;
+        copy.priority = priority;
+        if (extra != null) {
+            try {
+                copy.extra = new JSObject(extra.toString());
+            } catch (JSONException e) {
+                copy.extra = new JSObject();
+            }
+        }
+        if (attachments != null) {
+            copy.attachments = new ArrayList<>(attachments.size());
+            for (LocalNotificationAttachment attachment : attachments) {
+                copy.attachments.add(attachment.copy());
+            }
+        }
+        copy.schedule = schedule != null ? schedule.copy() : null;
+        copy.channelId = channelId;
+        copy.progress = progress != null ? progress.copy() : null;
+        if (messages != null) {
+            copy.messages = new ArrayList<>(messages.size());
+            for (LocalNotificationMessage message : messages) {
+                copy.messages.add(message.copy());
+            }
+        }
+        return copy;
+    }
+
     /**
      * Build list of the notifications from remote plugin call
      */
-    private static final Gson DEFAULT_GSON = new GsonBuilder().setDateFormat(LocalNotificationSchedule.JS_DATE_FORMAT).create();
+    private static final Gson DEFAULT_GSON = RecordCodec.GSON;
 
     public static List<LocalNotification> buildNotificationList(PluginCall call, Gson gson) {
+        return buildNotificationList(call, gson, null);
+    }
+
+    /**
+     * @param storage - registered templates of the entries with a {@code templateId}, may be null
+     *                when templates are not supported
+     */
+    public static List<LocalNotification> buildNotificationList(PluginCall call, Gson gson, NotificationStorage storage) {
         JSArray notificationArray = call.getArray("notifications");
         if (notificationArray == null) {
             call.reject("Must provide notifications array as notifications option");
@@ -227,12 +312,31 @@ public class LocalNotification {
 
         for (JSONObject jsonNotification : notificationsJson) {
             JSObject notification = null;
+            String templateId = jsonNotification.optString("templateId", null);
+            if (templateId != null && jsonNotification.isNull("id")) {
+                call.reject("LocalNotification missing identifier");
+                return new ArrayList<>();
+            }
             try {
                 long identifier = jsonNotification.getLong("id");
                 if (identifier > Integer.MAX_VALUE || identifier < Integer.MIN_VALUE) {
                     call.reject("The identifier should be a Java int");
                     return new ArrayList<>();
                 }
+                if (templateId != null) {
+                    NotificationTemplate template = storage != null ? storage.getTemplate(templateId) : null;
+                    if (template == null) {
+                        call.reject("Unknown notification template " + templateId);
+                        return new ArrayList<>();
+                    }
+                    LocalNotification templated = template.build(jsonNotification, (int) identifier, gson);
+                    if (templated == null) {
+                        call.reject("Invalid notification payload sent to Notification plugin");
+                        return new ArrayList<>();
+                    }
+                    resultLocalNotifications.add(templated);
+                    continue;
+                }
                 notification = JSObject.fromJSONObject(jsonNotification);
             } catch (JSONException e) {
                 call.reject("Invalid JSON object sent to NotificationPlugin", e);
@@ -254,12 +358,16 @@ public class LocalNotification {
     }
 
     public static LocalNotification buildNotificationFromJSObject(JSObject jsonObject, Gson gson) {
+        long start = Metrics.start();
         LocalNotification localNotification;
         try {
             localNotification = gson.fromJson(jsonObject.toString(), LocalNotification.class);
         } catch (JsonSyntaxException ex) {
             Logger.error(Logger.tags("LN"), "Failed to parse notification JSON", ex);
+            Metrics.increment(Metrics.Counter.PARSE_ERRORS);
             return null;
+        } finally {
+            Metrics.stop(Metrics.Timer.PARSE, start);
         }
 
         if (localNotification == null) {
@@ -333,7 +441,7 @@ public class LocalNotification {
                 jsSchedule.put("at", schedule.getAt());
                 jsSchedule.put("every", schedule.getEvery());
                 jsSchedule.put("count", schedule.getCount());
-                jsSchedule.put("on", schedule.getOnObj());
+                jsSchedule.put("on", getOnObj(schedule.getOn()));
                 jsSchedule.put("repeats", schedule.isRepeating());
                 jsNotification.put("schedule", jsSchedule);
             }
@@ -346,6 +454,45 @@ public class LocalNotification {
         return result;
     }
 
+    /**
+     * Remove the scheduling state stored with a notification, e.g. the anchor of its schedule,
+     * from a notification parsed from a stored record or a snapshot before it is sent to JavaScript
+     */
+    static JSObject toJSPayload(JSObject notification) {
+        JSONObject schedule = notification.optJSONObject("schedule");
+        if (schedule != null) {
+            schedule.remove("anchor");
+            schedule.remove("anchorZone");
+        }
+        return notification;
+    }
+
+    private static JSObject getOnObj(LocalNotificationSchedule.ScheduleOn on) {
+        JSObject onJson = new JSObject();
+        if (on != null) {
+            if (on.year != null) onJson.put("year", on.year);
+            if (on.month != null) onJson.put("month", on.month);
+            if (on.day != null) onJson.put("day", on.day);
+            if (on.weekday != null) onJson.put("weekday", toJson(on.weekday));
+            if (on.hour != null) onJson.put("hour", toJson(on.hour));
+            if (on.minute != null) onJson.put("minute", toJson(on.minute));
+            if (on.second != null) onJson.put("second", on.second);
+        }
+        return onJson;
+    }
+
+    private static Object toJson(CronField field) {
+        int[] values = field.values();
+        if (values.length == 1) {
+            return values[0];
+        }
+        JSArray array = new JSArray();
+        for (int value : values) {
+            array.put(value);
+        }
+        return array;
+    }
+
     public int getSmallIcon(Context context, int defaultIcon) {
         int resId = AssetUtil.RESOURCE_ID_ZERO_VALUE;
 
@@ -441,6 +588,9 @@ public class LocalNotification {
         if (groupSummary != that.groupSummary) return false;
         if (ongoing != that.ongoing) return false;
         if (autoCancel != that.autoCancel) return false;
+        if (priority != null ? !priority.equals(that.priority) : that.priority != null) return false;
+        if (progress != null ? !progress.equals(that.progress) : that.progress != null) return false;
+        if (messages != null ? !messages.equals(that.messages) : that.messages != null) return false;
         return schedule != null ? schedule.equals(that.schedule) : that.schedule == null;
     }
 
@@ -457,6 +607,9 @@ public class LocalNotification {
         result = 31 * result + Boolean.hashCode(groupSummary);
         result = 31 * result + Boolean.hashCode(ongoing);
         result = 31 * result + Boolean.hashCode(autoCancel);
+        result = 31 * result + (priority != null ? priority.hashCode() : 0);
+        result = 31 * result + (progress != null ? progress.hashCode() : 0);
+        result = 31 * result + (messages != null ? messages.hashCode() : 0);
         result = 31 * result + (extra != null ? extra.hashCode() : 0);
         result = 31 * result + (attachments != null ? attachments.hashCode() : 0);
         result = 31 * result + (schedule != null ? schedule.hashCode() : 0);
@@ -14,6 +14,20 @@ public class LocalNotificationAttachment {
     private String url;
     private JSONObject options;
 
+    LocalNotificationAttachment copy() {
+        LocalNotificationAttachment copy = new LocalNotificationAttachment();
+        copy.id = id;
+        copy.url = url;
+        if (options != null) {
+            try {
+                copy.options = new JSONObject(options.toString());
+            } catch (JSONException e) {
+                copy.options = new JSONObject();
+            }
+        }
+        return copy;
+    }
+
     public String getId() {
         return id;
     }
@@ -1,7 +1,6 @@
 package com.capacitorjs.plugins.localnotifications;
 
 import android.app.Activity;
-import android.app.AlarmManager;
 import android.app.Notification;
 import android.app.NotificationChannel;
 import android.app.PendingIntent;
@@ -16,7 +15,6 @@ import android.os.Bundle;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.app.NotificationCompat;
-import androidx.core.app.NotificationManagerCompat;
 import androidx.core.app.RemoteInput;
 import com.getcapacitor.CapConfig;
 import com.getcapacitor.JSObject;
@@ -25,10 +23,14 @@ import com.getcapacitor.PluginCall;
 import com.getcapacitor.PluginConfig;
 import com.getcapacitor.plugin.util.AssetUtil;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -42,7 +44,11 @@ public class LocalNotificationManager {
     private static int defaultSmallIconID = AssetUtil.RESOURCE_ID_ZERO_VALUE;
     // Action constants
     public static final String NOTIFICATION_INTENT_KEY = "LocalNotificationId";
+    public static final String NOTIFICATION_IDS_INTENT_KEY = "LocalNotificationIds";
+    public static final String DISPATCH_START_INTENT_KEY = "LocalNotificationDispatchStart";
     public static final String NOTIFICATION_OBJ_INTENT_KEY = "LocalNotficationObject";
+    public static final String NOTIFICATION_SNAPSHOT_INTENT_KEY = "LocalNotificationSnapshot";
+    public static final String SNOOZE_INTENT_KEY = "LocalNotificationSnooze";
     public static final String ACTION_INTENT_KEY = "LocalNotificationUserAction";
     public static final String NOTIFICATION_IS_REMOVABLE_KEY = "LocalNotificationRepeating";
     public static final String NOTIFICATION_DISMISSED_ACTION =
@@ -52,23 +58,61 @@ public class LocalNotificationManager {
     public static final String DEFAULT_NOTIFICATION_CHANNEL_ID = "default";
     private static final String DEFAULT_PRESS_ACTION = "tap";
 
+    // Longest notification JSON embedded in tap and action intents with the actionSnapshots
+    // option, 4KB per intent once parceled as UTF-16. Larger notifications are read from storage.
+    static final int MAX_SNAPSHOT_LENGTH = 2048;
+
+    private static final String DEFAULT_MESSAGING_USER_NAME = "You";
+
     private Context context;
     private Activity activity;
     private NotificationStorage storage;
     private PluginConfig config;
-    private final Gson gson = new GsonBuilder().setDateFormat(LocalNotificationSchedule.JS_DATE_FORMAT).create();
+    private PlatformGateway platform;
+    private final LiveNotifications live;
+    private final Gson gson = RecordCodec.GSON;
 
     public LocalNotificationManager(NotificationStorage notificationStorage, Activity activity, Context context, CapConfig config) {
         storage = notificationStorage;
         this.activity = activity;
         this.context = context;
         this.config = config.getPluginConfiguration("LocalNotifications");
+        this.platform = Platform.getGateway(context);
+        this.live = new LiveNotifications(
+            platform,
+            this.config.getInt("liveUpdatesPerSecond", LiveNotifications.DEFAULT_UPDATES_PER_SECOND),
+            this.config.getString("messagingUserName", DEFAULT_MESSAGING_USER_NAME)
+        );
     }
 
     /**
      * Method extecuted when notification is launched by user from the notification bar.
      */
     public JSObject handleNotificationActionPerformed(Intent data, NotificationStorage notificationStorage) {
+        return handleNotificationActionPerformed(data, notificationStorage, Runnable::run);
+    }
+
+    /**
+     * @param cleanup - runs the removal of conversations and of notifications whose intent
+     *                carries a snapshot, e.g. off the main thread. Without a snapshot the
+     *                notification is read from storage and removed before returning.
+     */
+    public JSObject handleNotificationActionPerformed(Intent data, NotificationStorage notificationStorage, Executor cleanup) {
+        JSObject dataJson = handleActionPerformed(data, notificationStorage, platform, cleanup);
+        if (dataJson != null) {
+            live.remove(data.getIntExtra(NOTIFICATION_INTENT_KEY, Integer.MIN_VALUE));
+        }
+        return dataJson;
+    }
+
+    /**
+     * Payload of the action performed on a notification, dismissing it and removing it from
+     * storage when removable. Shared by the activity and by {@link NotificationActionReceiver}
+     * for actions handled in the background.
+     *
+     * @return null when the intent is not about a notification
+     */
+    static JSObject handleActionPerformed(Intent data, NotificationStorage notificationStorage, PlatformGateway platform, Executor cleanup) {
         Logger.debug(Logger.tags("LN"), "LocalNotification received: " + data.getDataString());
         int notificationId = data.getIntExtra(LocalNotificationManager.NOTIFICATION_INTENT_KEY, Integer.MIN_VALUE);
         if (notificationId == Integer.MIN_VALUE) {
@@ -77,11 +121,22 @@ public class LocalNotificationManager {
         }
         boolean isRemovable = data.getBooleanExtra(LocalNotificationManager.NOTIFICATION_IS_REMOVABLE_KEY, true);
         
-        // Re-fetch the notification from storage to ensure we have the full, correct data
-        LocalNotification notification = notificationStorage.getSavedNotification(Integer.toString(notificationId));
-        
-        if (isRemovable) {
-            notificationStorage.deleteNotification(Integer.toString(notificationId));
+        String key = Integer.toString(notificationId);
+        String notificationJson = data.getStringExtra(NOTIFICATION_SNAPSHOT_INTENT_KEY);
+        if (notificationJson != null) {
+            cleanup.execute(() -> {
+                if (isRemovable) {
+                    notificationStorage.deleteNotification(key);
+                }
+                notificationStorage.deleteMessages(Collections.singletonList(key));
+            });
+        } else {
+            // Read before it is removed, payload built from the stored JSON without decoding it
+            notificationJson = notificationStorage.getSavedNotificationPayload(key);
+            if (isRemovable) {
+                notificationStorage.deleteNotification(key);
+            }
+            cleanup.execute(() -> notificationStorage.deleteMessages(Collections.singletonList(key)));
         }
         JSObject dataJson = new JSObject();
 
@@ -92,16 +147,14 @@ public class LocalNotificationManager {
         }
         String menuAction = data.getStringExtra(LocalNotificationManager.ACTION_INTENT_KEY);
 
-        dismissVisibleNotification(notificationId);
+        platform.cancelNotification(notificationId);
 
         dataJson.put("actionId", menuAction);
         
-        // Build notification data from stored object if available
         JSObject request = null;
-        if (notification != null) {
+        if (notificationJson != null) {
             try {
-                // Re-serialize the object to get a JSObject. Avoids storing raw source string.
-                request = new JSObject(gson.toJson(notification));
+                request = LocalNotification.toJSPayload(new JSObject(notificationJson));
             } catch (JSONException e) {
                 Logger.error(Logger.tags("LN"), "Failed to parse notification source", e);
             }
@@ -110,6 +163,48 @@ public class LocalNotificationManager {
         return dataJson;
     }
 
+    /**
+     * Post the notification again after a delay, re-armed like a scheduled notification from its
+     * stored record, or from the snapshot of the action intent once it is no longer stored.
+     * Repeating notifications are not snoozed, they fire again at their next occurrence.
+     *
+     * @param snapshot - JSON of the notification from the action intent, may be null
+     * @return trigger time of the snoozed notification, null when it was not snoozed
+     */
+    @Nullable
+    public Long snooze(int notificationId, String snapshot, long delayMillis) {
+        LocalNotification notification = storage.getSavedNotification(Integer.toString(notificationId));
+        if (notification == null && snapshot != null) {
+            try {
+                notification = gson.fromJson(snapshot, LocalNotification.class);
+            } catch (JsonSyntaxException e) {
+                Logger.error(Logger.tags("LN"), "Failed to parse notification snapshot", e);
+            }
+        }
+        if (notification == null) {
+            Logger.warn(Logger.tags("LN"), "Notification " + notificationId + " not found, not snoozed");
+            return null;
+        }
+        LocalNotificationSchedule schedule = notification.getSchedule();
+        if (schedule != null && !schedule.isRemovable()) {
+            Logger.debug(Logger.tags("LN"), "Repeating notification " + notificationId + " not snoozed");
+            return null;
+        }
+        long at = platform.currentTimeMillis() + delayMillis;
+        LocalNotificationSchedule snoozed = new LocalNotificationSchedule();
+        snoozed.setAt(new Date(at));
+        if (schedule != null) {
+            snoozed.setAllowWhileIdle(schedule.allowWhileIdle());
+        }
+        notification.setSchedule(snoozed);
+        List<LocalNotification> notifications = Collections.singletonList(notification);
+        if (schedule(null, notifications) == null) {
+            return null;
+        }
+        storage.appendNotifications(notifications);
+        return at;
+    }
+
     /**
      * Create notification channel
      */
@@ -132,17 +227,28 @@ public class LocalNotificationManager {
             }
             // Register the channel with the system; you can't change the importance
             // or other notification behaviors after this
-            android.app.NotificationManager notificationManager = context.getSystemService(android.app.NotificationManager.class);
-            notificationManager.createNotificationChannel(channel);
+            platform.createNotificationChannel(channel);
         }
     }
 
     @Nullable
     public JSONArray schedule(PluginCall call, List<LocalNotification> localNotifications) {
+        return schedule(call, localNotifications, Collections.emptyMap());
+    }
+
+    /**
+     * @param conversations - conversations to show instead of the stored ones, by notification id,
+     *     for messages only stored once scheduling succeeds
+     */
+    @Nullable
+    public JSONArray schedule(
+        PluginCall call,
+        List<LocalNotification> localNotifications,
+        Map<Integer, List<LocalNotificationMessage>> conversations
+    ) {
         JSONArray ids = new JSONArray();
-        NotificationManagerCompat notificationManager = NotificationManagerCompat.from(context);
 
-        boolean notificationsEnabled = notificationManager.areNotificationsEnabled();
+        boolean notificationsEnabled = platform.areNotificationsEnabled();
         if (!notificationsEnabled) {
             if (call != null) {
                 call.reject("Notifications not enabled on this device");
@@ -159,21 +265,46 @@ public class LocalNotificationManager {
             }
             dismissVisibleNotification(id);
             cancelTimerForNotification(id);
-            buildNotification(notificationManager, localNotification, call);
+            long start = Metrics.start();
+            Tracing.begin(Tracing.SECTION_BUILD_NOTIFICATION);
+            try {
+                buildNotification(localNotification, call, conversations.get(id));
+            } finally {
+                Tracing.end();
+            }
+            Metrics.stop(Metrics.Timer.BUILD_NOTIFICATION, start);
             ids.put(id);
         }
         return ids;
     }
 
-    // TODO Progressbar support
+    /**
+     * Arm the alarms of stored notifications again after the clock or the time zone changed.
+     * Anchors of local-time schedules move to the same wall-clock time in the new zone.
+     * Notifications shown in the drawer are left as they are.
+     */
+    public void rearm(List<LocalNotification> localNotifications) {
+        for (LocalNotification localNotification : localNotifications) {
+            if (localNotification.getId() == null || !localNotification.isScheduled()) {
+                continue;
+            }
+            localNotification.getSchedule().moveAnchorToDefaultZone();
+            cancelTimerForNotification(localNotification.getId());
+            Tracing.begin(Tracing.SECTION_BUILD_NOTIFICATION);
+            try {
+                buildNotification(localNotification, null, null);
+            } finally {
+                Tracing.end();
+            }
+        }
+    }
+
     // TODO System categories (DO_NOT_DISTURB etc.)
     // TODO control visibility by flag Notification.VISIBILITY_PRIVATE
     // TODO Group notifications (setGroup, setGroupSummary, setNumber)
-    // TODO use NotificationCompat.MessagingStyle for latest API
-    // TODO expandable notification NotificationCompat.MessagingStyle
     // TODO media style notification support NotificationCompat.MediaStyle
     // TODO custom small/large icons
-    private void buildNotification(NotificationManagerCompat notificationManager, LocalNotification localNotification, PluginCall call) {
+    private void buildNotification(LocalNotification localNotification, PluginCall call, List<LocalNotificationMessage> conversation) {
         String channelId = DEFAULT_NOTIFICATION_CHANNEL_ID;
         if (localNotification.getChannelId() != null) {
             channelId = localNotification.getChannelId();
@@ -183,7 +314,7 @@ public class LocalNotificationManager {
             .setContentText(localNotification.getBody())
             .setAutoCancel(localNotification.isAutoCancel())
             .setOngoing(localNotification.isOngoing())
-            .setPriority(NotificationCompat.PRIORITY_DEFAULT)
+            .setPriority(getBuilderPriority(resolvePriority(localNotification)))
             .setGroupSummary(localNotification.isGroupSummary());
 
         if (localNotification.getLargeBody() != null) {
@@ -205,6 +336,17 @@ public class LocalNotificationManager {
             mBuilder.setStyle(inboxStyle);
         }
 
+        if (localNotification.getProgress() != null) {
+            LiveNotifications.applyProgress(mBuilder, localNotification.getProgress());
+        }
+
+        // The whole conversation, the stored one already has the messages of the notification
+        List<LocalNotificationMessage> messages = null;
+        if (localNotification.getMessages() != null) {
+            messages = conversation != null ? conversation : storage.getMessages(localNotification.getId());
+            live.applyMessages(mBuilder, localNotification.getTitle(), messages);
+        }
+
         String sound = localNotification.getSound(context, getDefaultSound(context));
         if (sound != null) {
             Uri soundUri = Uri.parse(sound);
@@ -246,22 +388,25 @@ public class LocalNotificationManager {
         // notificationId is a unique int for each localNotification that you must define
         Notification buildNotification = mBuilder.build();
         if (localNotification.isScheduled()) {
-            triggerScheduledNotification(buildNotification, localNotification);
-        } else {
+            Tracing.begin(Tracing.SECTION_TRIGGER_SCHEDULED);
             try {
-                JSObject notificationJson = new JSObject(gson.toJson(localNotification));
-                LocalNotificationsPlugin.fireReceived(notificationJson);
-            } catch (JSONException e) {
-                Logger.error(Logger.tags("LN"), "Failed to fire received event for notification", e);
+                triggerScheduledNotification(buildNotification, localNotification);
+            } finally {
+                Tracing.end();
             }
-            notificationManager.notify(localNotification.getId(), buildNotification);
+        } else {
+            LocalNotificationsPlugin.fireReceived(context, localNotification.getId(), () -> gson.toJson(localNotification));
+            platform.notify(localNotification.getId(), buildNotification);
+            // Kept for in-place updates
+            live.retain(localNotification, mBuilder, messages);
         }
     }
 
     // Create intents for open/dissmis actions
     private void createActionIntents(LocalNotification localNotification, NotificationCompat.Builder mBuilder) {
+        String snapshot = config.getBoolean("actionSnapshots", false) ? buildSnapshot(localNotification) : null;
         // Open intent
-        Intent intent = buildIntent(localNotification, DEFAULT_PRESS_ACTION);
+        Intent intent = buildIntent(localNotification, DEFAULT_PRESS_ACTION, snapshot);
         int flags = PendingIntent.FLAG_CANCEL_CURRENT;
         if (android.os.Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
             flags = flags | PendingIntent.FLAG_MUTABLE;
@@ -275,13 +420,24 @@ public class LocalNotificationManager {
             NotificationAction[] actionGroup = storage.getActionGroup(actionTypeId);
             for (NotificationAction notificationAction : actionGroup) {
                 // TODO Add custom icons to actions
-                Intent actionIntent = buildIntent(localNotification, notificationAction.getId());
-                PendingIntent actionPendingIntent = PendingIntent.getActivity(
-                    context,
-                    localNotification.getId() + notificationAction.getId().hashCode(),
-                    actionIntent,
-                    flags
-                );
+                int requestCode = localNotification.getId() + notificationAction.getId().hashCode();
+                PendingIntent actionPendingIntent;
+                Integer snoozeMinutes = notificationAction.getSnoozeMinutes();
+                if (snoozeMinutes != null) {
+                    // Re-armed by the receiver, from the snapshot once delivered notifications
+                    // are no longer stored
+                    String snoozeSnapshot = snapshot != null ? snapshot : buildSnapshot(localNotification);
+                    Intent actionIntent = buildBackgroundActionIntent(localNotification, notificationAction.getId(), snoozeSnapshot);
+                    actionIntent.putExtra(SNOOZE_INTENT_KEY, snoozeMinutes * 60_000L);
+                    actionPendingIntent = PendingIntent.getBroadcast(context, requestCode, actionIntent, flags);
+                } else if (notificationAction.isForeground()) {
+                    Intent actionIntent = buildIntent(localNotification, notificationAction.getId(), snapshot);
+                    actionPendingIntent = PendingIntent.getActivity(context, requestCode, actionIntent, flags);
+                } else {
+                    // Handled by a receiver without launching the activity
+                    Intent actionIntent = buildBackgroundActionIntent(localNotification, notificationAction.getId(), snapshot);
+                    actionPendingIntent = PendingIntent.getBroadcast(context, requestCode, actionIntent, flags);
+                }
                 NotificationCompat.Action.Builder actionBuilder = new NotificationCompat.Action.Builder(
                     R.drawable.ic_transparent,
                     notificationAction.getTitle(),
@@ -311,8 +467,25 @@ public class LocalNotificationManager {
         mBuilder.setDeleteIntent(deleteIntent);
     }
 
+    /**
+     * JSON of the notification to embed in its tap and action intents, null when the
+     * notification is too large to embed
+     */
+    @Nullable
+    private String buildSnapshot(LocalNotification localNotification) {
+        String snapshot = gson.toJson(localNotification);
+        if (snapshot.length() > MAX_SNAPSHOT_LENGTH) {
+            Logger.debug(Logger.tags("LN"), "Notification " + localNotification.getId() + " too large for a snapshot, read from storage on tap");
+            return null;
+        }
+        return snapshot;
+    }
+
+    /**
+     * @param snapshot - JSON of the notification, reported on tap without reading storage, may be null
+     */
     @NonNull
-    private Intent buildIntent(LocalNotification localNotification, String action) {
+    private Intent buildIntent(LocalNotification localNotification, String action, String snapshot) {
         Intent intent;
         if (activity != null) {
             intent = new Intent(context, activity.getClass());
@@ -327,6 +500,25 @@ public class LocalNotificationManager {
         intent.putExtra(ACTION_INTENT_KEY, action);
         LocalNotificationSchedule schedule = localNotification.getSchedule();
         intent.putExtra(NOTIFICATION_IS_REMOVABLE_KEY, schedule == null || schedule.isRemovable());
+        if (snapshot != null) {
+            intent.putExtra(NOTIFICATION_SNAPSHOT_INTENT_KEY, snapshot);
+        }
+        return intent;
+    }
+
+    /**
+     * Intent of an action with {@code foreground: false}, sent to {@link NotificationActionReceiver}
+     */
+    @NonNull
+    private Intent buildBackgroundActionIntent(LocalNotification localNotification, String action, String snapshot) {
+        Intent intent = new Intent(context, NotificationActionReceiver.class);
+        intent.putExtra(NOTIFICATION_INTENT_KEY, localNotification.getId());
+        intent.putExtra(ACTION_INTENT_KEY, action);
+        LocalNotificationSchedule schedule = localNotification.getSchedule();
+        intent.putExtra(NOTIFICATION_IS_REMOVABLE_KEY, schedule == null || schedule.isRemovable());
+        if (snapshot != null) {
+            intent.putExtra(NOTIFICATION_SNAPSHOT_INTENT_KEY, snapshot);
+        }
         return intent;
     }
 
@@ -334,122 +526,164 @@ public class LocalNotificationManager {
      * Build a notification trigger, such as triggering each N seconds, or
      * on a certain date "shape" (such as every first of the month)
      */
-    // TODO support different AlarmManager.RTC modes depending on priority
     private void triggerScheduledNotification(Notification notification, LocalNotification request) {
-        AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
         LocalNotificationSchedule schedule = request.getSchedule();
         Intent notificationIntent = new Intent(context, TimedNotificationPublisher.class);
         notificationIntent.putExtra(NOTIFICATION_INTENT_KEY, request.getId());
         notificationIntent.putExtra(TimedNotificationPublisher.NOTIFICATION_KEY, notification);
-        int flags = PendingIntent.FLAG_CANCEL_CURRENT;
-        if (android.os.Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
-            flags = flags | PendingIntent.FLAG_MUTABLE;
-        }
-        PendingIntent pendingIntent = PendingIntent.getBroadcast(context, request.getId(), notificationIntent, flags);
+        long now = platform.currentTimeMillis();
+        AlarmMode alarmMode = resolveAlarmMode(platform, request);
+        notificationIntent.putExtra(TimedNotificationPublisher.ALARM_MODE_KEY, alarmMode.name());
+        notificationIntent.putExtra(TimedNotificationPublisher.SCHEDULE_KIND_KEY, schedule.getKind());
 
-        // Schedule at specific time (with repeating support)
+        // Schedule at specific time
         Date at = schedule.getAt();
-        if (at != null) {
-            if (at.getTime() < new Date().getTime()) {
+        if (at != null && !schedule.isRepeating()) {
+            if (at.getTime() < now) {
                 Logger.error(Logger.tags("LN"), "Scheduled time must be *after* current time", null);
                 return;
             }
-            if (schedule.isRepeating()) {
-                long interval = at.getTime() - new Date().getTime();
-                alarmManager.setRepeating(AlarmManager.RTC, at.getTime(), interval, pendingIntent);
-            } else {
-                setExactIfPossible(alarmManager, schedule, at.getTime(), pendingIntent);
-            }
+            notificationIntent.putExtra(TimedNotificationPublisher.TRIGGER_KEY, at.getTime());
+            platform.setAlarm(request.getId(), notificationIntent, alarmMode, at.getTime());
             return;
         }
 
-        // Schedule at specific intervals
-        String every = schedule.getEvery();
-        if (every != null) {
-            Long everyInterval = schedule.getEveryInterval();
-            if (everyInterval != null) {
-                long startTime = new Date().getTime() + everyInterval;
-                alarmManager.setRepeating(AlarmManager.RTC, startTime, everyInterval, pendingIntent);
-            }
+        // Repeating "at", "every" and cron like schedules are armed one occurrence at a time,
+        // TimedNotificationPublisher re-arms the next one from the anchor when the alarm fires
+        Long anchor = schedule.resolveAnchor(now);
+        if (anchor == null) {
             return;
         }
-
-        // Cron like scheduler
-        LocalNotificationSchedule.ScheduleOn on = schedule.getOn();
-        if (on != null) {
-            Long triggerTime = schedule.getNextOnSchedule(new Date());
-            if (triggerTime == null) {
-                Logger.error(Logger.tags("LN"), "Failed to calculate next trigger time for notification " + request.getId(), null);
-                return;
-            }
-            // Store serialized notification for rescheduling
-            String serializedNotification = gson.toJson(request);
-            notificationIntent.putExtra(TimedNotificationPublisher.CRON_KEY, serializedNotification);
-            pendingIntent = PendingIntent.getBroadcast(context, request.getId(), notificationIntent, flags);
-            setExactIfPossible(alarmManager, schedule, triggerTime, pendingIntent);
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss");
-            Logger.debug(Logger.tags("LN"), "notification " + request.getId() + " will next fire at " + sdf.format(new Date(triggerTime)));
+        Long triggerTime = schedule.getNextTrigger(anchor, new Date(now));
+        if (triggerTime == null) {
+            Logger.error(Logger.tags("LN"), "Failed to calculate next trigger time for notification " + request.getId(), null);
+            return;
         }
+        schedule.setAnchor(anchor);
+        // Store serialized notification for rescheduling
+        String serializedNotification = gson.toJson(request);
+        notificationIntent.putExtra(TimedNotificationPublisher.CRON_KEY, serializedNotification);
+        notificationIntent.putExtra(TimedNotificationPublisher.ANCHOR_KEY, anchor.longValue());
+        notificationIntent.putExtra(TimedNotificationPublisher.TRIGGER_KEY, triggerTime.longValue());
+        platform.setAlarm(request.getId(), notificationIntent, alarmMode, triggerTime);
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss");
+        Logger.debug(Logger.tags("LN"), "notification " + request.getId() + " will next fire at " + sdf.format(new Date(triggerTime)));
     }
 
-    private void setExactIfPossible(
-        AlarmManager alarmManager,
-        LocalNotificationSchedule schedule,
-        long trigger,
-        PendingIntent pendingIntent
-    ) {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S && !alarmManager.canScheduleExactAlarms()) {
+    /**
+     * Pick RTC/RTC_WAKEUP and exact/windowed delivery for the notification from its priority and
+     * the exact alarm permission.
+     */
+    static AlarmMode resolveAlarmMode(PlatformGateway platform, LocalNotification request) {
+        LocalNotificationSchedule schedule = request.getSchedule();
+        boolean canScheduleExact = platform.canScheduleExactAlarms();
+        AlarmMode mode = AlarmMode.resolve(resolvePriority(request), schedule.allowWhileIdle(), canScheduleExact);
+        if (!canScheduleExact && mode != AlarmMode.WINDOWED) {
             Logger.warn(
                 "Capacitor/LocalNotification",
                 "Exact alarms not allowed in user settings.  Notification scheduled with non-exact alarm."
             );
-            if (schedule.allowWhileIdle()) {
-                alarmManager.setAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, trigger, pendingIntent);
-            } else {
-                alarmManager.set(AlarmManager.RTC, trigger, pendingIntent);
-            }
-        } else {
-            if (schedule.allowWhileIdle()) {
-                alarmManager.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, trigger, pendingIntent);
-            } else {
-                alarmManager.setExact(AlarmManager.RTC, trigger, pendingIntent);
-            }
+        }
+        return mode;
+    }
+
+    /**
+     * Priority of the notification on the 1-5 importance scale. Notifications that don't set one
+     * keep the default priority, an exact RTC alarm unless they allow firing while idle.
+     */
+    static int resolvePriority(LocalNotification request) {
+        return AlarmMode.normalizePriority(request.getPriority());
+    }
+
+    /**
+     * Map the 1-5 importance scale onto NotificationCompat priorities (used below Android 8)
+     */
+    static int getBuilderPriority(int priority) {
+        switch (priority) {
+            case AlarmMode.PRIORITY_MIN:
+                return NotificationCompat.PRIORITY_MIN;
+            case AlarmMode.PRIORITY_LOW:
+                return NotificationCompat.PRIORITY_LOW;
+            case AlarmMode.PRIORITY_HIGH:
+                return NotificationCompat.PRIORITY_HIGH;
+            case AlarmMode.PRIORITY_MAX:
+                return NotificationCompat.PRIORITY_MAX;
+            default:
+                return NotificationCompat.PRIORITY_DEFAULT;
         }
     }
 
     public void cancel(PluginCall call) {
+        long start = Metrics.start();
         List<Integer> notificationsToCancel = LocalNotification.getLocalNotificationPendingList(call);
         if (notificationsToCancel != null) {
+            List<String> ids = new ArrayList<>(notificationsToCancel.size());
             for (Integer id : notificationsToCancel) {
                 dismissVisibleNotification(id);
                 cancelTimerForNotification(id);
-                storage.deleteNotification(Integer.toString(id));
+                ids.add(Integer.toString(id));
             }
+            storage.deleteNotifications(ids);
+            storage.deleteMessages(ids);
+            Metrics.add(Metrics.Counter.NOTIFICATIONS_CANCELLED, notificationsToCancel.size());
         }
         call.resolve();
+        Metrics.stop(Metrics.Timer.CANCEL, start);
     }
 
     private void cancelTimerForNotification(Integer notificationId) {
-        Intent intent = new Intent(context, TimedNotificationPublisher.class);
-        int flags = 0;
-        if (android.os.Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
-            flags = PendingIntent.FLAG_MUTABLE;
+        platform.cancelAlarm(notificationId, new Intent(context, TimedNotificationPublisher.class));
+    }
+
+    private void dismissVisibleNotification(int notificationId) {
+        live.remove(notificationId);
+        platform.cancelNotification(notificationId);
+    }
+
+    /**
+     * Change the title, body or progress of a notification posted right away, reposting it at
+     * most {@code liveUpdatesPerSecond} times per second
+     *
+     * @return false when the notification was not posted by this plugin, was scheduled, or was
+     *         dismissed since
+     */
+    public boolean update(int notificationId, JSObject patch) {
+        return live.update(notificationId, patch);
+    }
+
+    /**
+     * Add a message to the conversation of a notification posted right away, reposting it at most
+     * {@code liveUpdatesPerSecond} times per second
+     *
+     * @return false when the notification is not a conversation posted by this plugin, or was
+     *         dismissed since
+     */
+    public boolean appendMessage(int notificationId, LocalNotificationMessage message) {
+        if (!live.isConversation(notificationId)) {
+            return false;
         }
-        PendingIntent pi = PendingIntent.getBroadcast(context, notificationId, intent, flags);
-        if (pi != null) {
-            AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
-            alarmManager.cancel(pi);
+        List<LocalNotificationMessage> messages = storage.appendMessages(notificationId, Collections.singletonList(message));
+        return live.updateMessages(notificationId, messages);
+    }
+
+    /**
+     * Stop in-place updates of notifications dismissed or acted upon outside of the plugin
+     */
+    public void endLiveNotifications(int... notificationIds) {
+        for (int notificationId : notificationIds) {
+            live.remove(notificationId);
         }
     }
 
-    private void dismissVisibleNotification(int notificationId) {
-        NotificationManagerCompat notificationManager = NotificationManagerCompat.from(this.context);
-        notificationManager.cancel(notificationId);
+    /**
+     * Drop the kept builders and the updates not posted yet
+     */
+    public void releaseLiveNotifications() {
+        live.clear();
     }
 
     public boolean areNotificationsEnabled() {
-        NotificationManagerCompat notificationManager = NotificationManagerCompat.from(context);
-        return notificationManager.areNotificationsEnabled();
+        return platform.areNotificationsEnabled();
     }
 
     public Uri getDefaultSoundUrl(Context context) {
@@ -0,0 +1,64 @@
+package com.capacitorjs.plugins.localnotifications;
+
+/**
+ * Message of a conversation shown with MessagingStyle
+ */
+public class LocalNotificationMessage {
+
+    private String text;
+    // Null for messages sent by the user of the device
+    private String sender;
+    private long timestamp;
+
+    LocalNotificationMessage copy() {
+        LocalNotificationMessage copy = new LocalNotificationMessage();
+        copy.text = text;
+        copy.sender = sender;
+        copy.timestamp = timestamp;
+        return copy;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public String getSender() {
+        return sender;
+    }
+
+    public void setSender(String sender) {
+        this.sender = sender;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LocalNotificationMessage that = (LocalNotificationMessage) o;
+
+        if (timestamp != that.timestamp) return false;
+        if (text != null ? !text.equals(that.text) : that.text != null) return false;
+        return sender != null ? sender.equals(that.sender) : that.sender == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = text != null ? text.hashCode() : 0;
+        result = 31 * result + (sender != null ? sender.hashCode() : 0);
+        result = 31 * result + Long.hashCode(timestamp);
+        return result;
+    }
+}
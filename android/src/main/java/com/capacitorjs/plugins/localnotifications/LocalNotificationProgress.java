@@ -0,0 +1,63 @@
+package com.capacitorjs.plugins.localnotifications;
+
+/**
+ * Progress bar shown in a notification
+ */
+public class LocalNotificationProgress {
+
+    private int value;
+    private int max = 100;
+    private boolean indeterminate;
+
+    LocalNotificationProgress copy() {
+        LocalNotificationProgress copy = new LocalNotificationProgress();
+        copy.value = value;
+        copy.max = max;
+        copy.indeterminate = indeterminate;
+        return copy;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public void setValue(int value) {
+        this.value = value;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    public void setMax(int max) {
+        this.max = max;
+    }
+
+    public boolean isIndeterminate() {
+        return indeterminate;
+    }
+
+    public void setIndeterminate(boolean indeterminate) {
+        this.indeterminate = indeterminate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LocalNotificationProgress that = (LocalNotificationProgress) o;
+
+        if (value != that.value) return false;
+        if (max != that.max) return false;
+        return indeterminate == that.indeterminate;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = value;
+        result = 31 * result + max;
+        result = 31 * result + Boolean.hashCode(indeterminate);
+        return result;
+    }
+}
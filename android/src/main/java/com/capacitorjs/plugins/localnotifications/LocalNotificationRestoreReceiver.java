@@ -11,17 +11,22 @@ public class LocalNotificationRestoreReceiver extends BroadcastReceiver {
 
     @Override
     public void onReceive(Context context, Intent intent) {
-        UserManager um = context.getSystemService(UserManager.class);
-        if (um == null || !um.isUserUnlocked()) return;
+        Tracing.begin(Tracing.SECTION_RESTORE_RECEIVE);
+        try {
+            UserManager um = context.getSystemService(UserManager.class);
+            if (um == null || !um.isUserUnlocked()) return;
 
-        NotificationStorage storage = new NotificationStorage(context);
-        List<LocalNotification> notifications = storage.getSavedNotifications();
+            NotificationStorage storage = new NotificationStorage(context);
+            List<LocalNotification> notifications = storage.getSavedNotifications();
 
-        CapConfig config = CapConfig.loadDefault(context);
-        LocalNotificationManager localNotificationManager = new LocalNotificationManager(storage, null, context, config);
+            CapConfig config = CapConfig.loadDefault(context);
+            LocalNotificationManager localNotificationManager = new LocalNotificationManager(storage, null, context, config);
 
-        // Re-schedule all notifications. The scheduling logic is responsible for
-        // calculating the next trigger time correctly. No more hacks.
-        localNotificationManager.schedule(null, notifications);
+            // Re-schedule all notifications. The scheduling logic is responsible for
+            // calculating the next trigger time correctly. No more hacks.
+            localNotificationManager.schedule(null, notifications);
+        } finally {
+            Tracing.end();
+        }
     }
 }
@@ -17,6 +17,7 @@ import androidx.activity.result.ActivityResult;
 import com.getcapacitor.Bridge;
 import com.getcapacitor.JSArray;
 import com.getcapacitor.JSObject;
+import com.getcapacitor.Logger;
 import com.getcapacitor.PermissionState;
 import com.getcapacitor.Plugin;
 import com.getcapacitor.PluginCall;
@@ -27,12 +28,17 @@ import com.getcapacitor.annotation.CapacitorPlugin;
 import com.getcapacitor.annotation.Permission;
 import com.getcapacitor.annotation.PermissionCallback;
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @CapacitorPlugin(
     name = "LocalNotifications",
@@ -42,12 +48,16 @@ public class LocalNotificationsPlugin extends Plugin {
 
     static final String LOCAL_NOTIFICATIONS = "display";
 
+    private static final int DEFAULT_OCCURRENCE_LIMIT = 100;
+
     private static Bridge staticBridge = null;
+    private static volatile boolean dismissReceiverRegistered = false;
     private LocalNotificationManager manager;
     public NotificationManager notificationManager;
     private NotificationStorage notificationStorage;
     private NotificationChannelManager notificationChannelManager;
     private BroadcastReceiver dismissReceiver;
+    private final RetainedEvents retainedEvents = new RetainedEvents();
     private Gson gson;
 
     @Override
@@ -59,29 +69,67 @@ public class LocalNotificationsPlugin extends Plugin {
         notificationChannelManager = new NotificationChannelManager(getActivity());
         notificationManager = (NotificationManager) getActivity().getSystemService(Context.NOTIFICATION_SERVICE);
         staticBridge = this.bridge;
-        gson = new GsonBuilder().setDateFormat(LocalNotificationSchedule.JS_DATE_FORMAT).create();
+        gson = RecordCodec.GSON;
+        Metrics.setEnabled(getConfig().getBoolean("metrics", false));
+        installTracer(getConfig().getString("tracer"));
 
         registerDismissReceiver();
+        // Off the main thread, receivers read records of older versions one at a time until then
+        bridge.execute(notificationStorage::migrateSavedNotifications);
+    }
+
+    /**
+     * Install one of the bundled tracers, leaving a tracer installed by the app in place when the
+     * option is not set
+     */
+    private void installTracer(String tracer) {
+        if (tracer == null) {
+            return;
+        }
+        switch (tracer) {
+            case "systrace":
+                Tracing.setTracer(new SystemTracer());
+                break;
+            case "memory":
+                Tracing.setTracer(new RingBufferTracer());
+                break;
+            case "none":
+                Tracing.setTracer(null);
+                break;
+            default:
+                Logger.warn(Logger.tags("LN"), "Unknown tracer " + tracer + ", tracing disabled");
+                Tracing.setTracer(null);
+        }
     }
 
     private void registerDismissReceiver() {
         dismissReceiver = new BroadcastReceiver() {
             @Override
             public void onReceive(Context context, Intent intent) {
-                if (
-                    intent == null ||
-                    !LocalNotificationManager.NOTIFICATION_DISMISSED_ACTION.equals(intent.getAction())
-                ) {
-                    return;
-                }
-                int notificationId = intent.getIntExtra(LocalNotificationManager.NOTIFICATION_INTENT_KEY, -1);
-                if (notificationId == -1) {
-                    return;
+                Tracing.begin(Tracing.SECTION_DISMISS_EVENT_RECEIVE);
+                try {
+                    if (
+                        intent == null ||
+                        !LocalNotificationManager.NOTIFICATION_DISMISSED_ACTION.equals(intent.getAction())
+                    ) {
+                        return;
+                    }
+                    int[] notificationIds = intent.getIntArrayExtra(LocalNotificationManager.NOTIFICATION_IDS_INTENT_KEY);
+                    if (notificationIds == null) {
+                        int notificationId = intent.getIntExtra(LocalNotificationManager.NOTIFICATION_INTENT_KEY, -1);
+                        if (notificationId == -1) {
+                            return;
+                        }
+                        notificationIds = new int[] { notificationId };
+                    }
+                    notifyDismissed(notificationIds);
+                    Metrics.stop(
+                        Metrics.Timer.DISMISS_DISPATCH,
+                        intent.getLongExtra(LocalNotificationManager.DISPATCH_START_INTENT_KEY, Metrics.NOT_STARTED)
+                    );
+                } finally {
+                    Tracing.end();
                 }
-
-                JSObject data = new JSObject();
-                data.put("notificationId", notificationId);
-                notifyListeners("localNotificationDismissed", data, true);
             }
         };
 
@@ -91,17 +139,210 @@ public class LocalNotificationsPlugin extends Plugin {
         } else {
             getContext().registerReceiver(dismissReceiver, filter);
         }
+        dismissReceiverRegistered = true;
+    }
+
+    /**
+     * Whether a loaded plugin listens to the dismiss broadcast
+     */
+    static boolean isDismissReceiverRegistered() {
+        return dismissReceiverRegistered;
+    }
+
+    /**
+     * Report dismissed notifications with one batch event, and one event per notification to the
+     * listeners of single dismissals
+     */
+    private void notifyDismissed(int[] notificationIds) {
+        manager.endLiveNotifications(notificationIds);
+        if (!retainUnlessListening("localNotificationsDismissedBatch", notificationIds)) {
+            JSArray ids = new JSArray();
+            for (int notificationId : notificationIds) {
+                ids.put(notificationId);
+            }
+            JSObject batch = new JSObject();
+            batch.put("notificationIds", ids);
+            notifyListeners("localNotificationsDismissedBatch", batch, false);
+        }
+
+        // Skipped when the app only listens to batches, each event is a bridge crossing
+        if (hasListeners("localNotificationDismissed") || !hasListeners("localNotificationsDismissedBatch")) {
+            for (int notificationId : notificationIds) {
+                JSObject data = new JSObject();
+                data.put("notificationId", notificationId);
+                emit("localNotificationDismissed", data, notificationId);
+            }
+        }
+    }
+
+    /**
+     * Report a snoozed notification, retained per notification until JavaScript listens and then
+     * delivered with the other snoozed notifications in one event
+     */
+    private void notifySnoozed(JSObject snoozed) {
+        if (!retainUnlessListening("localNotificationsSnoozed", snoozed.getInteger("id"), () -> snoozed)) {
+            notifyListeners("localNotificationsSnoozed", snoozedBatch(Collections.singletonList(snoozed)), false);
+        }
+    }
+
+    private static JSObject snoozedBatch(List<JSObject> snoozed) {
+        JSArray notifications = new JSArray();
+        for (JSObject notification : snoozed) {
+            notifications.put(notification);
+        }
+        JSObject batch = new JSObject();
+        batch.put("notifications", notifications);
+        return batch;
+    }
+
+    /**
+     * Send an event to the JavaScript listeners, or retain it until there is one with only the
+     * latest event per notification kept
+     *
+     * @param notificationId - notification the event is about, null to never coalesce the event
+     */
+    private void emit(String eventName, JSObject data, Integer notificationId) {
+        emit(eventName, () -> data, notificationId);
+    }
+
+    /**
+     * @param data - built only when the event is sent
+     */
+    private void emit(String eventName, Supplier<JSObject> data, Integer notificationId) {
+        if (retainUnlessListening(eventName, notificationId, data)) {
+            return;
+        }
+        JSObject built = data.get();
+        if (built != null) {
+            notifyListeners(eventName, built, false);
+        }
+    }
+
+    /**
+     * Retain the event if JavaScript doesn't listen to it. Checked under the same lock that
+     * {@link #addListener} registers the listener and takes the retained events with, so an event
+     * is either sent or retained for the new listener, never retained after it took the others.
+     *
+     * @return whether the event was retained
+     */
+    private boolean retainUnlessListening(String eventName, Integer notificationId, Supplier<JSObject> data) {
+        synchronized (retainedEvents) {
+            if (hasListeners(eventName)) {
+                return false;
+            }
+            retainedEvents.retain(eventName, notificationId, data);
+            return true;
+        }
+    }
+
+    /**
+     * Retain one dismissal per notification, merged into one batch when a listener is added
+     */
+    private boolean retainUnlessListening(String eventName, int[] notificationIds) {
+        synchronized (retainedEvents) {
+            if (hasListeners(eventName)) {
+                return false;
+            }
+            for (int notificationId : notificationIds) {
+                JSObject data = new JSObject().put("notificationId", notificationId);
+                retainedEvents.retain(eventName, notificationId, () -> data);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Deliver the retained events of the event type once JavaScript listens to it
+     */
+    @Override
+    @PluginMethod(returnType = PluginMethod.RETURN_NONE)
+    public void addListener(PluginCall call) {
+        String eventName = call.getString("eventName");
+        List<JSObject> retained;
+        synchronized (retainedEvents) {
+            super.addListener(call);
+            retained = retainedEvents.take(eventName);
+        }
+        deliverOutbox(eventName);
+        if (retained.isEmpty()) {
+            return;
+        }
+        if ("localNotificationsDismissedBatch".equals(eventName)) {
+            JSArray ids = new JSArray();
+            for (JSObject dismissed : retained) {
+                ids.put(dismissed.getInteger("notificationId"));
+            }
+            JSObject batch = new JSObject();
+            batch.put("notificationIds", ids);
+            notifyListeners(eventName, batch, false);
+            return;
+        }
+        if ("localNotificationsSnoozed".equals(eventName)) {
+            notifyListeners(eventName, snoozedBatch(retained), false);
+            return;
+        }
+        for (JSObject data : retained) {
+            notifyListeners(eventName, data, false);
+        }
+    }
+
+    /**
+     * Deliver the events fired while no plugin was loaded to the listener just added, removing
+     * them from the outbox only then. Dismissals are stored as batches and delivered to either
+     * kind of dismissal listener, snoozed notifications go in one event.
+     */
+    private void deliverOutbox(String eventName) {
+        boolean dismissal = "localNotificationsDismissedBatch".equals(eventName) || "localNotificationDismissed".equals(eventName);
+        List<EventOutbox.Event> events = new EventOutbox(getContext()).take(dismissal ? "localNotificationsDismissedBatch" : eventName);
+        if (events.isEmpty()) {
+            return;
+        }
+        Logger.debug(Logger.tags("LN"), "Delivering " + events.size() + " " + eventName + " events from the outbox");
+        if (dismissal) {
+            List<Integer> notificationIds = new ArrayList<>();
+            for (EventOutbox.Event event : events) {
+                JSONArray ids = event.data.optJSONArray("notificationIds");
+                for (int i = 0; ids != null && i < ids.length(); i++) {
+                    notificationIds.add(ids.optInt(i));
+                }
+            }
+            int[] dismissed = new int[notificationIds.size()];
+            for (int i = 0; i < dismissed.length; i++) {
+                dismissed[i] = notificationIds.get(i);
+            }
+            notifyDismissed(dismissed);
+            return;
+        }
+        if ("localNotificationsSnoozed".equals(eventName)) {
+            List<JSObject> snoozed = new ArrayList<>(events.size());
+            for (EventOutbox.Event event : events) {
+                snoozed.add(event.data);
+            }
+            notifyListeners(eventName, snoozedBatch(snoozed), false);
+            return;
+        }
+        for (EventOutbox.Event event : events) {
+            // Received notifications are outboxed as stored
+            JSObject data = "localNotificationReceived".equals(eventName) ? LocalNotification.toJSPayload(event.data) : event.data;
+            notifyListeners(eventName, data, false);
+        }
     }
 
     @Override
     protected void handleOnDestroy() {
         super.handleOnDestroy();
+        // Events fired from now on go to the outbox
+        if (staticBridge == this.bridge) {
+            staticBridge = null;
+        }
         if (dismissReceiver != null) {
+            dismissReceiverRegistered = false;
             try {
                 getContext().unregisterReceiver(dismissReceiver);
             } catch (IllegalArgumentException ignored) {}
             dismissReceiver = null;
         }
+        manager.releaseLiveNotifications();
     }
 
     @Override
@@ -110,9 +351,10 @@ public class LocalNotificationsPlugin extends Plugin {
         if (!Intent.ACTION_MAIN.equals(data.getAction())) {
             return;
         }
-        JSObject dataJson = manager.handleNotificationActionPerformed(data, notificationStorage);
+        // Notifications tapped from a snapshot are removed from storage off the main thread
+        JSObject dataJson = manager.handleNotificationActionPerformed(data, notificationStorage, bridge::execute);
         if (dataJson != null) {
-            notifyListeners("localNotificationActionPerformed", dataJson, true);
+            emit("localNotificationActionPerformed", dataJson, null);
         }
     }
 
@@ -122,13 +364,22 @@ public class LocalNotificationsPlugin extends Plugin {
      */
     @PluginMethod
     public void schedule(PluginCall call) {
-        List<LocalNotification> localNotifications = LocalNotification.buildNotificationList(call, gson);
+        long start = Metrics.start();
+        List<LocalNotification> localNotifications;
+        Tracing.begin(Tracing.SECTION_BUILD_NOTIFICATION_LIST);
+        try {
+            localNotifications = LocalNotification.buildNotificationList(call, gson, notificationStorage);
+        } finally {
+            Tracing.end();
+        }
         if (localNotifications == null) {
             return;
         }
-        JSONArray ids = manager.schedule(call, localNotifications);
+        JSONArray ids = manager.schedule(call, localNotifications, getScheduledConversations(localNotifications));
         if (ids != null) {
             notificationStorage.appendNotifications(localNotifications);
+            appendScheduledMessages(localNotifications);
+            Metrics.add(Metrics.Counter.NOTIFICATIONS_SCHEDULED, ids.length());
             JSObject result = new JSObject();
             JSArray jsArray = new JSArray();
             for (int i = 0; i < ids.length(); i++) {
@@ -140,6 +391,40 @@ public class LocalNotificationsPlugin extends Plugin {
             result.put("notifications", jsArray);
             call.resolve(result);
         }
+        Metrics.stop(Metrics.Timer.SCHEDULE, start);
+    }
+
+    /**
+     * Conversations of the scheduled notifications with their messages added, to build them with
+     * before the messages are stored
+     */
+    private Map<Integer, List<LocalNotificationMessage>> getScheduledConversations(List<LocalNotification> localNotifications) {
+        Map<Integer, List<LocalNotificationMessage>> conversations = new HashMap<>();
+        long now = System.currentTimeMillis();
+        for (LocalNotification localNotification : localNotifications) {
+            List<LocalNotificationMessage> messages = localNotification.getMessages();
+            if (messages == null || localNotification.getId() == null) {
+                continue;
+            }
+            for (LocalNotificationMessage message : messages) {
+                if (message.getTimestamp() == 0) {
+                    message.setTimestamp(now);
+                }
+            }
+            conversations.put(localNotification.getId(), notificationStorage.getMessagesWith(localNotification.getId(), messages));
+        }
+        return conversations;
+    }
+
+    /**
+     * Add the messages of scheduled conversations to their history, once they are scheduled
+     */
+    private void appendScheduledMessages(List<LocalNotification> localNotifications) {
+        for (LocalNotification localNotification : localNotifications) {
+            if (localNotification.getMessages() != null) {
+                notificationStorage.appendMessages(localNotification.getId(), localNotification.getMessages());
+            }
+        }
     }
 
     @PluginMethod
@@ -147,11 +432,140 @@ public class LocalNotificationsPlugin extends Plugin {
         manager.cancel(call);
     }
 
+    /**
+     * Change the title, body or progress of a notification posted right away, e.g. the progress
+     * of a download, without rebuilding it
+     */
+    @PluginMethod
+    public void update(PluginCall call) {
+        Integer id = call.getInt("id");
+        if (id == null) {
+            call.reject("Must provide a notification id");
+            return;
+        }
+        if (!manager.update(id, call.getData())) {
+            call.reject("Notification " + id + " is not live, only notifications shown right away can be updated");
+            return;
+        }
+        call.resolve();
+    }
+
+    /**
+     * Add a message to a conversation notification shown right away, sending only that message
+     * over the bridge
+     */
+    @PluginMethod
+    public void appendMessage(PluginCall call) {
+        Integer id = call.getInt("id");
+        JSObject data = call.getObject("message");
+        if (id == null || data == null || data.getString("text") == null) {
+            call.reject("Must provide a notification id and a message with text");
+            return;
+        }
+        LocalNotificationMessage message = new LocalNotificationMessage();
+        message.setText(data.getString("text"));
+        message.setSender(data.getString("sender"));
+        message.setTimestamp(data.optLong("timestamp", System.currentTimeMillis()));
+        if (!manager.appendMessage(id, message)) {
+            call.reject("Notification " + id + " is not a live conversation, schedule it again with its new messages");
+            return;
+        }
+        call.resolve();
+    }
+
     @PluginMethod
     public void getPending(PluginCall call) {
+        long start = Metrics.start();
         List<LocalNotification> notifications = notificationStorage.getSavedNotifications();
         JSObject result = LocalNotification.buildLocalNotificationPendingList(notifications);
         call.resolve(result);
+        Metrics.stop(Metrics.Timer.GET_PENDING, start);
+    }
+
+    /**
+     * Expand the schedules of pending notifications into their fire times within a time range,
+     * merged in time order
+     */
+    @PluginMethod
+    public void getUpcomingOccurrences(PluginCall call) {
+        Long to = call.getLong("to");
+        if (to == null) {
+            call.reject("Must provide a to time");
+            return;
+        }
+        long from = call.getLong("from", System.currentTimeMillis());
+        int limit = call.getInt("limit", DEFAULT_OCCURRENCE_LIMIT);
+        JSArray ids = call.getArray("ids");
+
+        List<LocalNotification> notifications = notificationStorage.getSavedNotifications();
+        if (ids != null) {
+            Set<Integer> wanted = new HashSet<>();
+            for (int i = 0; i < ids.length(); i++) {
+                wanted.add(ids.optInt(i));
+            }
+            List<LocalNotification> filtered = new ArrayList<>();
+            for (LocalNotification notification : notifications) {
+                if (wanted.contains(notification.getId())) {
+                    filtered.add(notification);
+                }
+            }
+            notifications = filtered;
+        }
+
+        JSArray occurrences = new JSArray();
+        OccurrenceIterator iterator = new OccurrenceIterator(notifications, from, to);
+        while (iterator.hasNext() && occurrences.length() < limit) {
+            OccurrenceIterator.Occurrence occurrence = iterator.next();
+            JSObject jsOccurrence = new JSObject();
+            jsOccurrence.put("id", occurrence.getNotification().getId());
+            jsOccurrence.put("time", occurrence.getTime());
+            jsOccurrence.put("title", occurrence.getNotification().getTitle());
+            jsOccurrence.put("body", occurrence.getNotification().getBody());
+            occurrences.put(jsOccurrence);
+        }
+        JSObject result = new JSObject();
+        result.put("occurrences", occurrences);
+        call.resolve(result);
+    }
+
+    /**
+     * Histograms of how late scheduled notifications were delivered, per schedule kind and alarm mode
+     */
+    @PluginMethod
+    public void getDeliveryStats(PluginCall call) {
+        call.resolve(new DeliveryStats(getContext()).toJSObject());
+    }
+
+    /**
+     * Latency histograms and counters of the plugin operations, see the metrics config option
+     */
+    @PluginMethod
+    public void getMetrics(PluginCall call) {
+        call.resolve(Metrics.toJSObject());
+    }
+
+    @PluginMethod
+    public void resetMetrics(PluginCall call) {
+        Metrics.reset();
+        call.resolve();
+    }
+
+    /**
+     * Spans recorded by the in-memory tracer, see the tracer config option
+     */
+    @PluginMethod
+    public void dumpTrace(PluginCall call) {
+        Tracer tracer = Tracing.getTracer();
+        if (!(tracer instanceof RingBufferTracer)) {
+            call.reject("The in-memory tracer is not enabled");
+            return;
+        }
+        RingBufferTracer ringBufferTracer = (RingBufferTracer) tracer;
+        JSObject result = ringBufferTracer.toJSObject();
+        if (call.getBoolean("clear", false)) {
+            ringBufferTracer.clear();
+        }
+        call.resolve(result);
     }
 
     @PluginMethod
@@ -162,6 +576,28 @@ public class LocalNotificationsPlugin extends Plugin {
         call.resolve();
     }
 
+    /**
+     * Register the fields shared by many notifications, scheduled afterwards with entries that
+     * only carry a templateId, id, schedule, extra and vars
+     */
+    @PluginMethod
+    public void registerTemplate(PluginCall call) {
+        String id = call.getString("id");
+        JSObject notification = call.getObject("notification");
+        if (id == null || notification == null) {
+            call.reject("Must provide a template id and notification");
+            return;
+        }
+        notification.remove("id");
+        NotificationTemplate template = NotificationTemplate.parse(notification.toString());
+        if (template == null) {
+            call.reject("Invalid notification template");
+            return;
+        }
+        notificationStorage.writeTemplate(id, template);
+        call.resolve();
+    }
+
     @PluginMethod
     public void areEnabled(PluginCall call) {
         JSObject data = new JSObject();
@@ -332,8 +768,89 @@ public class LocalNotificationsPlugin extends Plugin {
     public static void fireReceived(JSObject notification) {
         LocalNotificationsPlugin localNotificationsPlugin = LocalNotificationsPlugin.getLocalNotificationsInstance();
         if (localNotificationsPlugin != null) {
-            localNotificationsPlugin.notifyListeners("localNotificationReceived", notification, true);
+            localNotificationsPlugin.emit("localNotificationReceived", notification, notification != null ? notification.getInteger("id") : null);
+        }
+    }
+
+    /**
+     * Report a received notification, keeping it in the outbox for the next plugin to load when
+     * none is loaded. The notification is only parsed if the event reaches a listener.
+     *
+     * @param notificationJson - the notification as stored
+     */
+    static void fireReceived(Context context, int notificationId, Supplier<String> notificationJson) {
+        fireReceived(context, notificationId, new LazyPayload(notificationJson));
+    }
+
+    /**
+     * @param notification - the notification, its JSON read when the event reaches a listener
+     */
+    static void fireReceived(Context context, int notificationId, LazyPayload notification) {
+        LocalNotificationsPlugin localNotificationsPlugin = LocalNotificationsPlugin.getLocalNotificationsInstance();
+        if (localNotificationsPlugin != null) {
+            localNotificationsPlugin.emit("localNotificationReceived", notification, notificationId);
+            return;
+        }
+        String json = notification.getJson();
+        if (json != null) {
+            // Counted by the outbox appends, the JSON is kept for a listener
+            new EventOutbox(context).append("localNotificationReceived", json);
+        }
+    }
+
+    /**
+     * Report an action performed without launching the activity, keeping it in the outbox for the
+     * next plugin to load when none is loaded
+     */
+    static void fireActionPerformed(Context context, JSObject data) {
+        LocalNotificationsPlugin localNotificationsPlugin = LocalNotificationsPlugin.getLocalNotificationsInstance();
+        if (localNotificationsPlugin != null) {
+            localNotificationsPlugin.emit("localNotificationActionPerformed", data, null);
+        } else {
+            new EventOutbox(context).append("localNotificationActionPerformed", data);
+        }
+    }
+
+    /**
+     * Report a notification snoozed without launching the activity, keeping it in the outbox for
+     * the next plugin to load when none is loaded
+     *
+     * @param snoozed - id, actionId and new trigger time of the notification
+     */
+    static void fireSnoozed(Context context, JSObject snoozed) {
+        LocalNotificationsPlugin localNotificationsPlugin = LocalNotificationsPlugin.getLocalNotificationsInstance();
+        if (localNotificationsPlugin != null) {
+            localNotificationsPlugin.notifySnoozed(snoozed);
+        } else {
+            new EventOutbox(context).append("localNotificationsSnoozed", snoozed);
+        }
+    }
+
+    /**
+     * Stop in-place updates of a notification acted upon without launching the activity
+     */
+    static void endLiveNotification(int notificationId) {
+        LocalNotificationsPlugin localNotificationsPlugin = LocalNotificationsPlugin.getLocalNotificationsInstance();
+        if (localNotificationsPlugin != null) {
+            localNotificationsPlugin.manager.endLiveNotifications(notificationId);
+        }
+    }
+
+    /**
+     * Report dismissed notifications to the plugin loaded in this process, skipping the broadcast
+     * round trip
+     *
+     * @param dispatchStart - value of {@link Metrics#start()} when the dismissals were dispatched
+     * @return false when the plugin is not loaded
+     */
+    static boolean fireDismissed(int[] notificationIds, long dispatchStart) {
+        LocalNotificationsPlugin localNotificationsPlugin = LocalNotificationsPlugin.getLocalNotificationsInstance();
+        if (localNotificationsPlugin == null) {
+            return false;
         }
+        localNotificationsPlugin.notifyDismissed(notificationIds);
+        Metrics.stop(Metrics.Timer.DISMISS_DISPATCH, dispatchStart);
+        return true;
     }
 
     public static LocalNotificationsPlugin getLocalNotificationsInstance() {
@@ -0,0 +1,178 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Process wide latency histograms and counters for the plugin's hot paths.
+ *
+ * Disabled by default. While disabled {@link #start()} returns without reading the clock and the
+ * other recording methods return after a single volatile read, so the call sites can stay in place.
+ *
+ * <pre>
+ * long start = Metrics.start();
+ * doWork();
+ * Metrics.stop(Metrics.Timer.SCHEDULE, start);
+ * </pre>
+ */
+public final class Metrics {
+
+    public enum Timer {
+        SCHEDULE("schedule"),
+        CANCEL("cancel"),
+        GET_PENDING("getPending"),
+        STORAGE_READ("storageRead"),
+        STORAGE_WRITE("storageWrite"),
+        PARSE("parse"),
+        BUILD_NOTIFICATION("buildNotification"),
+        DISMISS_DISPATCH("dismissDispatch");
+
+        private final String name;
+
+        Timer(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public enum Counter {
+        NOTIFICATIONS_SCHEDULED("notificationsScheduled"),
+        NOTIFICATIONS_CANCELLED("notificationsCancelled"),
+        PARSE_ERRORS("parseErrors"),
+        STORAGE_MIGRATIONS("storageMigrations"),
+        DISMISS_BROADCASTS("dismissBroadcasts"),
+        OUTBOX_APPENDS("outboxAppends"),
+        OUTBOX_EVICTIONS("outboxEvictions"),
+        EVENTS_COALESCED("eventsCoalesced"),
+        EVENTS_EVICTED("eventsEvicted"),
+        PAYLOADS_BUILT("payloadsBuilt"),
+        PAYLOADS_SKIPPED("payloadsSkipped"),
+        LIVE_UPDATES("liveUpdates"),
+        LIVE_POSTS("livePosts");
+
+        private final String name;
+
+        Counter(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /** Value returned by {@link #start()} while disabled */
+    public static final long NOT_STARTED = Long.MIN_VALUE;
+
+    /** Bucket upper bounds in microseconds, from 50 microseconds to 1 second */
+    static final long[] LATENCY_BOUNDS_US = {
+        50L,
+        100L,
+        250L,
+        500L,
+        1_000L,
+        2_500L,
+        5_000L,
+        10_000L,
+        25_000L,
+        50_000L,
+        100_000L,
+        250_000L,
+        1_000_000L
+    };
+
+    private static volatile boolean enabled = false;
+
+    private static final Histogram[] timers = new Histogram[Timer.values().length];
+    private static final AtomicLongArray counters = new AtomicLongArray(Counter.values().length);
+
+    static {
+        for (int i = 0; i < timers.length; i++) {
+            timers[i] = new Histogram(LATENCY_BOUNDS_US);
+        }
+    }
+
+    private Metrics() {}
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    /**
+     * Start timing an operation
+     *
+     * @return the start time to pass to {@link #stop(Timer, long)}, {@link #NOT_STARTED} when disabled
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : NOT_STARTED;
+    }
+
+    /**
+     * Record the time elapsed since {@link #start()}
+     */
+    public static void stop(Timer timer, long start) {
+        if (start != NOT_STARTED) {
+            timers[timer.ordinal()].record((System.nanoTime() - start) / 1000);
+        }
+    }
+
+    public static void increment(Counter counter) {
+        add(counter, 1);
+    }
+
+    public static void add(Counter counter, long delta) {
+        if (enabled) {
+            counters.addAndGet(counter.ordinal(), delta);
+        }
+    }
+
+    static Histogram getTimer(Timer timer) {
+        return timers[timer.ordinal()];
+    }
+
+    static long getCounter(Counter counter) {
+        return counters.get(counter.ordinal());
+    }
+
+    public static void reset() {
+        for (Histogram timer : timers) {
+            timer.reset();
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    /**
+     * Snapshot of the metrics as returned to JavaScript
+     */
+    public static JSObject toJSObject() {
+        JSArray jsTimers = new JSArray();
+        for (Timer timer : Timer.values()) {
+            JSObject jsTimer = new JSObject();
+            jsTimer.put("name", timer.getName());
+            DeliveryStats.putHistogram(jsTimer, timers[timer.ordinal()], "Us");
+            jsTimers.put(jsTimer);
+        }
+        JSArray jsCounters = new JSArray();
+        for (Counter counter : Counter.values()) {
+            JSObject jsCounter = new JSObject();
+            jsCounter.put("name", counter.getName());
+            jsCounter.put("value", counters.get(counter.ordinal()));
+            jsCounters.put(jsCounter);
+        }
+        JSObject result = new JSObject();
+        result.put("enabled", enabled);
+        result.put("timers", jsTimers);
+        result.put("counters", jsCounters);
+        return result;
+    }
+}
@@ -17,6 +17,8 @@ public class NotificationAction {
     private String id;
     private String title;
     private Boolean input;
+    private Boolean foreground;
+    private Integer snoozeMinutes;
 
     public NotificationAction() {}
 
@@ -26,6 +28,12 @@ public class NotificationAction {
         this.input = input;
     }
 
+    public NotificationAction(String id, String title, Boolean input, Boolean foreground, Integer snoozeMinutes) {
+        this(id, title, input);
+        this.foreground = foreground;
+        this.snoozeMinutes = snoozeMinutes;
+    }
+
     public static Map<String, NotificationAction[]> buildTypes(JSArray types) {
         Map<String, NotificationAction[]> actionTypeMap = new HashMap<>();
         try {
@@ -45,6 +53,8 @@ public class NotificationAction {
                         notificationAction.setId(action.getString("id"));
                         notificationAction.setTitle(action.getString("title"));
                         notificationAction.setInput(action.getBool("input"));
+                        notificationAction.setForeground(action.getBool("foreground"));
+                        notificationAction.setSnoozeMinutes(action.getInteger("snoozeMinutes"));
                         typesArray[i] = notificationAction;
                     }
                     actionTypeMap.put(actionGroupId, typesArray);
@@ -79,4 +89,27 @@ public class NotificationAction {
     public void setInput(Boolean input) {
         this.input = input;
     }
+
+    /**
+     * Whether the action launches the app, only an explicit {@code foreground: false} is handled
+     * in the background
+     */
+    public boolean isForeground() {
+        return !Boolean.FALSE.equals(foreground);
+    }
+
+    public void setForeground(Boolean foreground) {
+        this.foreground = foreground;
+    }
+
+    /**
+     * Minutes the action snoozes the notification for, null when it is not a snooze action
+     */
+    public Integer getSnoozeMinutes() {
+        return snoozeMinutes != null && snoozeMinutes > 0 ? snoozeMinutes : null;
+    }
+
+    public void setSnoozeMinutes(Integer snoozeMinutes) {
+        this.snoozeMinutes = snoozeMinutes;
+    }
 }
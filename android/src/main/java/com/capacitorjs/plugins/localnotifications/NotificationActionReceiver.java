@@ -0,0 +1,63 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import com.getcapacitor.CapConfig;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Logger;
+
+/**
+ * Receiver called when the user performs an action registered with {@code foreground: false} or
+ * {@code snoozeMinutes}, handling it without launching the activity
+ */
+public class NotificationActionReceiver extends BroadcastReceiver {
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        Tracing.begin(Tracing.SECTION_ACTION_RECEIVE);
+        try {
+            if (intent.hasExtra(LocalNotificationManager.SNOOZE_INTENT_KEY)) {
+                snooze(context, intent);
+                return;
+            }
+            NotificationStorage storage = new NotificationStorage(context);
+            JSObject data = LocalNotificationManager.handleActionPerformed(intent, storage, Platform.getGateway(context), Runnable::run);
+            if (data == null) {
+                Logger.error(Logger.tags("LN"), "Invalid notification action operation", null);
+                return;
+            }
+            LocalNotificationsPlugin.endLiveNotification(intent.getIntExtra(LocalNotificationManager.NOTIFICATION_INTENT_KEY, 0));
+            LocalNotificationsPlugin.fireActionPerformed(context, data);
+        } finally {
+            Tracing.end();
+        }
+    }
+
+    /**
+     * Re-arm the notification, JavaScript only hears about it afterwards
+     */
+    private void snooze(Context context, Intent intent) {
+        int notificationId = intent.getIntExtra(LocalNotificationManager.NOTIFICATION_INTENT_KEY, Integer.MIN_VALUE);
+        if (notificationId == Integer.MIN_VALUE) {
+            Logger.error(Logger.tags("LN"), "Invalid notification snooze operation", null);
+            return;
+        }
+        long delay = intent.getLongExtra(LocalNotificationManager.SNOOZE_INTENT_KEY, 0);
+        String snapshot = intent.getStringExtra(LocalNotificationManager.NOTIFICATION_SNAPSHOT_INTENT_KEY);
+        NotificationStorage storage = new NotificationStorage(context);
+        LocalNotificationManager manager = new LocalNotificationManager(storage, null, context, CapConfig.loadDefault(context));
+        Long at = manager.snooze(notificationId, snapshot, delay);
+        LocalNotificationsPlugin.endLiveNotification(notificationId);
+        if (at == null) {
+            // Dismissed like any other action
+            Platform.getGateway(context).cancelNotification(notificationId);
+            return;
+        }
+        JSObject snoozed = new JSObject();
+        snoozed.put("id", notificationId);
+        snoozed.put("actionId", intent.getStringExtra(LocalNotificationManager.ACTION_INTENT_KEY));
+        snoozed.put("at", (long) at);
+        LocalNotificationsPlugin.fireSnoozed(context, snoozed);
+    }
+}
@@ -17,16 +17,16 @@ import java.util.List;
 public class NotificationChannelManager {
 
     private Context context;
-    private NotificationManager notificationManager;
+    private PlatformGateway platform;
 
     public NotificationChannelManager(Context context) {
         this.context = context;
-        this.notificationManager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+        this.platform = Platform.getGateway(context);
     }
 
     public NotificationChannelManager(Context context, NotificationManager manager) {
         this.context = context;
-        this.notificationManager = manager;
+        this.platform = new AndroidPlatformGateway(context, manager);
     }
 
     private static String CHANNEL_ID = "id";
@@ -100,14 +100,14 @@ public class NotificationChannelManager {
                 Uri soundUri = Uri.parse(ContentResolver.SCHEME_ANDROID_RESOURCE + "://" + context.getPackageName() + "/raw/" + sound);
                 notificationChannel.setSound(soundUri, audioAttributes);
             }
-            notificationManager.createNotificationChannel(notificationChannel);
+            platform.createNotificationChannel(notificationChannel);
         }
     }
 
     public void deleteChannel(PluginCall call) {
         if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.O) {
             String channelId = call.getString("id");
-            notificationManager.deleteNotificationChannel(channelId);
+            platform.deleteNotificationChannel(channelId);
             call.resolve();
         } else {
             call.unavailable();
@@ -116,7 +116,7 @@ public class NotificationChannelManager {
 
     public void listChannels(PluginCall call) {
         if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.O) {
-            List<NotificationChannel> notificationChannels = notificationManager.getNotificationChannels();
+            List<NotificationChannel> notificationChannels = platform.getNotificationChannels();
             JSArray channels = new JSArray();
             for (NotificationChannel notificationChannel : notificationChannels) {
                 JSObject channel = new JSObject();
@@ -12,21 +12,20 @@ public class NotificationDismissReceiver extends BroadcastReceiver {
 
     @Override
     public void onReceive(Context context, Intent intent) {
-        int intExtra = intent.getIntExtra(LocalNotificationManager.NOTIFICATION_INTENT_KEY, Integer.MIN_VALUE);
-        if (intExtra == Integer.MIN_VALUE) {
-            Logger.error(Logger.tags("LN"), "Invalid notification dismiss operation", null);
-            return;
-        }
-        boolean isRemovable = intent.getBooleanExtra(LocalNotificationManager.NOTIFICATION_IS_REMOVABLE_KEY, true);
-        if (isRemovable) {
-            NotificationStorage notificationStorage = new NotificationStorage(context);
-            notificationStorage.deleteNotification(Integer.toString(intExtra));
-
-            Intent broadcastIntent = new Intent(LocalNotificationManager.NOTIFICATION_DISMISSED_ACTION);
-            broadcastIntent.putExtra(LocalNotificationManager.NOTIFICATION_INTENT_KEY, intExtra);
-            broadcastIntent.setPackage(context.getPackageName());
-            context.sendBroadcast(broadcastIntent);
-            Logger.debug(Logger.tags("LN"), "Notification dismissed broadcast sent: " + intExtra);
+        Tracing.begin(Tracing.SECTION_DISMISS_RECEIVE);
+        try {
+            int intExtra = intent.getIntExtra(LocalNotificationManager.NOTIFICATION_INTENT_KEY, Integer.MIN_VALUE);
+            if (intExtra == Integer.MIN_VALUE) {
+                Logger.error(Logger.tags("LN"), "Invalid notification dismiss operation", null);
+                return;
+            }
+            boolean isRemovable = intent.getBooleanExtra(LocalNotificationManager.NOTIFICATION_IS_REMOVABLE_KEY, true);
+            if (isRemovable) {
+                // Removed from storage and reported with the other notifications dismissed at the same time
+                DismissBatcher.add(context, intExtra, goAsync());
+            }
+        } finally {
+            Tracing.end();
         }
     }
 }
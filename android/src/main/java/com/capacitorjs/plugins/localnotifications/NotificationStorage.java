@@ -4,10 +4,14 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import com.getcapacitor.JSObject;
 import com.getcapacitor.Logger;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -24,8 +28,45 @@ public class NotificationStorage {
     // Key used to save action types
     private static final String ACTION_TYPES_ID = "ACTION_TYPE_STORE";
 
+    // Key for the ids of stored notifications by schedule kind
+    private static final String SCHEDULE_INDEX_ID = "NOTIFICATION_SCHEDULE_INDEX";
+
+    private static final String SCHEDULE_INDEX_BUILT_KEY = "built";
+
+    // Key for the latest messages of each conversation
+    private static final String MESSAGES_ID = "NOTIFICATION_MESSAGES";
+
+    /** Messages kept per conversation, as many as MessagingStyle keeps */
+    static final int MAX_MESSAGES = 25;
+
+    // Conversations kept in memory at most
+    private static final int MAX_CACHED_CONVERSATIONS = 32;
+
+    // Key for the registered notification templates
+    private static final String TEMPLATES_ID = "NOTIFICATION_TEMPLATES";
+
+    // Schedule kinds kept in the index, the ones recomputed on time and time zone changes
+    private static final String[] INDEXED_KINDS = {
+        LocalNotificationSchedule.KIND_REPEATING_AT,
+        LocalNotificationSchedule.KIND_EVERY_CALENDAR,
+        LocalNotificationSchedule.KIND_ON
+    };
+
+    // Parsed templates by id, shared by every instance of the process
+    private static final Map<String, NotificationTemplate> templates = new HashMap<>();
+
     private Context context;
-    private final Gson gson = new GsonBuilder().setDateFormat(LocalNotificationSchedule.JS_DATE_FORMAT).create();
+    private static final RecordCodec<LocalNotification> CODEC = new RecordCodec<>(LocalNotification.class);
+    private static final RecordCodec<LocalNotificationMessage[]> MESSAGES_CODEC = new RecordCodec<>(LocalNotificationMessage[].class);
+
+    // Conversations recently read or appended to, shared by every instance of the process so the
+    // removals made by receivers are seen by the plugin. Also the lock of the messages store.
+    private static final Map<Integer, ArrayDeque<LocalNotificationMessage>> conversations = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, ArrayDeque<LocalNotificationMessage>> eldest) {
+            return size() > MAX_CACHED_CONVERSATIONS;
+        }
+    };
 
     public NotificationStorage(Context context) {
         this.context = context;
@@ -35,16 +76,68 @@ public class NotificationStorage {
      * Persist the id of currently scheduled notification
      */
     public void appendNotifications(List<LocalNotification> localNotifications) {
-        SharedPreferences storage = getStorage(NOTIFICATION_STORE_ID);
-        SharedPreferences.Editor editor = storage.edit();
-        for (LocalNotification request : localNotifications) {
-            if (request.isScheduled()) {
-                String key = request.getId().toString();
-                String value = gson.toJson(request);
-                editor.putString(key, value);
+        Tracing.begin(Tracing.SECTION_STORAGE_APPEND);
+        try {
+            long start = Metrics.start();
+            SharedPreferences storage = getStorage(NOTIFICATION_STORE_ID);
+            SharedPreferences.Editor editor = storage.edit();
+            ScheduleIndex index = new ScheduleIndex();
+            for (LocalNotification request : localNotifications) {
+                if (request.isScheduled()) {
+                    String key = request.getId().toString();
+                    String value = CODEC.encode(request);
+                    editor.putString(key, value);
+                    index.put(key, request.getSchedule().getKind());
+                }
+            }
+            editor.apply();
+            index.apply();
+            Metrics.stop(Metrics.Timer.STORAGE_WRITE, start);
+        } finally {
+            Tracing.end();
+        }
+    }
+
+    /**
+     * Ids of the stored notifications whose trigger depends on local time, see
+     * {@link LocalNotificationSchedule#isLocalTimeKind(String)}
+     */
+    public Set<String> getLocalTimeNotificationIds() {
+        Tracing.begin(Tracing.SECTION_STORAGE_LOCAL_TIME_IDS);
+        try {
+            SharedPreferences index = getStorage(SCHEDULE_INDEX_ID);
+            migrateSavedNotifications(index);
+            Set<String> ids = new HashSet<>();
+            for (String kind : INDEXED_KINDS) {
+                Set<String> kindIds = index.getStringSet(kind, null);
+                if (kindIds != null) {
+                    ids.addAll(kindIds);
+                }
             }
+            return ids;
+        } finally {
+            Tracing.end();
+        }
+    }
+
+    /**
+     * Re-save the notifications stored by older versions, once. Run from a background thread when
+     * the plugin loads, the schedule index falls back to it when the plugin was not loaded since
+     * the upgrade.
+     */
+    public void migrateSavedNotifications() {
+        migrateSavedNotifications(getStorage(SCHEDULE_INDEX_ID));
+    }
+
+    /**
+     * Notifications stored by older versions are neither indexed nor in the current format,
+     * re-save them all once. Every notification stored afterwards is encoded by {@link #CODEC}.
+     */
+    private void migrateSavedNotifications(SharedPreferences index) {
+        if (!index.getBoolean(SCHEDULE_INDEX_BUILT_KEY, false)) {
+            appendNotifications(getSavedNotifications());
+            index.edit().putBoolean(SCHEDULE_INDEX_BUILT_KEY, true).apply();
         }
-        editor.apply();
     }
 
     public List<String> getSavedNotificationIds() {
@@ -57,39 +150,40 @@ public class NotificationStorage {
     }
 
     public List<LocalNotification> getSavedNotifications() {
+        Tracing.begin(Tracing.SECTION_STORAGE_READ_ALL);
+        long start = Metrics.start();
+        try {
+            return readSavedNotifications();
+        } finally {
+            Metrics.stop(Metrics.Timer.STORAGE_READ, start);
+            Tracing.end();
+        }
+    }
+
+    private List<LocalNotification> readSavedNotifications() {
         SharedPreferences storage = getStorage(NOTIFICATION_STORE_ID);
         Map<String, ?> all = storage.getAll();
         if (all != null) {
-            ArrayList<LocalNotification> notifications = new ArrayList<>();
+            Map<String, String> undecodable = new HashMap<>();
+            List<LocalNotification> notifications = CODEC.decodeAll(all, undecodable);
             ArrayList<LocalNotification> migratedNotifications = new ArrayList<>();
-            
-            for (Map.Entry<String, ?> entry : all.entrySet()) {
-                String key = entry.getKey();
-                String notificationString = (String) entry.getValue();
-                LocalNotification notification = null;
-                
-                // Try parsing as POJO first
-                try {
-                    notification = gson.fromJson(notificationString, LocalNotification.class);
-                } catch (JsonSyntaxException e) {
-                    // Migration path: try old raw JSON format
-                    Logger.debug(Logger.tags("LN"), "Migrating notification " + key + " from old format");
-                    JSObject jsNotification = getNotificationFromJSONString(notificationString);
-                    if (jsNotification != null) {
-                        notification = LocalNotification.buildNotificationFromJSObject(jsNotification);
-                        if (notification != null) {
-                            migratedNotifications.add(notification);
-                        }
+
+            for (Map.Entry<String, String> entry : undecodable.entrySet()) {
+                // Migration path: try old raw JSON format
+                Logger.debug(Logger.tags("LN"), "Migrating notification " + entry.getKey() + " from old format");
+                JSObject jsNotification = getNotificationFromJSONString(entry.getValue());
+                if (jsNotification != null) {
+                    LocalNotification notification = LocalNotification.buildNotificationFromJSObject(jsNotification);
+                    if (notification != null) {
+                        migratedNotifications.add(notification);
+                        notifications.add(notification);
                     }
                 }
-                
-                if (notification != null) {
-                    notifications.add(notification);
-                }
             }
-            
+
             // Re-save migrated notifications in new format
             if (!migratedNotifications.isEmpty()) {
+                Metrics.add(Metrics.Counter.STORAGE_MIGRATIONS, migratedNotifications.size());
                 appendNotifications(migratedNotifications);
             }
 
@@ -115,29 +209,47 @@ public class NotificationStorage {
     }
 
     public JSObject getSavedNotificationAsJSObject(String key) {
+        return getNotificationFromJSONString(getSavedNotificationJson(key));
+    }
+
+    /**
+     * The notification as stored, without parsing it
+     */
+    public String getSavedNotificationJson(String key) {
         SharedPreferences storage = getStorage(NOTIFICATION_STORE_ID);
-        String notificationString;
         try {
-            notificationString = storage.getString(key, null);
+            return storage.getString(key, null);
         } catch (ClassCastException ex) {
             return null;
         }
+    }
 
-        if (notificationString == null) {
-            return null;
+    /**
+     * The notification as the JSON its event payloads are built from, without decoding it. Stored
+     * notifications are already encoded by {@link #CODEC}, this is the JSON re-encoding
+     * {@link #getSavedNotification(String)} would give. Until the store is migrated, only the
+     * record read is re-encoded.
+     */
+    public String getSavedNotificationPayload(String key) {
+        if (!getStorage(SCHEDULE_INDEX_ID).getBoolean(SCHEDULE_INDEX_BUILT_KEY, false)) {
+            LocalNotification notification = getSavedNotification(key);
+            return notification != null ? CODEC.encode(notification) : null;
         }
+        return getSavedNotificationJson(key);
+    }
 
-        JSObject jsNotification;
+    public LocalNotification getSavedNotification(String key) {
+        Tracing.begin(Tracing.SECTION_STORAGE_READ);
+        long start = Metrics.start();
         try {
-            jsNotification = new JSObject(notificationString);
-        } catch (JSONException ex) {
-            return null;
+            return readSavedNotification(key);
+        } finally {
+            Metrics.stop(Metrics.Timer.STORAGE_READ, start);
+            Tracing.end();
         }
-
-        return jsNotification;
     }
 
-    public LocalNotification getSavedNotification(String key) {
+    private LocalNotification readSavedNotification(String key) {
         SharedPreferences storage = getStorage(NOTIFICATION_STORE_ID);
         String notificationString;
         try {
@@ -154,7 +266,7 @@ public class NotificationStorage {
         
         // Try parsing as POJO first
         try {
-            notification = gson.fromJson(notificationString, LocalNotification.class);
+            notification = CODEC.decode(notificationString);
         } catch (JsonSyntaxException e) {
             // Migration path: try old raw JSON format
             Logger.debug(Logger.tags("LN"), "Migrating notification " + key + " from old format");
@@ -163,6 +275,7 @@ public class NotificationStorage {
                 notification = LocalNotification.buildNotificationFromJSObject(jsNotification);
                 if (notification != null) {
                     // Re-save in new format
+                    Metrics.increment(Metrics.Counter.STORAGE_MIGRATIONS);
                     List<LocalNotification> toMigrate = new ArrayList<>();
                     toMigrate.add(notification);
                     appendNotifications(toMigrate);
@@ -177,9 +290,119 @@ public class NotificationStorage {
      * Remove the stored notifications
      */
     public void deleteNotification(String id) {
-        SharedPreferences.Editor editor = getStorage(NOTIFICATION_STORE_ID).edit();
-        editor.remove(id);
-        editor.apply();
+        deleteNotifications(Collections.singletonList(id));
+    }
+
+    /**
+     * Remove several stored notifications with a single write of the store and of the index
+     */
+    public void deleteNotifications(Collection<String> ids) {
+        Tracing.begin(Tracing.SECTION_STORAGE_DELETE);
+        try {
+            long start = Metrics.start();
+            SharedPreferences.Editor editor = getStorage(NOTIFICATION_STORE_ID).edit();
+            ScheduleIndex index = new ScheduleIndex();
+            for (String id : ids) {
+                editor.remove(id);
+                index.put(id, null);
+            }
+            editor.apply();
+            index.apply();
+            Metrics.stop(Metrics.Timer.STORAGE_WRITE, start);
+        } finally {
+            Tracing.end();
+        }
+    }
+
+    /**
+     * Add messages to the conversation of a notification, keeping the latest
+     * {@link #MAX_MESSAGES}. The conversation is read from preferences the first time the process
+     * uses it, so the cost of a message doesn't grow with the length of the conversation.
+     *
+     * @return the messages of the conversation, oldest first
+     */
+    public List<LocalNotificationMessage> appendMessages(int id, List<LocalNotificationMessage> messages) {
+        synchronized (conversations) {
+            ArrayDeque<LocalNotificationMessage> conversation = readConversation(id);
+            addMessages(conversation, messages);
+            String encoded = MESSAGES_CODEC.encode(conversation.toArray(new LocalNotificationMessage[0]));
+            getStorage(MESSAGES_ID).edit().putString(Integer.toString(id), encoded).apply();
+            return new ArrayList<>(conversation);
+        }
+    }
+
+    /**
+     * @return the messages of the conversation of a notification, oldest first
+     */
+    public List<LocalNotificationMessage> getMessages(int id) {
+        synchronized (conversations) {
+            return new ArrayList<>(readConversation(id));
+        }
+    }
+
+    /**
+     * @return the messages of the conversation of a notification with the given ones added the way
+     * {@link #appendMessages} adds them, without storing them
+     */
+    public List<LocalNotificationMessage> getMessagesWith(int id, List<LocalNotificationMessage> messages) {
+        synchronized (conversations) {
+            ArrayDeque<LocalNotificationMessage> conversation = new ArrayDeque<>(readConversation(id));
+            addMessages(conversation, messages);
+            return new ArrayList<>(conversation);
+        }
+    }
+
+    private static void addMessages(ArrayDeque<LocalNotificationMessage> conversation, List<LocalNotificationMessage> messages) {
+        for (LocalNotificationMessage message : messages) {
+            if (conversation.size() == MAX_MESSAGES) {
+                conversation.removeFirst();
+            }
+            conversation.addLast(message);
+        }
+    }
+
+    private ArrayDeque<LocalNotificationMessage> readConversation(int id) {
+        ArrayDeque<LocalNotificationMessage> conversation = conversations.get(id);
+        if (conversation != null) {
+            return conversation;
+        }
+        conversation = new ArrayDeque<>(MAX_MESSAGES);
+        String encoded = getStorage(MESSAGES_ID).getString(Integer.toString(id), null);
+        try {
+            LocalNotificationMessage[] stored = MESSAGES_CODEC.decode(encoded);
+            if (stored != null) {
+                Collections.addAll(conversation, stored);
+            }
+        } catch (JsonSyntaxException e) {
+            Logger.error(Logger.tags("LN"), "Dropping unreadable messages of notification " + id, e);
+        }
+        conversations.put(id, conversation);
+        return conversation;
+    }
+
+    /**
+     * Forget the conversations of notifications removed from the notification drawer, only
+     * writing when one of them has messages
+     */
+    public void deleteMessages(Collection<String> ids) {
+        synchronized (conversations) {
+            SharedPreferences messages = getStorage(MESSAGES_ID);
+            SharedPreferences.Editor editor = null;
+            for (String id : ids) {
+                try {
+                    conversations.remove(Integer.valueOf(id));
+                } catch (NumberFormatException ignored) {}
+                if (messages.contains(id)) {
+                    if (editor == null) {
+                        editor = messages.edit();
+                    }
+                    editor.remove(id);
+                }
+            }
+            if (editor != null) {
+                editor.apply();
+            }
+        }
     }
 
     /**
@@ -196,18 +419,26 @@ public class NotificationStorage {
      * @param typesMap - map with groupId and actionArray assigned to group
      */
     public void writeActionGroup(Map<String, NotificationAction[]> typesMap) {
-        Set<String> typesIds = typesMap.keySet();
-        for (String id : typesIds) {
-            SharedPreferences.Editor editor = getStorage(ACTION_TYPES_ID + id).edit();
-            editor.clear();
-            NotificationAction[] notificationActions = typesMap.get(id);
-            editor.putInt("count", notificationActions.length);
-            for (int i = 0; i < notificationActions.length; i++) {
-                editor.putString("id" + i, notificationActions[i].getId());
-                editor.putString("title" + i, notificationActions[i].getTitle());
-                editor.putBoolean("input" + i, notificationActions[i].isInput());
+        Tracing.begin(Tracing.SECTION_STORAGE_WRITE_ACTIONS);
+        try {
+            Set<String> typesIds = typesMap.keySet();
+            for (String id : typesIds) {
+                SharedPreferences.Editor editor = getStorage(ACTION_TYPES_ID + id).edit();
+                editor.clear();
+                NotificationAction[] notificationActions = typesMap.get(id);
+                editor.putInt("count", notificationActions.length);
+                for (int i = 0; i < notificationActions.length; i++) {
+                    editor.putString("id" + i, notificationActions[i].getId());
+                    editor.putString("title" + i, notificationActions[i].getTitle());
+                    editor.putBoolean("input" + i, notificationActions[i].isInput());
+                    editor.putBoolean("foreground" + i, notificationActions[i].isForeground());
+                    Integer snoozeMinutes = notificationActions[i].getSnoozeMinutes();
+                    editor.putInt("snoozeMinutes" + i, snoozeMinutes != null ? snoozeMinutes : 0);
+                }
+                editor.apply();
             }
-            editor.apply();
+        } finally {
+            Tracing.end();
         }
     }
 
@@ -217,15 +448,100 @@ public class NotificationStorage {
      * @param forId - id of the group
      */
     public NotificationAction[] getActionGroup(String forId) {
-        SharedPreferences storage = getStorage(ACTION_TYPES_ID + forId);
-        int count = storage.getInt("count", 0);
-        NotificationAction[] actions = new NotificationAction[count];
-        for (int i = 0; i < count; i++) {
-            String id = storage.getString("id" + i, "");
-            String title = storage.getString("title" + i, "");
-            Boolean input = storage.getBoolean("input" + i, false);
-            actions[i] = new NotificationAction(id, title, input);
-        }
-        return actions;
+        Tracing.begin(Tracing.SECTION_STORAGE_READ_ACTIONS);
+        try {
+            SharedPreferences storage = getStorage(ACTION_TYPES_ID + forId);
+            int count = storage.getInt("count", 0);
+            NotificationAction[] actions = new NotificationAction[count];
+            for (int i = 0; i < count; i++) {
+                String id = storage.getString("id" + i, "");
+                String title = storage.getString("title" + i, "");
+                Boolean input = storage.getBoolean("input" + i, false);
+                Boolean foreground = storage.getBoolean("foreground" + i, true);
+                int snoozeMinutes = storage.getInt("snoozeMinutes" + i, 0);
+                actions[i] = new NotificationAction(id, title, input, foreground, snoozeMinutes > 0 ? snoozeMinutes : null);
+            }
+            return actions;
+        } finally {
+            Tracing.end();
+        }
+    }
+
+    /**
+     * Register a notification template, replacing the one with the same id
+     */
+    public void writeTemplate(String id, NotificationTemplate template) {
+        synchronized (templates) {
+            getStorage(TEMPLATES_ID).edit().putString(id, template.getJson()).apply();
+            templates.put(id, template);
+        }
+    }
+
+    /**
+     * @return the registered template, parsed once per process, null when there is none
+     */
+    public NotificationTemplate getTemplate(String id) {
+        synchronized (templates) {
+            NotificationTemplate template = templates.get(id);
+            if (template == null) {
+                String json = getStorage(TEMPLATES_ID).getString(id, null);
+                template = json != null ? NotificationTemplate.parse(json) : null;
+                if (template != null) {
+                    templates.put(id, template);
+                }
+            }
+            return template;
+        }
+    }
+
+    /**
+     * Pending changes to the schedule kind index. Only the kind sets that actually change are
+     * written, so records that are not indexed cost one read per indexed kind.
+     */
+    private class ScheduleIndex {
+
+        private final SharedPreferences index = getStorage(SCHEDULE_INDEX_ID);
+        private final Map<String, Set<String>> changed = new HashMap<>();
+
+        /**
+         * Record the kind of a notification, or its removal when kind is null
+         */
+        void put(String id, String kind) {
+            for (String indexedKind : INDEXED_KINDS) {
+                Set<String> ids = changed.get(indexedKind);
+                boolean contains = ids != null ? ids.contains(id) : contains(indexedKind, id);
+                boolean wanted = indexedKind.equals(kind);
+                if (contains == wanted) {
+                    continue;
+                }
+                if (ids == null) {
+                    Set<String> stored = index.getStringSet(indexedKind, null);
+                    // Sets returned by SharedPreferences must not be modified
+                    ids = stored != null ? new HashSet<>(stored) : new HashSet<>();
+                    changed.put(indexedKind, ids);
+                }
+                if (wanted) {
+                    ids.add(id);
+                } else {
+                    ids.remove(id);
+                }
+            }
+        }
+
+        private boolean contains(String kind, String id) {
+            Set<String> stored = index.getStringSet(kind, null);
+            return stored != null && stored.contains(id);
+        }
+
+        void apply() {
+            if (changed.isEmpty()) {
+                return;
+            }
+            SharedPreferences.Editor editor = index.edit();
+            for (Map.Entry<String, Set<String>> entry : changed.entrySet()) {
+                editor.putStringSet(entry.getKey(), entry.getValue());
+            }
+            editor.apply();
+        }
     }
 }
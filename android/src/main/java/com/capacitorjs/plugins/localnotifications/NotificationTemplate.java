@@ -0,0 +1,164 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Logger;
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import java.util.Iterator;
+import java.util.Set;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Notification fields shared by many notifications, registered once and parsed once.
+ *
+ * Scheduled entries with a {@code templateId} only carry their id, schedule, extra and the
+ * variables substituted into the {@code {{name}}} placeholders of the title, body, large body and
+ * summary text. They are built from a copy of the parsed template, skipping the JSON to Gson path
+ * of full notifications. Entries with other fields are merged with the registered JSON and
+ * parsed in full.
+ */
+public class NotificationTemplate {
+
+    // Entry keys handled without parsing the merged notification
+    private static final Set<String> ENTRY_KEYS = Set.of("templateId", "id", "schedule", "extra", "vars");
+
+    private final String json;
+    private final LocalNotification notification;
+
+    private NotificationTemplate(String json, LocalNotification notification) {
+        this.json = json;
+        this.notification = notification;
+    }
+
+    /**
+     * @param json - notification fields as registered, without id
+     * @return null when the fields are not a valid notification
+     */
+    public static NotificationTemplate parse(String json) {
+        JSObject fields;
+        try {
+            fields = new JSObject(json);
+        } catch (JSONException e) {
+            Logger.error(Logger.tags("LN"), "Invalid notification template", e);
+            return null;
+        }
+        LocalNotification notification = LocalNotification.buildNotificationFromJSObject(fields);
+        if (notification == null) {
+            return null;
+        }
+        return new NotificationTemplate(json, notification);
+    }
+
+    public String getJson() {
+        return json;
+    }
+
+    /**
+     * Notification of a scheduled entry referencing this template
+     *
+     * @param id - identifier of the entry, checked by the caller
+     * @return null when the entry is not a valid notification
+     */
+    LocalNotification build(JSONObject entry, int id, Gson gson) {
+        LocalNotification built;
+        if (hasOverrides(entry)) {
+            built = buildMerged(entry, gson);
+        } else {
+            built = notification.copy();
+            try {
+                JSONObject schedule = entry.optJSONObject("schedule");
+                if (schedule != null) {
+                    built.setSchedule(gson.fromJson(schedule.toString(), LocalNotificationSchedule.class));
+                }
+            } catch (JsonSyntaxException e) {
+                Logger.error(Logger.tags("LN"), "Failed to parse notification schedule", e);
+                Metrics.increment(Metrics.Counter.PARSE_ERRORS);
+                return null;
+            }
+            JSONObject extra = entry.optJSONObject("extra");
+            if (extra != null) {
+                try {
+                    built.setExtra(JSObject.fromJSONObject(extra));
+                } catch (JSONException e) {
+                    return null;
+                }
+            }
+        }
+        if (built == null) {
+            return null;
+        }
+        built.setId(id);
+
+        JSONObject vars = entry.optJSONObject("vars");
+        if (vars != null) {
+            built.setTitle(applyVars(built.getTitle(), vars));
+            built.setBody(applyVars(built.getBody(), vars));
+            built.setLargeBody(applyVars(built.getLargeBody(), vars));
+            built.setSummaryText(applyVars(built.getSummaryText(), vars));
+        }
+        return built;
+    }
+
+    private static boolean hasOverrides(JSONObject entry) {
+        Iterator<String> keys = entry.keys();
+        while (keys.hasNext()) {
+            if (!ENTRY_KEYS.contains(keys.next())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fields set on the entry replace the ones of the template
+     */
+    private LocalNotification buildMerged(JSONObject entry, Gson gson) {
+        JSObject merged;
+        try {
+            merged = new JSObject(json);
+            Iterator<String> keys = entry.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                if (!"templateId".equals(key) && !"vars".equals(key)) {
+                    merged.put(key, entry.get(key));
+                }
+            }
+        } catch (JSONException e) {
+            return null;
+        }
+        return LocalNotification.buildNotificationFromJSObject(merged, gson);
+    }
+
+    /**
+     * Replace the {@code {{name}}} placeholders of a text, the ones without a variable are kept
+     */
+    static String applyVars(String text, JSONObject vars) {
+        if (text == null) {
+            return null;
+        }
+        int open = text.indexOf("{{");
+        if (open < 0) {
+            return text;
+        }
+        StringBuilder result = new StringBuilder(text.length() + 16);
+        int from = 0;
+        while (open >= 0) {
+            int close = text.indexOf("}}", open + 2);
+            if (close < 0) {
+                break;
+            }
+            Object value = vars.opt(text.substring(open + 2, close).trim());
+            result.append(text, from, open);
+            if (value != null && value != JSONObject.NULL) {
+                result.append(value);
+            } else {
+                result.append(text, open, close + 2);
+            }
+            from = close + 2;
+            open = text.indexOf("{{", from);
+        }
+        result.append(text, from, text.length());
+        return result.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Time ordered occurrences of several scheduled notifications within a time range.
+ *
+ * Each notification contributes one cursor holding only its next occurrence, computed with the
+ * same {@link LocalNotificationSchedule#getNextTrigger(long, Date)} logic used to arm alarms, and
+ * cursors are merged through a priority queue. Memory is bounded by the number of notifications,
+ * whatever the length of the range.
+ */
+public class OccurrenceIterator implements Iterator<OccurrenceIterator.Occurrence> {
+
+    public static class Occurrence {
+
+        private final LocalNotification notification;
+        private final long time;
+
+        Occurrence(LocalNotification notification, long time) {
+            this.notification = notification;
+            this.time = time;
+        }
+
+        public LocalNotification getNotification() {
+            return notification;
+        }
+
+        public long getTime() {
+            return time;
+        }
+    }
+
+    private static class Cursor implements Comparable<Cursor> {
+
+        final LocalNotification notification;
+        final long anchor;
+        long next;
+
+        Cursor(LocalNotification notification, long anchor, long next) {
+            this.notification = notification;
+            this.anchor = anchor;
+            this.next = next;
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            int byTime = Long.compare(next, other.next);
+            return byTime != 0 ? byTime : Integer.compare(notification.getId(), other.notification.getId());
+        }
+    }
+
+    private final PriorityQueue<Cursor> queue;
+    private final long to;
+
+    /**
+     * @param notifications - scheduled notifications to expand
+     * @param from - occurrences at or after this time are included, epoch milliseconds
+     * @param to - occurrences at or before this time are included, epoch milliseconds
+     */
+    public OccurrenceIterator(List<LocalNotification> notifications, long from, long to) {
+        this.queue = new PriorityQueue<>(Math.max(1, notifications.size()));
+        this.to = to;
+        for (LocalNotification notification : notifications) {
+            LocalNotificationSchedule schedule = notification.getSchedule();
+            if (schedule == null || notification.getId() == null) {
+                continue;
+            }
+            // Same anchor the alarms are armed from
+            Long anchor = schedule.resolveAnchor(from);
+            if (anchor == null) {
+                continue;
+            }
+            Long first = firstOccurrence(schedule, anchor, from);
+            if (first != null && first <= to) {
+                queue.add(new Cursor(notification, anchor, first));
+            }
+        }
+    }
+
+    private static Long firstOccurrence(LocalNotificationSchedule schedule, long anchor, long from) {
+        if (schedule.getAt() != null && !schedule.isRepeating()) {
+            long at = schedule.getAt().getTime();
+            return at >= from ? at : null;
+        }
+        // getNextTrigger is strictly after its reference time
+        return schedule.getNextTrigger(anchor, new Date(from - 1));
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !queue.isEmpty();
+    }
+
+    @Override
+    public Occurrence next() {
+        Cursor cursor = queue.poll();
+        if (cursor == null) {
+            throw new NoSuchElementException();
+        }
+        Occurrence occurrence = new Occurrence(cursor.notification, cursor.next);
+        Long following = cursor.notification.getSchedule().getNextTrigger(cursor.anchor, new Date(cursor.next));
+        if (following != null && following > cursor.next && following <= to) {
+            cursor.next = following;
+            queue.add(cursor);
+        }
+        return occurrence;
+    }
+}
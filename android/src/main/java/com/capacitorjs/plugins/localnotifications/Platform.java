@@ -0,0 +1,31 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import android.content.Context;
+
+/**
+ * Holds the {@link PlatformGateway} the plugin talks to, the Android system services by default.
+ *
+ * Tests and simulations install a {@link SimulatedPlatformGateway} before scheduling, receivers
+ * started by the system then pick it up too.
+ */
+public final class Platform {
+
+    private static volatile PlatformGateway gateway;
+
+    private Platform() {}
+
+    /**
+     * @return the installed gateway, or one forwarding to the system services of the context
+     */
+    public static PlatformGateway getGateway(Context context) {
+        PlatformGateway installed = gateway;
+        return installed != null ? installed : new AndroidPlatformGateway(context);
+    }
+
+    /**
+     * @param gateway - the gateway to use, null to go back to the system services
+     */
+    public static void setGateway(PlatformGateway gateway) {
+        Platform.gateway = gateway;
+    }
+}
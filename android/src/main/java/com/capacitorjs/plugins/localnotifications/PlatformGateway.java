@@ -0,0 +1,47 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.content.Intent;
+import java.util.List;
+
+/**
+ * The system services the plugin schedules and posts notifications through, see {@link Platform}.
+ *
+ * {@link AndroidPlatformGateway} forwards to AlarmManager and NotificationManager, every call but
+ * {@link #currentTimeMillis()} is an IPC to the system server. {@link SimulatedPlatformGateway}
+ * keeps everything in memory on a virtual clock.
+ *
+ * Alarms broadcast their intent when they fire and are identified like PendingIntents, by request
+ * code and {@link Intent#filterEquals(Intent)}: setting an alarm replaces the one with the same
+ * identity. Channel methods are only called on Android 8.0+.
+ */
+public interface PlatformGateway {
+    /**
+     * Current time of the clock alarm triggers are compared to
+     */
+    long currentTimeMillis();
+
+    boolean canScheduleExactAlarms();
+
+    /**
+     * Arm a one-shot alarm in the given mode, replacing the alarm with the same identity
+     */
+    void setAlarm(int requestCode, Intent intent, AlarmMode mode, long triggerAtMillis);
+
+    void cancelAlarm(int requestCode, Intent intent);
+
+    boolean areNotificationsEnabled();
+
+    void notify(int id, Notification notification);
+
+    void cancelNotification(int id);
+
+    void createNotificationChannel(NotificationChannel channel);
+
+    void deleteNotificationChannel(String channelId);
+
+    NotificationChannel getNotificationChannel(String channelId);
+
+    List<NotificationChannel> getNotificationChannels();
+}
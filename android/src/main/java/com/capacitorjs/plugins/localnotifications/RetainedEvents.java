@@ -0,0 +1,85 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import com.getcapacitor.JSObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Events emitted while JavaScript has no listener for them, kept until one is added.
+ *
+ * The retention of {@code notifyListeners(..., true)} keeps every event for as long as the
+ * WebView doesn't listen. Here each event type keeps at most {@link #MAX_PER_EVENT} events and
+ * only the latest one per notification, a newer event for the same notification replacing the
+ * retained one. When full, the oldest events are evicted first. Data is kept as given, a
+ * {@link LazyPayload} is only built if its event reaches a listener.
+ */
+class RetainedEvents {
+
+    static final int MAX_PER_EVENT = 100;
+
+    private final Map<String, LinkedHashMap<Object, Supplier<JSObject>>> events = new HashMap<>();
+
+    /**
+     * @param key - notification the event is about, null to never coalesce the event
+     */
+    synchronized void retain(String eventName, Integer key, Supplier<JSObject> data) {
+        LinkedHashMap<Object, Supplier<JSObject>> retained = events.get(eventName);
+        if (retained == null) {
+            retained = new LinkedHashMap<>();
+            events.put(eventName, retained);
+        }
+        // Removed first so the latest event also takes the latest position
+        Supplier<JSObject> replaced = key != null ? retained.remove(key) : null;
+        if (replaced != null) {
+            Metrics.increment(Metrics.Counter.EVENTS_COALESCED);
+            countSkipped(replaced);
+        }
+        retained.put(key != null ? key : new Object(), data);
+        if (retained.size() > MAX_PER_EVENT) {
+            Iterator<Supplier<JSObject>> oldest = retained.values().iterator();
+            countSkipped(oldest.next());
+            oldest.remove();
+            Metrics.increment(Metrics.Counter.EVENTS_EVICTED);
+        }
+    }
+
+    private static void countSkipped(Supplier<JSObject> dropped) {
+        if (dropped instanceof LazyPayload && !((LazyPayload) dropped).isBuilt()) {
+            Metrics.increment(Metrics.Counter.PAYLOADS_SKIPPED);
+        }
+    }
+
+    /**
+     * Data of the retained events of a type, oldest first, no longer retained
+     */
+    List<JSObject> take(String eventName) {
+        List<Supplier<JSObject>> taken;
+        synchronized (this) {
+            LinkedHashMap<Object, Supplier<JSObject>> retained = events.remove(eventName);
+            if (retained == null) {
+                return Collections.emptyList();
+            }
+            taken = new ArrayList<>(retained.values());
+        }
+        // Built out of the lock
+        List<JSObject> data = new ArrayList<>(taken.size());
+        for (Supplier<JSObject> supplier : taken) {
+            JSObject built = supplier.get();
+            if (built != null) {
+                data.add(built);
+            }
+        }
+        return data;
+    }
+
+    synchronized int size(String eventName) {
+        LinkedHashMap<Object, Supplier<JSObject>> retained = events.get(eventName);
+        return retained != null ? retained.size() : 0;
+    }
+}
@@ -0,0 +1,189 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import android.os.Process;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the most recent completed spans in memory, overwriting the oldest once full.
+ *
+ * Open spans are tracked per thread in preallocated arrays, so recording only allocates the
+ * first time a thread begins a span.
+ */
+public class RingBufferTracer implements Tracer {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    // Deeper spans are counted but not recorded
+    private static final int MAX_DEPTH = 32;
+
+    public static class Span {
+
+        private final String name;
+        private final long threadId;
+        private final int depth;
+        private final long startNanos;
+        private final long durationNanos;
+
+        Span(String name, long threadId, int depth, long startNanos, long durationNanos) {
+            this.name = name;
+            this.threadId = threadId;
+            this.depth = depth;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getThreadId() {
+            return threadId;
+        }
+
+        /**
+         * Number of spans open on the same thread when this one began
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        /**
+         * Start time on the {@link System#nanoTime()} clock
+         */
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+    }
+
+    private static class OpenSpans {
+
+        /** Kernel id of the owning thread, the one system traces show */
+        final int threadId = Process.myTid();
+        final String[] names = new String[MAX_DEPTH];
+        final long[] starts = new long[MAX_DEPTH];
+        int depth;
+    }
+
+    private final ThreadLocal<OpenSpans> openSpans = new ThreadLocal<OpenSpans>() {
+        @Override
+        protected OpenSpans initialValue() {
+            return new OpenSpans();
+        }
+    };
+
+    private final String[] names;
+    private final long[] threadIds;
+    private final int[] depths;
+    private final long[] starts;
+    private final long[] durations;
+    private long written = 0;
+
+    public RingBufferTracer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RingBufferTracer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        names = new String[capacity];
+        threadIds = new long[capacity];
+        depths = new int[capacity];
+        starts = new long[capacity];
+        durations = new long[capacity];
+    }
+
+    @Override
+    public void beginSection(String name) {
+        OpenSpans open = openSpans.get();
+        if (open.depth < MAX_DEPTH) {
+            open.names[open.depth] = name;
+            open.starts[open.depth] = System.nanoTime();
+        }
+        open.depth++;
+    }
+
+    @Override
+    public void endSection() {
+        long end = System.nanoTime();
+        OpenSpans open = openSpans.get();
+        if (open.depth == 0) {
+            // Tracer installed while a span was open
+            return;
+        }
+        open.depth--;
+        if (open.depth >= MAX_DEPTH) {
+            return;
+        }
+        String name = open.names[open.depth];
+        open.names[open.depth] = null;
+        record(name, open.threadId, open.depth, open.starts[open.depth], end - open.starts[open.depth]);
+    }
+
+    private synchronized void record(String name, long threadId, int depth, long start, long duration) {
+        int slot = (int) (written % names.length);
+        names[slot] = name;
+        threadIds[slot] = threadId;
+        depths[slot] = depth;
+        starts[slot] = start;
+        durations[slot] = duration;
+        written++;
+    }
+
+    /**
+     * Completed spans still in the buffer, in the order they ended
+     */
+    public synchronized List<Span> getSpans() {
+        int size = (int) Math.min(written, names.length);
+        List<Span> spans = new ArrayList<>(size);
+        for (long i = written - size; i < written; i++) {
+            int slot = (int) (i % names.length);
+            spans.add(new Span(names[slot], threadIds[slot], depths[slot], starts[slot], durations[slot]));
+        }
+        return spans;
+    }
+
+    /**
+     * Number of spans overwritten since the buffer was created or cleared
+     */
+    public synchronized long getDropped() {
+        return Math.max(0, written - names.length);
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < names.length; i++) {
+            names[i] = null;
+        }
+        written = 0;
+    }
+
+    /**
+     * Spans as returned to JavaScript, start times converted to milliseconds since the epoch
+     */
+    public JSObject toJSObject() {
+        List<Span> spans = getSpans();
+        long dropped = getDropped();
+        long epochOffsetNanos = System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+        JSArray jsSpans = new JSArray();
+        for (Span span : spans) {
+            JSObject jsSpan = new JSObject();
+            jsSpan.put("name", span.getName());
+            jsSpan.put("threadId", span.getThreadId());
+            jsSpan.put("depth", span.getDepth());
+            jsSpan.put("startTime", (span.getStartNanos() + epochOffsetNanos) / 1_000_000L);
+            jsSpan.put("durationUs", span.getDurationNanos() / 1000);
+            jsSpans.put(jsSpan);
+        }
+        JSObject result = new JSObject();
+        result.put("spans", jsSpans);
+        result.put("dropped", dropped);
+        return result;
+    }
+}
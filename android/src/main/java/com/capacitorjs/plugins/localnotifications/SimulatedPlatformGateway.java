@@ -0,0 +1,267 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.content.BroadcastReceiver;
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * In-memory {@link PlatformGateway} driven by a virtual clock, for running the whole notification
+ * lifecycle headless and deterministic.
+ *
+ * Alarms fire at their trigger time whatever their mode when the clock is advanced, by delivering
+ * their intent to a new instance of the receiver class it targets, as the system would. Alarms
+ * set while delivering are fired in the same advance if they are due. Every call but
+ * {@link #currentTimeMillis()} counts as one IPC, the number a device would make.
+ *
+ * <pre>
+ * SimulatedPlatformGateway platform = new SimulatedPlatformGateway(context, start);
+ * Platform.setGateway(platform);
+ * ...schedule
+ * platform.advanceBy(90 * DateUtils.DAY_IN_MILLIS);
+ * </pre>
+ *
+ * Not thread safe, drive it from a single thread.
+ */
+public class SimulatedPlatformGateway implements PlatformGateway {
+
+    private static class AlarmKey {
+
+        final int requestCode;
+        final Intent intent;
+
+        AlarmKey(int requestCode, Intent intent) {
+            this.requestCode = requestCode;
+            this.intent = intent;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof AlarmKey)) {
+                return false;
+            }
+            AlarmKey other = (AlarmKey) o;
+            return requestCode == other.requestCode && intent.filterEquals(other.intent);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * requestCode + intent.filterHashCode();
+        }
+    }
+
+    private static class Alarm implements Comparable<Alarm> {
+
+        final AlarmKey key;
+        final Intent intent;
+        final AlarmMode mode;
+        final long trigger;
+        final long sequence;
+
+        Alarm(AlarmKey key, Intent intent, AlarmMode mode, long trigger, long sequence) {
+            this.key = key;
+            this.intent = intent;
+            this.mode = mode;
+            this.trigger = trigger;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Alarm other) {
+            if (trigger != other.trigger) {
+                return Long.compare(trigger, other.trigger);
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final Context context;
+    private long now;
+    private long sequence = 0;
+    private final TreeSet<Alarm> alarmQueue = new TreeSet<>();
+    private final Map<AlarmKey, Alarm> alarms = new HashMap<>();
+    private final Map<Integer, Notification> posted = new LinkedHashMap<>();
+    private final Map<String, NotificationChannel> channels = new LinkedHashMap<>();
+    private boolean notificationsEnabled = true;
+    private boolean exactAlarmsAllowed = true;
+
+    private long ipcCount = 0;
+    private long alarmsFired = 0;
+    private long notificationsPosted = 0;
+
+    /**
+     * @param context - context the alarms are delivered with
+     * @param startMillis - initial time of the virtual clock
+     */
+    public SimulatedPlatformGateway(Context context, long startMillis) {
+        this.context = context;
+        this.now = startMillis;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return now;
+    }
+
+    @Override
+    public boolean canScheduleExactAlarms() {
+        ipcCount++;
+        return exactAlarmsAllowed;
+    }
+
+    @Override
+    public void setAlarm(int requestCode, Intent intent, AlarmMode mode, long triggerAtMillis) {
+        ipcCount++;
+        AlarmKey key = new AlarmKey(requestCode, intent);
+        removeAlarm(key);
+        Alarm alarm = new Alarm(key, intent, mode, triggerAtMillis, sequence++);
+        alarms.put(key, alarm);
+        alarmQueue.add(alarm);
+    }
+
+    @Override
+    public void cancelAlarm(int requestCode, Intent intent) {
+        ipcCount++;
+        removeAlarm(new AlarmKey(requestCode, intent));
+    }
+
+    private void removeAlarm(AlarmKey key) {
+        Alarm previous = alarms.remove(key);
+        if (previous != null) {
+            alarmQueue.remove(previous);
+        }
+    }
+
+    @Override
+    public boolean areNotificationsEnabled() {
+        ipcCount++;
+        return notificationsEnabled;
+    }
+
+    @Override
+    public void notify(int id, Notification notification) {
+        ipcCount++;
+        notificationsPosted++;
+        posted.put(id, notification);
+    }
+
+    @Override
+    public void cancelNotification(int id) {
+        ipcCount++;
+        posted.remove(id);
+    }
+
+    @Override
+    public void createNotificationChannel(NotificationChannel channel) {
+        ipcCount++;
+        channels.put(channel.getId(), channel);
+    }
+
+    @Override
+    public void deleteNotificationChannel(String channelId) {
+        ipcCount++;
+        channels.remove(channelId);
+    }
+
+    @Override
+    public NotificationChannel getNotificationChannel(String channelId) {
+        ipcCount++;
+        return channels.get(channelId);
+    }
+
+    @Override
+    public List<NotificationChannel> getNotificationChannels() {
+        ipcCount++;
+        return new ArrayList<>(channels.values());
+    }
+
+    /**
+     * Move the clock forward, firing the alarms due on the way in trigger order
+     *
+     * @return the number of alarms fired
+     */
+    public int advanceTo(long timeMillis) {
+        int fired = 0;
+        while (!alarmQueue.isEmpty() && alarmQueue.first().trigger <= timeMillis) {
+            Alarm alarm = alarmQueue.pollFirst();
+            alarms.remove(alarm.key);
+            now = Math.max(now, alarm.trigger);
+            deliver(alarm.intent);
+            alarmsFired++;
+            fired++;
+        }
+        now = Math.max(now, timeMillis);
+        return fired;
+    }
+
+    public int advanceBy(long millis) {
+        return advanceTo(now + millis);
+    }
+
+    private void deliver(Intent intent) {
+        ComponentName component = intent.getComponent();
+        if (component == null) {
+            throw new IllegalStateException("Alarm intent has no receiver component");
+        }
+        BroadcastReceiver receiver;
+        try {
+            receiver = (BroadcastReceiver) Class.forName(component.getClassName()).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create receiver " + component.getClassName(), e);
+        }
+        receiver.onReceive(context, intent);
+    }
+
+    /**
+     * Trigger time of the pending alarm, null if there is none
+     */
+    public Long getAlarmTrigger(int requestCode, Intent intent) {
+        Alarm alarm = alarms.get(new AlarmKey(requestCode, intent));
+        return alarm != null ? alarm.trigger : null;
+    }
+
+    public int getPendingAlarmCount() {
+        return alarms.size();
+    }
+
+    /**
+     * Notifications currently shown, by id
+     */
+    public Map<Integer, Notification> getPostedNotifications() {
+        return posted;
+    }
+
+    public void setNotificationsEnabled(boolean notificationsEnabled) {
+        this.notificationsEnabled = notificationsEnabled;
+    }
+
+    public void setExactAlarmsAllowed(boolean exactAlarmsAllowed) {
+        this.exactAlarmsAllowed = exactAlarmsAllowed;
+    }
+
+    /**
+     * Calls a device would have made to the system server
+     */
+    public long getIpcCount() {
+        return ipcCount;
+    }
+
+    public long getAlarmsFired() {
+        return alarmsFired;
+    }
+
+    /**
+     * Notifications posted since the simulator was created, including replaced ones
+     */
+    public long getNotificationsPosted() {
+        return notificationsPosted;
+    }
+}
@@ -0,0 +1,20 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import android.os.Trace;
+
+/**
+ * Reports spans as {@link Trace} sections so they show up in Perfetto and systrace captures next
+ * to the app's own sections
+ */
+public class SystemTracer implements Tracer {
+
+    @Override
+    public void beginSection(String name) {
+        Trace.beginSection(name);
+    }
+
+    @Override
+    public void endSection() {
+        Trace.endSection();
+    }
+}
@@ -0,0 +1,54 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import com.getcapacitor.CapConfig;
+import com.getcapacitor.Logger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Receiver called when the clock or the time zone changes.
+ *
+ * Alarms are armed at absolute times, so schedules defined in local wall-clock time ("on",
+ * repeating "at", "every" day and up) fire at the wrong local time after a change. Only those
+ * notifications are looked up, through the schedule kind index, and re-armed. Notifications
+ * already shown are not touched.
+ */
+public class TimeChangeReceiver extends BroadcastReceiver {
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        Tracing.begin(Tracing.SECTION_TIME_CHANGE_RECEIVE);
+        try {
+            String action = intent.getAction();
+            if (!Intent.ACTION_TIME_CHANGED.equals(action) && !Intent.ACTION_TIMEZONE_CHANGED.equals(action)) {
+                return;
+            }
+
+            NotificationStorage storage = new NotificationStorage(context);
+            Set<String> ids = storage.getLocalTimeNotificationIds();
+            if (ids.isEmpty()) {
+                return;
+            }
+            List<LocalNotification> notifications = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                LocalNotification notification = storage.getSavedNotification(id);
+                if (notification != null) {
+                    notifications.add(notification);
+                }
+            }
+
+            CapConfig config = CapConfig.loadDefault(context);
+            LocalNotificationManager localNotificationManager = new LocalNotificationManager(storage, null, context, config);
+            localNotificationManager.rearm(notifications);
+            // Keep the moved anchors for the next reboot
+            storage.appendNotifications(notifications);
+            Logger.debug(Logger.tags("LN"), "Re-armed " + notifications.size() + " notifications after " + action);
+        } finally {
+            Tracing.end();
+        }
+    }
+}
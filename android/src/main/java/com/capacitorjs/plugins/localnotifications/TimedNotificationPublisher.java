@@ -1,17 +1,11 @@
 package com.capacitorjs.plugins.localnotifications;
 
-import android.app.AlarmManager;
 import android.app.Notification;
-import android.app.NotificationManager;
-import android.app.PendingIntent;
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
 import android.os.Build;
-import com.getcapacitor.JSObject;
 import com.getcapacitor.Logger;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -24,13 +18,28 @@ public class TimedNotificationPublisher extends BroadcastReceiver {
 
     public static String NOTIFICATION_KEY = "NotificationPublisher.notification";
     public static String CRON_KEY = "NotificationPublisher.cron";
+    public static String ANCHOR_KEY = "NotificationPublisher.anchor";
+    public static String TRIGGER_KEY = "NotificationPublisher.trigger";
+    public static String ALARM_MODE_KEY = "NotificationPublisher.alarmMode";
+    public static String SCHEDULE_KIND_KEY = "NotificationPublisher.scheduleKind";
+
+    private static final RecordCodec<LocalNotification> CODEC = new RecordCodec<>(LocalNotification.class);
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        Tracing.begin(Tracing.SECTION_PUBLISHER_RECEIVE);
+        try {
+            publish(context, intent);
+        } finally {
+            Tracing.end();
+        }
+    }
 
     /**
      * Restore and present notification
      */
-    @Override
-    public void onReceive(Context context, Intent intent) {
-        NotificationManager notificationManager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+    private void publish(Context context, Intent intent) {
+        PlatformGateway platform = Platform.getGateway(context);
 
         Notification notification;
 
@@ -40,18 +49,33 @@ public class TimedNotificationPublisher extends BroadcastReceiver {
             notification = getParcelableExtraLegacy(intent, NOTIFICATION_KEY);
         }
 
-        notification.when = System.currentTimeMillis();
+        long now = platform.currentTimeMillis();
+        notification.when = now;
 
         int id = intent.getIntExtra(LocalNotificationManager.NOTIFICATION_INTENT_KEY, Integer.MIN_VALUE);
         if (id == Integer.MIN_VALUE) {
             Logger.error(Logger.tags("LN"), "No valid id supplied", null);
         }
+        long intendedTrigger = intent.getLongExtra(TRIGGER_KEY, 0);
+        if (intendedTrigger > 0) {
+            long lateness = now - intendedTrigger;
+            Logger.debug(Logger.tags("LN"), "notification " + id + " fired " + lateness + "ms after its trigger time");
+            String kind = intent.getStringExtra(SCHEDULE_KIND_KEY);
+            String alarmMode = intent.getStringExtra(ALARM_MODE_KEY);
+            if (kind != null && alarmMode != null) {
+                new DeliveryStats(context).record(kind, alarmMode, lateness);
+            }
+        }
         NotificationStorage storage = new NotificationStorage(context);
-        JSObject notificationJson = storage.getSavedNotificationAsJSObject(Integer.toString(id));
-        LocalNotificationsPlugin.fireReceived(notificationJson);
-        notificationManager.notify(id, notification);
-        if (!rescheduleNotificationIfNeeded(context, intent, id)) {
-            storage.deleteNotification(Integer.toString(id));
+        String key = Integer.toString(id);
+        // The stored record is only read once the event reaches a listener or the outbox
+        LazyPayload received = new LazyPayload(() -> storage.getSavedNotificationPayload(key));
+        LocalNotificationsPlugin.fireReceived(context, id, received);
+        platform.notify(id, notification);
+        if (!rescheduleNotificationIfNeeded(platform, intent, id)) {
+            // An event still waiting for a listener reads the record before it is removed
+            received.getJson();
+            storage.deleteNotification(key);
         }
     }
 
@@ -60,14 +84,13 @@ public class TimedNotificationPublisher extends BroadcastReceiver {
         return intent.getParcelableExtra(NOTIFICATION_KEY);
     }
 
-    private boolean rescheduleNotificationIfNeeded(Context context, Intent intent, int id) {
+    private boolean rescheduleNotificationIfNeeded(PlatformGateway platform, Intent intent, int id) {
         String notificationSource = intent.getStringExtra(CRON_KEY);
 
         if (notificationSource != null) {
-            Gson gson = new GsonBuilder().setDateFormat(LocalNotificationSchedule.JS_DATE_FORMAT).create();
             LocalNotification notification;
             try {
-                notification = gson.fromJson(notificationSource, LocalNotification.class);
+                notification = CODEC.decode(notificationSource);
             } catch (JsonSyntaxException e) {
                 Logger.error(Logger.tags("LN"), "Failed to parse notification for rescheduling", e);
                 return false;
@@ -78,38 +101,19 @@ public class TimedNotificationPublisher extends BroadcastReceiver {
             }
 
             LocalNotificationSchedule schedule = notification.getSchedule();
-            Long nextTrigger = schedule.getNextOnSchedule(new Date());
+            long now = platform.currentTimeMillis();
+            long anchor = intent.getLongExtra(ANCHOR_KEY, now);
+            Long nextTrigger = schedule.getNextTrigger(anchor, new Date(now));
             if (nextTrigger == null) {
                 Logger.warn(Logger.tags("LN"), "No future trigger time calculated for notification " + id);
                 return false;
             }
 
-            AlarmManager alarmManager = (AlarmManager) context.getSystemService(Context.ALARM_SERVICE);
+            AlarmMode alarmMode = LocalNotificationManager.resolveAlarmMode(platform, notification);
             Intent clone = (Intent) intent.clone();
-            int flags = PendingIntent.FLAG_CANCEL_CURRENT;
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
-                flags = flags | PendingIntent.FLAG_MUTABLE;
-            }
-            PendingIntent pendingIntent = PendingIntent.getBroadcast(context, id, clone, flags);
-
-            // Use appropriate alarm setting based on SDK and permissions
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S && !alarmManager.canScheduleExactAlarms()) {
-                Logger.warn(
-                    "Capacitor/LocalNotification",
-                    "Exact alarms not allowed in user settings.  Notification scheduled with non-exact alarm."
-                );
-                if (schedule.allowWhileIdle()) {
-                    alarmManager.setAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, nextTrigger, pendingIntent);
-                } else {
-                    alarmManager.set(AlarmManager.RTC, nextTrigger, pendingIntent);
-                }
-            } else {
-                if (schedule.allowWhileIdle()) {
-                    alarmManager.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP, nextTrigger, pendingIntent);
-                } else {
-                    alarmManager.setExact(AlarmManager.RTC, nextTrigger, pendingIntent);
-                }
-            }
+            clone.putExtra(TRIGGER_KEY, nextTrigger.longValue());
+            clone.putExtra(ALARM_MODE_KEY, alarmMode.name());
+            platform.setAlarm(id, clone, alarmMode, nextTrigger);
 
             SimpleDateFormat sdf = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss");
             Logger.debug(Logger.tags("LN"), "notification " + id + " will next fire at " + sdf.format(new Date(nextTrigger)));
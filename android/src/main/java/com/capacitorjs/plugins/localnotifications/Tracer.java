@@ -0,0 +1,23 @@
+package com.capacitorjs.plugins.localnotifications;
+
+/**
+ * Receives begin/end span events around the notification lifecycle, see {@link Tracing}.
+ *
+ * Spans are properly nested per thread: every {@link #beginSection(String)} is followed by one
+ * {@link #endSection()} on the same thread. Section names are constants, implementations can
+ * keep them without copying.
+ */
+public interface Tracer {
+    /** Tracer used when none is installed, does nothing and allocates nothing */
+    Tracer NO_OP = new Tracer() {
+        @Override
+        public void beginSection(String name) {}
+
+        @Override
+        public void endSection() {}
+    };
+
+    void beginSection(String name);
+
+    void endSection();
+}
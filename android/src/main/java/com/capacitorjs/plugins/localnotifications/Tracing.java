@@ -0,0 +1,60 @@
+package com.capacitorjs.plugins.localnotifications;
+
+/**
+ * Holds the {@link Tracer} the plugin reports its spans to, {@link Tracer#NO_OP} by default.
+ *
+ * Apps can install their own tracer from native code, e.g. in {@code MainActivity.onCreate()},
+ * to correlate notification work with their traces. The "tracer" config option installs one of
+ * the bundled tracers when the plugin loads.
+ *
+ * <pre>
+ * Tracing.begin(Tracing.SECTION_BUILD_NOTIFICATION);
+ * try {
+ *     ...
+ * } finally {
+ *     Tracing.end();
+ * }
+ * </pre>
+ */
+public final class Tracing {
+
+    public static final String SECTION_BUILD_NOTIFICATION_LIST = "LN.buildNotificationList";
+    public static final String SECTION_BUILD_NOTIFICATION = "LN.buildNotification";
+    public static final String SECTION_TRIGGER_SCHEDULED = "LN.triggerScheduledNotification";
+    public static final String SECTION_STORAGE_APPEND = "LN.storage.appendNotifications";
+    public static final String SECTION_STORAGE_READ_ALL = "LN.storage.getSavedNotifications";
+    public static final String SECTION_STORAGE_READ = "LN.storage.getSavedNotification";
+    public static final String SECTION_STORAGE_DELETE = "LN.storage.deleteNotification";
+    public static final String SECTION_STORAGE_LOCAL_TIME_IDS = "LN.storage.getLocalTimeNotificationIds";
+    public static final String SECTION_STORAGE_WRITE_ACTIONS = "LN.storage.writeActionGroup";
+    public static final String SECTION_STORAGE_READ_ACTIONS = "LN.storage.getActionGroup";
+    public static final String SECTION_PUBLISHER_RECEIVE = "LN.TimedNotificationPublisher.onReceive";
+    public static final String SECTION_DISMISS_RECEIVE = "LN.NotificationDismissReceiver.onReceive";
+    public static final String SECTION_ACTION_RECEIVE = "LN.NotificationActionReceiver.onReceive";
+    public static final String SECTION_RESTORE_RECEIVE = "LN.LocalNotificationRestoreReceiver.onReceive";
+    public static final String SECTION_TIME_CHANGE_RECEIVE = "LN.TimeChangeReceiver.onReceive";
+    public static final String SECTION_DISMISS_EVENT_RECEIVE = "LN.dismissEventReceiver.onReceive";
+
+    private static volatile Tracer tracer = Tracer.NO_OP;
+
+    private Tracing() {}
+
+    public static Tracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * @param tracer - the tracer to report to, null to stop tracing
+     */
+    public static void setTracer(Tracer tracer) {
+        Tracing.tracer = tracer != null ? tracer : Tracer.NO_OP;
+    }
+
+    public static void begin(String section) {
+        tracer.beginSection(section);
+    }
+
+    public static void end() {
+        tracer.endSection();
+    }
+}
@@ -0,0 +1,233 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Activity;
+import android.app.Notification;
+import android.content.Context;
+import android.content.Intent;
+import com.getcapacitor.CapConfig;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.PluginConfig;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.json.JSONException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class ActionPerformedTest {
+
+    private Context context;
+    private SimulatedPlatformGateway platform;
+    private PluginConfig pluginConfig;
+    private NotificationStorage storage;
+    private LocalNotificationManager manager;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        platform = new SimulatedPlatformGateway(context, System.currentTimeMillis());
+        Platform.setGateway(platform);
+        CapConfig config = mock(CapConfig.class);
+        pluginConfig = mock(PluginConfig.class);
+        when(config.getPluginConfiguration(anyString())).thenReturn(pluginConfig);
+        storage = new NotificationStorage(context);
+        manager = new LocalNotificationManager(storage, mock(Activity.class), context, config);
+    }
+
+    @After
+    public void tearDown() {
+        Platform.setGateway(null);
+    }
+
+    @Test
+    public void testPayloadMatchesDecodedNotification() throws JSONException {
+        storage.appendNotifications(List.of(newNotification(1)));
+        JSObject decoded = new JSObject(RecordCodec.GSON.toJson(storage.getSavedNotification("1")));
+
+        JSObject data = manager.handleNotificationActionPerformed(tapIntent(1, true), storage);
+
+        assertEquals("tap", data.getString("actionId"));
+        assertEquals(decoded.toString(), data.getJSObject("notification").toString());
+        assertEquals("Title 1", data.getJSObject("notification").getString("title"));
+        assertNull(storage.getSavedNotificationJson("1"));
+    }
+
+    @Test
+    public void testPayloadLeavesOutScheduleAnchor() throws JSONException {
+        LocalNotification repeating = newNotification(9);
+        repeating.getSchedule().setAt(null);
+        repeating.getSchedule().setEvery("day");
+        repeating.getSchedule().setAnchor(System.currentTimeMillis());
+        storage.appendNotifications(List.of(repeating));
+
+        JSObject action = manager.handleNotificationActionPerformed(tapIntent(9, false), storage);
+        JSObject schedule = action.getJSObject("notification").getJSObject("schedule");
+
+        assertEquals("day", schedule.getString("every"));
+        assertFalse(schedule.has("anchor"));
+        assertFalse(schedule.has("anchorZone"));
+    }
+
+    @Test
+    public void testPayloadOfNotificationStoredInOldFormat() throws JSONException {
+        JSObject legacy = new JSObject().put("id", 2).put("title", "Old").put("schedule", new JSObject().put("every", "day"));
+        context.getSharedPreferences("NOTIFICATION_STORE", Context.MODE_PRIVATE).edit().putString("2", legacy.toString()).commit();
+
+        JSObject notification = manager.handleNotificationActionPerformed(tapIntent(2, false), storage).getJSObject("notification");
+
+        assertEquals(RecordCodec.GSON.toJson(storage.getSavedNotification("2")), notification.toString());
+        assertEquals("Old", notification.getString("title"));
+        assertEquals("day", notification.getJSObject("schedule").getString("every"));
+    }
+
+    @Test
+    public void testPayloadMigratesOnlyRecordRead() throws JSONException {
+        JSObject first = new JSObject().put("id", 6).put("title", "Old").put("schedule", new JSObject().put("every", "day"));
+        JSObject second = new JSObject().put("id", 7).put("title", "Old").put("schedule", new JSObject().put("every", "week"));
+        context
+            .getSharedPreferences("NOTIFICATION_STORE", Context.MODE_PRIVATE)
+            .edit()
+            .putString("6", first.toString())
+            .putString("7", second.toString())
+            .commit();
+
+        assertEquals("Old", new JSObject(storage.getSavedNotificationPayload("6")).getString("title"));
+        assertEquals(second.toString(), storage.getSavedNotificationJson("7"));
+
+        storage.migrateSavedNotifications();
+
+        assertEquals(RecordCodec.GSON.toJson(storage.getSavedNotification("7")), storage.getSavedNotificationJson("7"));
+        assertEquals(storage.getSavedNotificationJson("6"), storage.getSavedNotificationPayload("6"));
+    }
+
+    @Test
+    public void testTapFromSnapshotDoesNotReadStorage() throws JSONException {
+        when(pluginConfig.getBoolean("actionSnapshots", false)).thenReturn(true);
+        storage.appendNotifications(List.of(newNotification(3)));
+        // Posted right away without a schedule, its intents are built the same way
+        LocalNotification posted = newNotification(3);
+        posted.setSchedule(null);
+        Intent tap = postedTapIntent(posted);
+        assertEquals(RecordCodec.GSON.toJson(posted), tap.getStringExtra(LocalNotificationManager.NOTIFICATION_SNAPSHOT_INTENT_KEY));
+
+        NotificationStorage spied = spy(storage);
+        List<Runnable> cleanups = new ArrayList<>();
+        JSObject data = manager.handleNotificationActionPerformed(tap, spied, cleanups::add);
+
+        assertEquals("Title 3", data.getJSObject("notification").getString("title"));
+        verify(spied, never()).getSavedNotificationPayload(anyString());
+        // Removed once the cleanup runs
+        assertNotNull(storage.getSavedNotificationJson("3"));
+        assertEquals(1, cleanups.size());
+        cleanups.get(0).run();
+        assertNull(storage.getSavedNotificationJson("3"));
+    }
+
+    @Test
+    public void testSnapshotTapLeavesStoreToCleanup() throws JSONException {
+        when(pluginConfig.getBoolean("actionSnapshots", false)).thenReturn(true);
+        LocalNotification posted = newNotification(8);
+        storage.appendNotifications(List.of(posted));
+        storage.appendMessages(8, List.of(new LocalNotificationMessage()));
+        posted.setSchedule(null);
+        Intent tap = postedTapIntent(posted);
+
+        NotificationStorage spied = spy(storage);
+        List<Runnable> cleanups = new ArrayList<>();
+        manager.handleNotificationActionPerformed(tap, spied, cleanups::add);
+
+        verifyNoInteractions(spied);
+        cleanups.forEach(Runnable::run);
+        assertNull(storage.getSavedNotificationJson("8"));
+        assertTrue(storage.getMessages(8).isEmpty());
+    }
+
+    @Test
+    public void testLargeNotificationHasNoSnapshot() throws JSONException {
+        when(pluginConfig.getBoolean("actionSnapshots", false)).thenReturn(true);
+        LocalNotification notification = newNotification(4);
+        notification.setBody("x".repeat(LocalNotificationManager.MAX_SNAPSHOT_LENGTH));
+        storage.appendNotifications(List.of(notification));
+        notification.setSchedule(null);
+        Intent tap = postedTapIntent(notification);
+        assertNull(tap.getStringExtra(LocalNotificationManager.NOTIFICATION_SNAPSHOT_INTENT_KEY));
+
+        // Read and removed from storage synchronously, only the conversation is left to the cleanup
+        List<Runnable> cleanups = new ArrayList<>();
+        JSObject data = manager.handleNotificationActionPerformed(tap, storage, cleanups::add);
+
+        assertEquals("Title 4", data.getJSObject("notification").getString("title"));
+        assertNull(storage.getSavedNotificationJson("4"));
+        assertEquals(1, cleanups.size());
+    }
+
+    @Test
+    public void testNoSnapshotByDefault() throws JSONException {
+        LocalNotification notification = newNotification(5);
+        notification.setSchedule(null);
+        Intent tap = postedTapIntent(notification);
+
+        assertEquals(5, tap.getIntExtra(LocalNotificationManager.NOTIFICATION_INTENT_KEY, 0));
+        assertFalse(tap.hasExtra(LocalNotificationManager.NOTIFICATION_SNAPSHOT_INTENT_KEY));
+    }
+
+    @Test
+    public void testStoredPayloadMatchesDecodedRecord() throws JSONException {
+        List<LocalNotification> notifications = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            notifications.add(newNotification(i));
+        }
+        storage.appendNotifications(notifications);
+
+        for (int i = 1; i <= 10; i++) {
+            String key = Integer.toString(i);
+            JSObject decoded = new JSObject(RecordCodec.GSON.toJson(storage.getSavedNotification(key)));
+            assertEquals(decoded.toString(), new JSObject(storage.getSavedNotificationPayload(key)).toString());
+            JSObject data = manager.handleNotificationActionPerformed(tapIntent(i, false), storage);
+            assertEquals(decoded.toString(), data.getJSObject("notification").toString());
+        }
+    }
+
+    /**
+     * Intent the notification sends when tapped, posted right away when it has no schedule
+     */
+    private Intent postedTapIntent(LocalNotification notification) {
+        assertNotNull(manager.schedule(null, List.of(notification)));
+        Notification posted = platform.getPostedNotifications().get(notification.getId());
+        return shadowOf(posted.contentIntent).getSavedIntent();
+    }
+
+    private Intent tapIntent(int id, boolean removable) {
+        Intent intent = new Intent(context, LocalNotificationsPlugin.class);
+        intent.putExtra(LocalNotificationManager.NOTIFICATION_INTENT_KEY, id);
+        intent.putExtra(LocalNotificationManager.ACTION_INTENT_KEY, "tap");
+        intent.putExtra(LocalNotificationManager.NOTIFICATION_IS_REMOVABLE_KEY, removable);
+        return intent;
+    }
+
+    private static LocalNotification newNotification(int id) throws JSONException {
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setAt(new Date(System.currentTimeMillis() + 3_600_000L));
+        LocalNotification notification = new LocalNotification();
+        notification.setId(id);
+        notification.setTitle("Title " + id);
+        notification.setBody("Body of notification " + id);
+        notification.setActionTypeId("reply");
+        notification.setGroup("group");
+        notification.setExtra(new JSObject().put("orderId", 1000 + id).put("tags", "a,b,c"));
+        notification.setSchedule(schedule);
+        return notification;
+    }
+}
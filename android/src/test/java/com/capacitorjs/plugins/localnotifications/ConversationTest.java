@@ -0,0 +1,212 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import android.app.Activity;
+import android.content.Context;
+import androidx.core.app.NotificationCompat;
+import com.getcapacitor.CapConfig;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginConfig;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class ConversationTest {
+
+    private Context context;
+    private SimulatedPlatformGateway platform;
+    private NotificationStorage storage;
+    private CapConfig config;
+    private LocalNotificationManager manager;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        platform = new SimulatedPlatformGateway(context, System.currentTimeMillis());
+        Platform.setGateway(platform);
+        config = mock(CapConfig.class);
+        PluginConfig pluginConfig = mock(PluginConfig.class);
+        // Default values, posts are not throttled
+        when(pluginConfig.getString(anyString(), anyString())).thenAnswer(invocation -> invocation.getArgument(1));
+        when(config.getPluginConfiguration(anyString())).thenReturn(pluginConfig);
+        storage = new NotificationStorage(context);
+        manager = new LocalNotificationManager(storage, mock(Activity.class), context, config);
+    }
+
+    @After
+    public void tearDown() {
+        manager.releaseLiveNotifications();
+        Platform.setGateway(null);
+    }
+
+    @Test
+    public void testPostsConversationWithMessagingStyle() {
+        scheduleConversation(1, message("Alice", "Hi"), message(null, "Hello"));
+
+        NotificationCompat.MessagingStyle style = postedStyle(1);
+
+        assertEquals("Chat 1", style.getConversationTitle().toString());
+        assertEquals("You", style.getUser().getName().toString());
+        assertEquals(2, style.getMessages().size());
+        assertEquals("Alice", style.getMessages().get(0).getPerson().getName().toString());
+        assertNull(style.getMessages().get(1).getPerson());
+    }
+
+    @Test
+    public void testAppendsMessageToLiveConversation() {
+        scheduleConversation(2, message("Alice", "Hi"));
+
+        assertTrue(manager.appendMessage(2, message("Bob", "Hey")));
+
+        List<NotificationCompat.MessagingStyle.Message> messages = postedStyle(2).getMessages();
+        assertEquals(2, messages.size());
+        assertEquals("Hey", messages.get(1).getText().toString());
+    }
+
+    @Test
+    public void testKeepsLatestMessagesInMemoryAndStorage() throws JSONException {
+        scheduleConversation(3, message("Alice", "0"));
+        for (int i = 1; i < 2 * NotificationStorage.MAX_MESSAGES; i++) {
+            manager.appendMessage(3, message("Alice", Integer.toString(i)));
+        }
+
+        List<NotificationCompat.MessagingStyle.Message> messages = postedStyle(3).getMessages();
+        assertEquals(NotificationStorage.MAX_MESSAGES, messages.size());
+        assertEquals(Integer.toString(NotificationStorage.MAX_MESSAGES), messages.get(0).getText().toString());
+        String stored = context.getSharedPreferences("NOTIFICATION_MESSAGES", Context.MODE_PRIVATE).getString("3", null);
+        JSONArray persisted = new JSONArray(stored);
+        assertEquals(NotificationStorage.MAX_MESSAGES, persisted.length());
+        assertEquals(Integer.toString(2 * NotificationStorage.MAX_MESSAGES - 1), persisted.getJSONObject(24).getString("text"));
+    }
+
+    @Test
+    public void testScheduleAgainContinuesConversation() {
+        // e.g. after the app restarted, only the new message is sent
+        scheduleConversation(4, message("Alice", "Hi"));
+        manager.releaseLiveNotifications();
+        assertFalse(manager.appendMessage(4, message("Alice", "Lost")));
+
+        scheduleConversation(4, message("Alice", "Still there?"));
+
+        List<NotificationCompat.MessagingStyle.Message> messages = postedStyle(4).getMessages();
+        assertEquals(2, messages.size());
+        assertEquals("Hi", messages.get(0).getText().toString());
+    }
+
+    @Test
+    public void testDismissalEndsConversation() {
+        scheduleConversation(5, message("Alice", "Hi"));
+
+        storage.deleteMessages(List.of("5"));
+        platform.cancelNotification(5);
+        manager.endLiveNotifications(5);
+
+        assertFalse(manager.appendMessage(5, message("Alice", "Again")));
+        assertTrue(storage.getMessages(5).isEmpty());
+        assertFalse(context.getSharedPreferences("NOTIFICATION_MESSAGES", Context.MODE_PRIVATE).contains("5"));
+    }
+
+    @Test
+    public void testOnlyConversationsAcceptMessages() {
+        LocalNotification notification = new LocalNotification();
+        notification.setId(6);
+        notification.setTitle("Not a chat");
+        manager.schedule(null, List.of(notification));
+
+        assertFalse(manager.appendMessage(6, message("Alice", "Hi")));
+        assertTrue(storage.getMessages(6).isEmpty());
+    }
+
+    @Test
+    public void testFailedScheduleLeavesHistoryUnchanged() throws JSONException {
+        scheduleConversation(8, message("Alice", "Hi"));
+        LocalNotificationsPlugin plugin = loadPlugin();
+        JSArray messages = new JSArray();
+        messages.put(new JSObject().put("sender", "Alice").put("text", "Still there?"));
+        JSArray notifications = new JSArray();
+        notifications.put(new JSObject().put("id", 8).put("title", "Chat 8").put("messages", messages));
+        PluginCall call = mock(PluginCall.class);
+        when(call.getArray("notifications")).thenReturn(notifications);
+        platform.setNotificationsEnabled(false);
+
+        plugin.schedule(call);
+
+        verify(call).reject("Notifications not enabled on this device");
+        assertEquals(1, storage.getMessages(8).size());
+
+        platform.setNotificationsEnabled(true);
+        plugin.schedule(call);
+
+        verify(call).resolve(any(JSObject.class));
+        assertEquals(2, storage.getMessages(8).size());
+        assertEquals("Still there?", postedStyle(8).getMessages().get(1).getText().toString());
+        plugin.handleOnDestroy();
+    }
+
+    @Test
+    public void testEqualityIncludesMessages() {
+        LocalNotificationMessage hi = message("Alice", "Hi");
+        LocalNotification first = new LocalNotification();
+        first.setId(7);
+        first.setMessages(List.of(hi));
+        LocalNotification second = new LocalNotification();
+        second.setId(7);
+        second.setMessages(List.of(hi.copy()));
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+
+        second.setMessages(List.of(message("Alice", "Bye")));
+
+        assertNotEquals(first, second);
+    }
+
+    /**
+     * Schedule a conversation posted right away the way the plugin does, its messages appended to
+     * the history once it is scheduled
+     */
+    private void scheduleConversation(int id, LocalNotificationMessage... messages) {
+        LocalNotification notification = new LocalNotification();
+        notification.setId(id);
+        notification.setTitle("Chat " + id);
+        notification.setMessages(List.of(messages));
+        List<LocalNotificationMessage> conversation = storage.getMessagesWith(id, notification.getMessages());
+        assertNotNull(manager.schedule(null, List.of(notification), Map.of(id, conversation)));
+        storage.appendMessages(id, notification.getMessages());
+    }
+
+    private LocalNotificationsPlugin loadPlugin() {
+        return TestPlugins.load(context, new LocalNotificationsPlugin(), config);
+    }
+
+    private NotificationCompat.MessagingStyle postedStyle(int id) {
+        NotificationCompat.MessagingStyle style = NotificationCompat.MessagingStyle.extractMessagingStyleFromNotification(
+            platform.getPostedNotifications().get(id)
+        );
+        assertNotNull(style);
+        return style;
+    }
+
+    private static LocalNotificationMessage message(String sender, String text) {
+        LocalNotificationMessage message = new LocalNotificationMessage();
+        message.setSender(sender);
+        message.setText(text);
+        message.setTimestamp(System.currentTimeMillis());
+        return message;
+    }
+}
@@ -0,0 +1,159 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Application;
+import android.content.Intent;
+import android.os.Looper;
+import android.webkit.WebView;
+import com.getcapacitor.Bridge;
+import com.getcapacitor.JSObject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class DismissDispatchTest {
+
+    private static final int ROUNDS = 3;
+
+    /**
+     * Plugin recording the events it emits, with JavaScript listening to the events in
+     * {@code listening}
+     */
+    public static class RecordingPlugin extends LocalNotificationsPlugin {
+
+        final List<String> events = new ArrayList<>();
+        final List<JSObject> data = new ArrayList<>();
+        final Set<String> listening = new HashSet<>();
+
+        @Override
+        protected boolean hasListeners(String eventName) {
+            return listening.contains(eventName);
+        }
+
+        @Override
+        protected void notifyListeners(String eventName, JSObject eventData, boolean retainUntilConsumed) {
+            events.add(eventName);
+            data.add(eventData);
+        }
+    }
+
+    private Application context;
+    private Bridge bridge;
+    private RecordingPlugin plugin;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        plugin = new RecordingPlugin();
+        plugin.listening.add("localNotificationsDismissedBatch");
+        plugin.listening.add("localNotificationDismissed");
+        TestPlugins.load(context, plugin);
+        bridge = plugin.getBridge();
+        Metrics.setEnabled(true);
+        Metrics.reset();
+    }
+
+    @After
+    public void tearDown() {
+        plugin.handleOnDestroy();
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    @Test
+    public void testDispatchesToLoadedPluginWithoutBroadcast() throws JSONException {
+        setWebViewAttached(true);
+
+        dismiss(1, 2);
+
+        assertEquals(List.of("localNotificationsDismissedBatch", "localNotificationDismissed", "localNotificationDismissed"), plugin.events);
+        assertIds(plugin.data.get(0), 1, 2);
+        assertEquals(0, dismissBroadcastsSent());
+        assertEquals(0, Metrics.getCounter(Metrics.Counter.DISMISS_BROADCASTS));
+        assertEquals(1, Metrics.getTimer(Metrics.Timer.DISMISS_DISPATCH).getCount());
+    }
+
+    @Test
+    public void testFallsBackToBroadcastWhenPluginIsNotLoaded() throws JSONException {
+        setWebViewAttached(false);
+
+        dismiss(1, 2);
+
+        // Delivered by the receiver the plugin registered
+        assertEquals(1, dismissBroadcastsSent());
+        assertEquals("localNotificationsDismissedBatch", plugin.events.get(0));
+        assertIds(plugin.data.get(0), 1, 2);
+        assertEquals(1, Metrics.getCounter(Metrics.Counter.DISMISS_BROADCASTS));
+        assertEquals(1, Metrics.getTimer(Metrics.Timer.DISMISS_DISPATCH).getCount());
+    }
+
+    @Test
+    public void testDeliversEachBatchWhenItsWindowCloses() {
+        for (boolean attached : new boolean[] { false, true }) {
+            setWebViewAttached(attached);
+            for (int i = 0; i < ROUNDS; i++) {
+                plugin.events.clear();
+                new NotificationDismissReceiver().onReceive(context, dismissIntent(i));
+                shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(DismissBatcher.WINDOW_MS - 1));
+                assertTrue("Delivered before the window closed", plugin.events.isEmpty());
+
+                shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(1));
+                shadowOf(Looper.getMainLooper()).idle();
+                assertEquals("localNotificationsDismissedBatch", plugin.events.get(0));
+            }
+        }
+        assertEquals(2 * ROUNDS, Metrics.getTimer(Metrics.Timer.DISMISS_DISPATCH).getCount());
+        assertEquals(ROUNDS, Metrics.getCounter(Metrics.Counter.DISMISS_BROADCASTS));
+    }
+
+    private void setWebViewAttached(boolean attached) {
+        when(bridge.getWebView()).thenReturn(attached ? mock(WebView.class) : null);
+    }
+
+    private void dismiss(int... ids) {
+        for (int id : ids) {
+            new NotificationDismissReceiver().onReceive(context, dismissIntent(id));
+        }
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(DismissBatcher.WINDOW_MS));
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    private Intent dismissIntent(int id) {
+        Intent intent = new Intent(context, NotificationDismissReceiver.class);
+        intent.putExtra(LocalNotificationManager.NOTIFICATION_INTENT_KEY, id);
+        intent.putExtra(LocalNotificationManager.NOTIFICATION_IS_REMOVABLE_KEY, true);
+        return intent;
+    }
+
+    private long dismissBroadcastsSent() {
+        return shadowOf(context)
+            .getBroadcastIntents()
+            .stream()
+            .filter(intent -> LocalNotificationManager.NOTIFICATION_DISMISSED_ACTION.equals(intent.getAction()))
+            .count();
+    }
+
+    private static void assertIds(JSObject event, int... expected) throws JSONException {
+        JSONArray ids = event.getJSONArray("notificationIds");
+        assertEquals(expected.length, ids.length());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], ids.getInt(i));
+        }
+    }
+}
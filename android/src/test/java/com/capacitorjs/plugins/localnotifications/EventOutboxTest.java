@@ -0,0 +1,193 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Looper;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.PluginCall;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import org.json.JSONException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class EventOutboxTest {
+
+    private Context context;
+    private EventOutbox outbox;
+    private DismissDispatchTest.RecordingPlugin plugin;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        outbox = new EventOutbox(context);
+        outbox.drain();
+    }
+
+    @After
+    public void tearDown() {
+        if (plugin != null) {
+            plugin.handleOnDestroy();
+        }
+    }
+
+    @Test
+    public void testDrainsEventsInOrderAndEmpties() throws JSONException {
+        outbox.append("localNotificationReceived", new JSObject().put("id", 1));
+        outbox.append("localNotificationReceived", new JSObject().put("id", 2));
+
+        List<EventOutbox.Event> events = outbox.drain();
+
+        assertEquals(2, events.size());
+        assertEquals("localNotificationReceived", events.get(0).name);
+        assertEquals(1, events.get(0).data.getInt("id"));
+        assertEquals(2, events.get(1).data.getInt("id"));
+        assertTrue(outbox.drain().isEmpty());
+    }
+
+    @Test
+    public void testSkipsEventCutShort() throws IOException, JSONException {
+        outbox.append("localNotificationReceived", new JSObject().put("id", 1));
+        try (FileOutputStream out = new FileOutputStream(outboxFile(), true)) {
+            out.write("localNotificationReceived\t{\"id\":".getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<EventOutbox.Event> events = outbox.drain();
+
+        assertEquals(1, events.size());
+        assertEquals(1, events.get(0).data.getInt("id"));
+    }
+
+    @Test
+    public void testEvictsOldestEventsWhenFull() throws JSONException {
+        String body = "x".repeat(1000);
+        int count = 2 * EventOutbox.MAX_BYTES / body.length();
+        for (int i = 0; i < count; i++) {
+            outbox.append("localNotificationReceived", new JSObject().put("id", i).put("body", body));
+            assertTrue(outboxFile().length() <= EventOutbox.MAX_BYTES);
+        }
+
+        List<EventOutbox.Event> events = outbox.drain();
+
+        assertTrue(events.size() < count);
+        assertEquals(count - 1, events.get(events.size() - 1).data.getInt("id"));
+        for (int i = 1; i < events.size(); i++) {
+            assertEquals(events.get(i - 1).data.getInt("id") + 1, events.get(i).data.getInt("id"));
+        }
+    }
+
+    @Test
+    public void testKeepsEventsFiredWithoutPlugin() throws JSONException {
+        LocalNotificationsPlugin.fireReceived(context, 7, () -> "{\"id\":7}");
+        dismiss(1, 2);
+
+        List<EventOutbox.Event> events = outbox.drain();
+
+        assertEquals(2, events.size());
+        assertEquals("localNotificationReceived", events.get(0).name);
+        assertEquals(7, events.get(0).data.getInt("id"));
+        assertEquals("localNotificationsDismissedBatch", events.get(1).name);
+        assertEquals(2, events.get(1).data.getJSONArray("notificationIds").length());
+    }
+
+    @Test
+    public void testPluginDeliversOutboxToListeners() throws JSONException {
+        outbox.append("localNotificationsDismissedBatch", dismissedBatch(1, 2));
+        JSObject schedule = new JSObject().put("every", "day").put("anchor", 1_700_000_000_000L);
+        schedule.put("anchorZone", "UTC");
+        outbox.append("localNotificationReceived", new JSObject().put("id", 5).put("schedule", schedule));
+        outbox.append("localNotificationsDismissedBatch", dismissedBatch(3));
+
+        loadPlugin();
+        // Kept until JavaScript listens
+        assertTrue(plugin.events.isEmpty());
+        listen("localNotificationReceived");
+        assertEquals(List.of("localNotificationReceived"), plugin.events);
+        assertEquals(5, plugin.data.get(0).getInt("id"));
+        assertEquals("{\"every\":\"day\"}", plugin.data.get(0).getJSObject("schedule").toString());
+
+        listen("localNotificationsDismissedBatch");
+
+        assertEquals(List.of("localNotificationReceived", "localNotificationsDismissedBatch"), plugin.events);
+        assertEquals(3, plugin.data.get(1).getJSONArray("notificationIds").length());
+        assertTrue(outbox.drain().isEmpty());
+    }
+
+    @Test
+    public void testKeepsOutboxWhenPluginUnloadsBeforeListening() throws JSONException {
+        outbox.append("localNotificationReceived", new JSObject().put("id", 5));
+
+        loadPlugin();
+        plugin.handleOnDestroy();
+
+        List<EventOutbox.Event> events = outbox.drain();
+        assertEquals(1, events.size());
+        assertEquals(5, events.get(0).data.getInt("id"));
+    }
+
+    @Test
+    public void testDeliversOutboxBeyondRetentionCap() throws JSONException {
+        int count = 3 * RetainedEvents.MAX_PER_EVENT;
+        for (int i = 0; i < count; i++) {
+            outbox.append("localNotificationReceived", new JSObject().put("id", i));
+        }
+
+        loadPlugin();
+        listen("localNotificationReceived");
+
+        assertEquals(count, plugin.data.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, plugin.data.get(i).getInt("id"));
+        }
+    }
+
+    private void listen(String eventName) {
+        PluginCall call = mock(PluginCall.class);
+        when(call.getString("eventName")).thenReturn(eventName);
+        plugin.listening.add(eventName);
+        plugin.addListener(call);
+    }
+
+    private void loadPlugin() {
+        plugin = TestPlugins.load(context, new DismissDispatchTest.RecordingPlugin());
+    }
+
+    private void dismiss(int... ids) {
+        for (int id : ids) {
+            Intent intent = new Intent(context, NotificationDismissReceiver.class);
+            intent.putExtra(LocalNotificationManager.NOTIFICATION_INTENT_KEY, id);
+            new NotificationDismissReceiver().onReceive(context, intent);
+        }
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(DismissBatcher.WINDOW_MS));
+    }
+
+    private File outboxFile() {
+        return new File(context.getNoBackupFilesDir(), EventOutbox.FILE_NAME);
+    }
+
+    private static JSObject dismissedBatch(int... ids) {
+        JSArray notificationIds = new JSArray();
+        for (int id : ids) {
+            notificationIds.put(id);
+        }
+        JSObject batch = new JSObject();
+        batch.put("notificationIds", notificationIds);
+        return batch;
+    }
+}
@@ -0,0 +1,187 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Activity;
+import android.app.Notification;
+import android.content.Context;
+import android.os.Bundle;
+import android.os.Looper;
+import com.getcapacitor.CapConfig;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.PluginConfig;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class LiveNotificationsTest {
+
+    private static final long INTERVAL_MS = 1000 / LiveNotifications.DEFAULT_UPDATES_PER_SECOND;
+
+    private SimulatedPlatformGateway platform;
+    private LocalNotificationManager manager;
+
+    @Before
+    public void setUp() {
+        Context context = RuntimeEnvironment.getApplication();
+        platform = new SimulatedPlatformGateway(context, System.currentTimeMillis());
+        Platform.setGateway(platform);
+        CapConfig config = mock(CapConfig.class);
+        PluginConfig pluginConfig = mock(PluginConfig.class);
+        when(pluginConfig.getInt("liveUpdatesPerSecond", LiveNotifications.DEFAULT_UPDATES_PER_SECOND)).thenReturn(
+            LiveNotifications.DEFAULT_UPDATES_PER_SECOND
+        );
+        when(config.getPluginConfiguration(anyString())).thenReturn(pluginConfig);
+        manager = new LocalNotificationManager(new NotificationStorage(context), mock(Activity.class), context, config);
+        Metrics.setEnabled(true);
+        Metrics.reset();
+    }
+
+    @After
+    public void tearDown() {
+        manager.releaseLiveNotifications();
+        Platform.setGateway(null);
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    @Test
+    public void testPostsProgressOfNewNotification() {
+        LocalNotification notification = newNotification(1);
+        notification.setProgress(progress(10, 200));
+
+        manager.schedule(null, List.of(notification));
+
+        Bundle extras = posted(1).extras;
+        assertEquals(10, extras.getInt(Notification.EXTRA_PROGRESS));
+        assertEquals(200, extras.getInt(Notification.EXTRA_PROGRESS_MAX));
+    }
+
+    @Test
+    public void testPostsOnlyChangedUpdates() throws JSONException {
+        manager.schedule(null, List.of(newNotification(2)));
+        idle(INTERVAL_MS);
+
+        assertTrue(manager.update(2, new JSObject().put("progress", progressJson(20))));
+        assertTrue(manager.update(2, new JSObject().put("title", "Title 2").put("progress", progressJson(20))));
+
+        assertEquals(2, Metrics.getCounter(Metrics.Counter.LIVE_UPDATES));
+        assertEquals(1, Metrics.getCounter(Metrics.Counter.LIVE_POSTS));
+        assertEquals(20, posted(2).extras.getInt(Notification.EXTRA_PROGRESS));
+        assertEquals("Title 2", posted(2).extras.getCharSequence(Notification.EXTRA_TITLE).toString());
+    }
+
+    @Test
+    public void testCoalescesUpdatesWithinInterval() throws JSONException {
+        manager.schedule(null, List.of(newNotification(3)));
+
+        // 20 updates per second for a second, then a final body change
+        for (int i = 1; i <= 20; i++) {
+            manager.update(3, new JSObject().put("progress", progressJson(i * 5)));
+            idle(50);
+        }
+        manager.update(3, new JSObject().put("body", "Done"));
+        idle(INTERVAL_MS);
+
+        assertEquals(21, Metrics.getCounter(Metrics.Counter.LIVE_UPDATES));
+        assertTrue(Metrics.getCounter(Metrics.Counter.LIVE_POSTS) <= LiveNotifications.DEFAULT_UPDATES_PER_SECOND + 1);
+        assertEquals(100, posted(3).extras.getInt(Notification.EXTRA_PROGRESS));
+        assertEquals("Done", posted(3).extras.getCharSequence(Notification.EXTRA_TEXT).toString());
+    }
+
+    @Test
+    public void testNullProgressRemovesBar() throws JSONException {
+        LocalNotification notification = newNotification(4);
+        notification.setProgress(progress(50, 100));
+        manager.schedule(null, List.of(notification));
+        idle(INTERVAL_MS);
+
+        manager.update(4, new JSObject().put("progress", JSONObject.NULL));
+
+        assertEquals(0, posted(4).extras.getInt(Notification.EXTRA_PROGRESS_MAX));
+        assertEquals(1, Metrics.getCounter(Metrics.Counter.LIVE_POSTS));
+    }
+
+    @Test
+    public void testOnlyNotificationsShownRightAwayAreLive() throws JSONException {
+        LocalNotification scheduled = newNotification(5);
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setAt(new Date(platform.currentTimeMillis() + 3_600_000L));
+        scheduled.setSchedule(schedule);
+        manager.schedule(null, List.of(scheduled));
+
+        assertFalse(manager.update(5, new JSObject().put("title", "New")));
+        assertFalse(manager.update(6, new JSObject().put("title", "New")));
+    }
+
+    @Test
+    public void testDropsPendingUpdateOfDismissedNotification() throws JSONException {
+        manager.schedule(null, List.of(newNotification(7)));
+        manager.update(7, new JSObject().put("progress", progressJson(40)));
+        platform.cancelNotification(7);
+
+        manager.endLiveNotifications(7);
+        idle(INTERVAL_MS);
+
+        assertEquals(0, Metrics.getCounter(Metrics.Counter.LIVE_POSTS));
+        assertFalse(platform.getPostedNotifications().containsKey(7));
+        assertFalse(manager.update(7, new JSObject().put("progress", progressJson(50))));
+    }
+
+    @Test
+    public void testEqualityIncludesProgress() {
+        LocalNotification first = newNotification(6);
+        LocalNotification second = newNotification(6);
+        first.setProgress(progress(10, 100));
+        second.setProgress(progress(10, 100));
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+
+        second.setProgress(progress(20, 100));
+
+        assertNotEquals(first, second);
+    }
+
+    private Notification posted(int id) {
+        Notification notification = platform.getPostedNotifications().get(id);
+        assertNotNull(notification);
+        return notification;
+    }
+
+    private static void idle(long millis) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(millis));
+    }
+
+    private static LocalNotification newNotification(int id) {
+        LocalNotification notification = new LocalNotification();
+        notification.setId(id);
+        notification.setTitle("Title " + id);
+        notification.setBody("Downloading");
+        return notification;
+    }
+
+    private static LocalNotificationProgress progress(int value, int max) {
+        LocalNotificationProgress progress = new LocalNotificationProgress();
+        progress.setValue(value);
+        progress.setMax(max);
+        return progress;
+    }
+
+    private static JSObject progressJson(int value) throws JSONException {
+        return new JSObject().put("value", value).put("max", 100);
+    }
+}
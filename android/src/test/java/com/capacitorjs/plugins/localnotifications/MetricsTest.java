@@ -0,0 +1,65 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class MetricsTest {
+
+    @After
+    public void tearDown() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    @Test
+    public void testDisabledRecordsNothing() {
+        Metrics.setEnabled(false);
+
+        long start = Metrics.start();
+        Metrics.stop(Metrics.Timer.SCHEDULE, start);
+        Metrics.increment(Metrics.Counter.NOTIFICATIONS_SCHEDULED);
+
+        assertEquals(Metrics.NOT_STARTED, start);
+        assertEquals(0, Metrics.getTimer(Metrics.Timer.SCHEDULE).getCount());
+        assertEquals(0, Metrics.getCounter(Metrics.Counter.NOTIFICATIONS_SCHEDULED));
+    }
+
+    @Test
+    public void testEnabledRecordsTimersAndCounters() {
+        Metrics.setEnabled(true);
+
+        long start = Metrics.start();
+        Metrics.stop(Metrics.Timer.STORAGE_READ, start);
+        Metrics.add(Metrics.Counter.NOTIFICATIONS_CANCELLED, 3);
+        Metrics.increment(Metrics.Counter.NOTIFICATIONS_CANCELLED);
+
+        assertEquals(1, Metrics.getTimer(Metrics.Timer.STORAGE_READ).getCount());
+        assertEquals(0, Metrics.getTimer(Metrics.Timer.STORAGE_WRITE).getCount());
+        assertEquals(4, Metrics.getCounter(Metrics.Counter.NOTIFICATIONS_CANCELLED));
+    }
+
+    @Test
+    public void testTimingStartedWhileEnabledIsKeptAfterDisabling() {
+        Metrics.setEnabled(true);
+        long start = Metrics.start();
+        Metrics.setEnabled(false);
+
+        Metrics.stop(Metrics.Timer.PARSE, start);
+
+        assertEquals(1, Metrics.getTimer(Metrics.Timer.PARSE).getCount());
+    }
+
+    @Test
+    public void testReset() {
+        Metrics.setEnabled(true);
+        Metrics.stop(Metrics.Timer.CANCEL, Metrics.start());
+        Metrics.increment(Metrics.Counter.PARSE_ERRORS);
+
+        Metrics.reset();
+
+        assertEquals(0, Metrics.getTimer(Metrics.Timer.CANCEL).getCount());
+        assertEquals(0, Metrics.getCounter(Metrics.Counter.PARSE_ERRORS));
+    }
+}
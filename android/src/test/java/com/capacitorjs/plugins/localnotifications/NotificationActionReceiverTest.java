@@ -0,0 +1,235 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Notification;
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import androidx.appcompat.app.AppCompatActivity;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.PluginCall;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowPackageManager;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class NotificationActionReceiverTest {
+
+    private Context context;
+    private SimulatedPlatformGateway platform;
+    private NotificationStorage storage;
+    private EventOutbox outbox;
+    private DismissDispatchTest.RecordingPlugin plugin;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        platform = new SimulatedPlatformGateway(context, System.currentTimeMillis());
+        Platform.setGateway(platform);
+        storage = new NotificationStorage(context);
+        outbox = new EventOutbox(context);
+        outbox.drain();
+
+        // Snoozed notifications are rebuilt without an activity, their tap opens the launcher one
+        ComponentName launcher = new ComponentName(context, AppCompatActivity.class);
+        IntentFilter launcherFilter = new IntentFilter(Intent.ACTION_MAIN);
+        launcherFilter.addCategory(Intent.CATEGORY_LAUNCHER);
+        ShadowPackageManager packageManager = shadowOf(context.getPackageManager());
+        packageManager.addActivityIfNotPresent(launcher);
+        packageManager.addIntentFilterForActivity(launcher, launcherFilter);
+    }
+
+    @After
+    public void tearDown() {
+        if (plugin != null) {
+            plugin.handleOnDestroy();
+        }
+        Platform.setGateway(null);
+    }
+
+    @Test
+    public void testForegroundOptionIsStoredWithActionType() throws JSONException {
+        JSArray actions = new JSArray();
+        actions.put(new JSObject().put("id", "done").put("title", "Mark as done").put("foreground", false));
+        actions.put(new JSObject().put("id", "open").put("title", "Open"));
+        actions.put(new JSObject().put("id", "later").put("title", "In 10 minutes").put("snoozeMinutes", 10));
+        JSArray types = new JSArray();
+        types.put(new JSObject().put("id", "task").put("actions", actions));
+
+        Map<String, NotificationAction[]> built = NotificationAction.buildTypes(types);
+        storage.writeActionGroup(built);
+        NotificationAction[] stored = storage.getActionGroup("task");
+
+        assertFalse(stored[0].isForeground());
+        assertTrue(stored[1].isForeground());
+        assertNull(stored[1].getSnoozeMinutes());
+        assertEquals(10, (int) stored[2].getSnoozeMinutes());
+    }
+
+    @Test
+    public void testReportsActionWithoutPluginThroughOutbox() throws JSONException {
+        storeAndPost(1);
+
+        new NotificationActionReceiver().onReceive(context, actionIntent(1, "done"));
+
+        assertFalse(platform.getPostedNotifications().containsKey(1));
+        assertNull(storage.getSavedNotificationJson("1"));
+        List<EventOutbox.Event> events = outbox.drain();
+        assertEquals(1, events.size());
+        assertEquals("localNotificationActionPerformed", events.get(0).name);
+        assertEquals("done", events.get(0).data.getString("actionId"));
+        assertEquals("Title 1", events.get(0).data.getJSObject("notification").getString("title"));
+    }
+
+    @Test
+    public void testDeliversActionToLoadedPlugin() throws JSONException {
+        loadPlugin();
+        plugin.listening.add("localNotificationActionPerformed");
+        storeAndPost(2);
+
+        new NotificationActionReceiver().onReceive(context, actionIntent(2, "done"));
+
+        assertEquals(List.of("localNotificationActionPerformed"), plugin.events);
+        assertEquals("done", plugin.data.get(0).getString("actionId"));
+        assertEquals(2, (int) plugin.data.get(0).getJSObject("notification").getInteger("id"));
+        assertTrue(outbox.drain().isEmpty());
+    }
+
+    @Test
+    public void testKeepsRepeatingNotificationStored() throws JSONException {
+        storeAndPost(3);
+        Intent intent = actionIntent(3, "done");
+        intent.putExtra(LocalNotificationManager.NOTIFICATION_IS_REMOVABLE_KEY, false);
+
+        new NotificationActionReceiver().onReceive(context, intent);
+
+        assertFalse(platform.getPostedNotifications().containsKey(3));
+        assertNotNull(storage.getSavedNotificationJson("3"));
+    }
+
+    @Test
+    public void testSnoozeReArmsDeliveredNotification() throws JSONException {
+        // Delivered one-shot notifications are no longer stored, re-armed from the snapshot
+        LocalNotification delivered = newNotification(4);
+        platform.notify(4, new Notification());
+        long now = platform.currentTimeMillis();
+
+        new NotificationActionReceiver().onReceive(context, snoozeIntent(delivered, 10));
+
+        assertFalse(platform.getPostedNotifications().containsKey(4));
+        assertEquals(now + 600_000L, (long) platform.getAlarmTrigger(4, new Intent(context, TimedNotificationPublisher.class)));
+        assertEquals(now + 600_000L, storage.getSavedNotification("4").getSchedule().getAt().getTime());
+        List<EventOutbox.Event> events = outbox.drain();
+        assertEquals(1, events.size());
+        assertEquals("localNotificationsSnoozed", events.get(0).name);
+        assertEquals("later", events.get(0).data.getString("actionId"));
+        assertEquals(now + 600_000L, events.get(0).data.getLong("at"));
+
+        platform.advanceBy(600_000L);
+        assertTrue(platform.getPostedNotifications().containsKey(4));
+    }
+
+    @Test
+    public void testDoesNotSnoozeRepeatingNotification() {
+        LocalNotification repeating = newNotification(5);
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setEvery("day");
+        repeating.setSchedule(schedule);
+        storage.appendNotifications(List.of(repeating));
+        platform.notify(5, new Notification());
+
+        new NotificationActionReceiver().onReceive(context, snoozeIntent(repeating, 10));
+
+        assertFalse(platform.getPostedNotifications().containsKey(5));
+        assertEquals(0, platform.getPendingAlarmCount());
+        assertEquals("day", storage.getSavedNotification("5").getSchedule().getEvery());
+        assertTrue(outbox.drain().isEmpty());
+    }
+
+    @Test
+    public void testMergesSnoozesUntilListenerIsAdded() throws JSONException {
+        loadPlugin();
+        new NotificationActionReceiver().onReceive(context, snoozeIntent(newNotification(6), 5));
+        new NotificationActionReceiver().onReceive(context, snoozeIntent(newNotification(7), 5));
+        new NotificationActionReceiver().onReceive(context, snoozeIntent(newNotification(6), 10));
+        assertTrue(plugin.events.isEmpty());
+
+        PluginCall call = mock(PluginCall.class);
+        when(call.getString("eventName")).thenReturn("localNotificationsSnoozed");
+        plugin.listening.add("localNotificationsSnoozed");
+        plugin.addListener(call);
+
+        assertEquals(List.of("localNotificationsSnoozed"), plugin.events);
+        JSONArray snoozed = plugin.data.get(0).getJSONArray("notifications");
+        assertEquals(2, snoozed.length());
+        assertEquals(7, snoozed.getJSONObject(0).getInt("id"));
+        assertEquals(6, snoozed.getJSONObject(1).getInt("id"));
+        assertEquals(platform.currentTimeMillis() + 600_000L, snoozed.getJSONObject(1).getLong("at"));
+    }
+
+    @Test
+    public void testDeliversEachActionBeforeReceiverReturns() throws JSONException {
+        loadPlugin();
+        plugin.listening.add("localNotificationActionPerformed");
+        for (int i = 0; i < 3; i++) {
+            storeAndPost(i);
+
+            new NotificationActionReceiver().onReceive(context, actionIntent(i, "done"));
+
+            assertEquals(i + 1, plugin.events.size());
+            assertEquals(i, (int) plugin.data.get(i).getJSObject("notification").getInteger("id"));
+            assertFalse(platform.getPostedNotifications().containsKey(i));
+        }
+        assertTrue(outbox.drain().isEmpty());
+    }
+
+    private void storeAndPost(int id) {
+        storage.appendNotifications(List.of(newNotification(id)));
+        platform.notify(id, new Notification());
+    }
+
+    private LocalNotification newNotification(int id) {
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setAt(new Date(platform.currentTimeMillis() + 3_600_000L));
+        LocalNotification notification = new LocalNotification();
+        notification.setId(id);
+        notification.setTitle("Title " + id);
+        notification.setSchedule(schedule);
+        return notification;
+    }
+
+    private Intent snoozeIntent(LocalNotification notification, int minutes) {
+        Intent intent = actionIntent(notification.getId(), "later");
+        intent.putExtra(LocalNotificationManager.SNOOZE_INTENT_KEY, minutes * 60_000L);
+        intent.putExtra(LocalNotificationManager.NOTIFICATION_SNAPSHOT_INTENT_KEY, RecordCodec.GSON.toJson(notification));
+        return intent;
+    }
+
+    private Intent actionIntent(int id, String actionId) {
+        Intent intent = new Intent(context, NotificationActionReceiver.class);
+        intent.putExtra(LocalNotificationManager.NOTIFICATION_INTENT_KEY, id);
+        intent.putExtra(LocalNotificationManager.ACTION_INTENT_KEY, actionId);
+        intent.putExtra(LocalNotificationManager.NOTIFICATION_IS_REMOVABLE_KEY, true);
+        return intent;
+    }
+
+    private void loadPlugin() {
+        plugin = TestPlugins.load(context, new DismissDispatchTest.RecordingPlugin());
+    }
+}
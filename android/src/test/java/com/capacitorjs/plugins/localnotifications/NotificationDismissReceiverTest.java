@@ -2,16 +2,22 @@ package com.capacitorjs.plugins.localnotifications;
 
 import static org.mockito.Mockito.*;
 import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
 
 import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
+import android.os.Looper;
+import java.time.Duration;
+import java.util.Arrays;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
 import org.robolectric.annotation.Config;
 
 @RunWith(RobolectricTestRunner.class)
@@ -32,6 +38,8 @@ public class NotificationDismissReceiverTest {
 
     private NotificationDismissReceiver receiver;
 
+    private LocalNotificationsPlugin plugin;
+
     @Before
     public void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -42,6 +50,19 @@ public class NotificationDismissReceiverTest {
             .thenReturn(mockSharedPreferences);
         when(mockSharedPreferences.edit()).thenReturn(mockEditor);
         when(mockEditor.remove(anyString())).thenReturn(mockEditor);
+
+        // A loaded plugin whose WebView is gone, dismissals reach it through the broadcast
+        plugin = TestPlugins.load(RuntimeEnvironment.getApplication(), new LocalNotificationsPlugin());
+        when(plugin.getBridge().getWebView()).thenReturn(null);
+    }
+
+    @After
+    public void tearDown() {
+        plugin.handleOnDestroy();
+    }
+
+    private void flushDismissBatch() {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(DismissBatcher.WINDOW_MS));
     }
 
     @Test
@@ -60,6 +81,7 @@ public class NotificationDismissReceiverTest {
 
         // Act
         receiver.onReceive(mockContext, mockIntent);
+        flushDismissBatch();
 
         // Assert
         verify(mockContext).getSharedPreferences("NOTIFICATION_STORE", Context.MODE_PRIVATE);
@@ -77,6 +99,7 @@ public class NotificationDismissReceiverTest {
 
         // Act
         receiver.onReceive(mockContext, mockIntent);
+        flushDismissBatch();
 
         // Assert
         verify(mockContext, never()).getSharedPreferences(anyString(), anyInt());
@@ -99,6 +122,7 @@ public class NotificationDismissReceiverTest {
 
         // Act
         receiver.onReceive(mockContext, mockIntent);
+        flushDismissBatch();
 
         // Assert
         verify(mockContext, never()).getSharedPreferences(anyString(), anyInt());
@@ -121,6 +145,7 @@ public class NotificationDismissReceiverTest {
 
         // Act
         receiver.onReceive(mockContext, mockIntent);
+        flushDismissBatch();
 
         // Assert
         verify(mockEditor).remove("0");
@@ -143,6 +168,7 @@ public class NotificationDismissReceiverTest {
 
         // Act
         receiver.onReceive(mockContext, mockIntent);
+        flushDismissBatch();
 
         // Assert
         verify(mockEditor).remove("-1");
@@ -150,7 +176,7 @@ public class NotificationDismissReceiverTest {
     }
 
     @Test
-    public void testOnReceive_multipleNotifications_handlesEachIndependently() {
+    public void testOnReceive_multipleNotifications_batchedIntoOneWrite() {
         // Arrange & Act - First notification
         when(mockIntent.getIntExtra(
             eq(LocalNotificationManager.NOTIFICATION_INTENT_KEY), 
@@ -170,11 +196,18 @@ public class NotificationDismissReceiverTest {
         )).thenReturn(200);
 
         receiver.onReceive(mockContext, mockIntent);
+        flushDismissBatch();
 
-        // Assert
+        // Assert - Dismissals within the batch window are removed with one write and one broadcast
         verify(mockEditor).remove("100");
         verify(mockEditor).remove("200");
-        verify(mockEditor, times(2)).apply();
+        verify(mockEditor, times(1)).apply();
+        verify(mockContext, times(1)).sendBroadcast(argThat(
+            (Intent broadcastIntent) -> Arrays.equals(
+                new int[] { 100, 200 },
+                broadcastIntent.getIntArrayExtra(LocalNotificationManager.NOTIFICATION_IDS_INTENT_KEY)
+            )
+        ));
     }
 
     @Test(expected = NullPointerException.class)
@@ -199,6 +232,7 @@ public class NotificationDismissReceiverTest {
 
         // Act
         receiver.onReceive(mockContext, mockIntent);
+        flushDismissBatch();
 
         // Assert - Verify correct storage name is used
         verify(mockContext).getSharedPreferences(
@@ -223,6 +257,7 @@ public class NotificationDismissReceiverTest {
 
         // Act
         receiver.onReceive(mockContext, mockIntent);
+        flushDismissBatch();
 
         // Assert - Verify call order
         org.mockito.InOrder inOrder = inOrder(mockSharedPreferences, mockEditor);
@@ -249,11 +284,15 @@ public class NotificationDismissReceiverTest {
 
         // Act
         receiver.onReceive(mockContext, mockIntent);
+        flushDismissBatch();
 
         // Assert - Verify broadcast was sent
         verify(mockContext).sendBroadcast(argThat(
             (Intent broadcastIntent) -> LocalNotificationManager.NOTIFICATION_DISMISSED_ACTION.equals(broadcastIntent.getAction())
-                && broadcastIntent.getIntExtra(LocalNotificationManager.NOTIFICATION_INTENT_KEY, -1) == notificationId
+                && Arrays.equals(
+                    new int[] { notificationId },
+                    broadcastIntent.getIntArrayExtra(LocalNotificationManager.NOTIFICATION_IDS_INTENT_KEY)
+                )
         ));
     }
 
@@ -275,6 +314,7 @@ public class NotificationDismissReceiverTest {
 
         // Act
         receiver.onReceive(mockContext, mockIntent);
+        flushDismissBatch();
 
         // Assert - Verify broadcast has correct package
         verify(mockContext).sendBroadcast(argThat(
@@ -298,6 +338,7 @@ public class NotificationDismissReceiverTest {
 
         // Act
         receiver.onReceive(mockContext, mockIntent);
+        flushDismissBatch();
 
         // Assert - Verify no broadcast sent
         verify(mockContext, never()).sendBroadcast(any(Intent.class));
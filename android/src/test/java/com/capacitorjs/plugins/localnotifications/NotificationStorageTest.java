@@ -15,6 +15,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.json.JSONException;
 import org.junit.Before;
 import org.junit.Test;
@@ -23,6 +24,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
 import org.robolectric.annotation.Config;
 
 @RunWith(RobolectricTestRunner.class)
@@ -274,5 +276,60 @@ public class NotificationStorageTest {
         verify(mockEditor).putString(eq("1"), anyString()); // Only scheduled one saved
         verify(mockEditor, never()).putString(eq("2"), anyString());
     }
-}
 
+    @Test
+    public void testScheduleIndex_tracksLocalTimeSchedules() {
+        // Arrange
+        NotificationStorage realStorage = new NotificationStorage(RuntimeEnvironment.getApplication());
+        List<LocalNotification> notifications = new ArrayList<>();
+        notifications.add(buildNotification(1, "day", null));
+        notifications.add(buildNotification(2, "minute", null));
+        LocalNotificationSchedule.ScheduleOn on = new LocalNotificationSchedule.ScheduleOn();
+        on.hour = CronField.of(9);
+        notifications.add(buildNotification(3, null, on));
+        notifications.add(buildNotification(4, null, null));
+
+        // Act
+        realStorage.appendNotifications(notifications);
+
+        // Assert: one-shot "at" and fixed-interval "every" don't depend on local time
+        Set<String> ids = realStorage.getLocalTimeNotificationIds();
+        assertEquals(2, ids.size());
+        assertTrue(ids.contains("1"));
+        assertTrue(ids.contains("3"));
+    }
+
+    @Test
+    public void testScheduleIndex_followsUpdatesAndDeletes() {
+        // Arrange
+        NotificationStorage realStorage = new NotificationStorage(RuntimeEnvironment.getApplication());
+        List<LocalNotification> notifications = new ArrayList<>();
+        notifications.add(buildNotification(1, "day", null));
+        notifications.add(buildNotification(2, "week", null));
+        realStorage.appendNotifications(notifications);
+
+        // Act: 1 becomes a one-shot notification, 2 is removed
+        List<LocalNotification> updated = new ArrayList<>();
+        updated.add(buildNotification(1, null, null));
+        realStorage.appendNotifications(updated);
+        realStorage.deleteNotification("2");
+
+        // Assert
+        assertTrue(realStorage.getLocalTimeNotificationIds().isEmpty());
+    }
+
+    private static LocalNotification buildNotification(int id, String every, LocalNotificationSchedule.ScheduleOn on) {
+        LocalNotification notification = new LocalNotification();
+        notification.setId(id);
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        if (every != null) {
+            schedule.setEvery(every);
+        } else if (on != null) {
+            schedule.setOn(on);
+        } else {
+            schedule.setAt(new Date(System.currentTimeMillis() + 10000));
+        }
+        notification.setSchedule(schedule);
+        return notification;
+    }
+}
@@ -0,0 +1,218 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import android.app.Activity;
+import android.content.Context;
+import com.getcapacitor.CapConfig;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginConfig;
+import java.util.List;
+import org.json.JSONException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class NotificationTemplateTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final long DAY = 24 * HOUR;
+    // 2024-01-01T00:00:00Z
+    private static final long START = 1_704_067_200_000L;
+    private static final int BATCH = 100;
+
+    private Context context;
+    private NotificationStorage storage;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        storage = new NotificationStorage(context);
+    }
+
+    @Test
+    public void testBuildsEntryFromTemplate() throws JSONException {
+        register("order");
+        JSObject entry = entry("order", 1, 1001);
+        entry.put("extra", new JSObject().put("orderId", 1001));
+
+        LocalNotification built = buildList(entry).get(0);
+
+        assertEquals(1, (int) built.getId());
+        assertEquals("Order 1001 shipped", built.getTitle());
+        assertEquals("Your order 1001 is on its way, {{unknown}}", built.getBody());
+        assertEquals("orders", built.getChannelId());
+        assertEquals("reply", built.getActionTypeId());
+        assertEquals(1001, built.getExtra().getInt("orderId"));
+        assertEquals("day", built.getSchedule().getEvery());
+    }
+
+    @Test
+    public void testBuildsSameNotificationAsFullEntry() throws JSONException {
+        register("order");
+        JSObject full = templateFields().put("id", 2).put("title", "Order 1002 shipped");
+        full.put("body", "Your order 1002 is on its way, {{unknown}}");
+        full.put("schedule", new JSObject().put("every", "day"));
+
+        LocalNotification fromFull = LocalNotification.buildNotificationFromJSObject(full);
+        LocalNotification fromTemplate = buildList(entry("order", 2, 1002)).get(0);
+
+        assertEquals(RecordCodec.GSON.toJson(fromFull), RecordCodec.GSON.toJson(fromTemplate));
+    }
+
+    @Test
+    public void testEntryFieldsOverrideTemplate() throws JSONException {
+        register("order");
+        JSObject entry = entry("order", 3, 1003).put("channelId", "urgent").put("group", "late");
+
+        LocalNotification built = buildList(entry).get(0);
+
+        assertEquals("urgent", built.getChannelId());
+        assertEquals("late", built.getGroup());
+        assertEquals("reply", built.getActionTypeId());
+        assertEquals("Order 1003 shipped", built.getTitle());
+    }
+
+    @Test
+    public void testRejectsUnknownTemplate() throws JSONException {
+        PluginCall call = callWith(entry("missing", 4, 1004));
+
+        assertTrue(LocalNotification.buildNotificationList(call, RecordCodec.GSON, storage).isEmpty());
+        verify(call).reject("Unknown notification template missing");
+    }
+
+    @Test
+    public void testRejectsEntryWithoutId() throws JSONException {
+        JSObject entry = entry("order", 0, 1006);
+        entry.remove("id");
+        PluginCall call = callWith(entry);
+
+        assertTrue(LocalNotification.buildNotificationList(call, RecordCodec.GSON, storage).isEmpty());
+        verify(call).reject("LocalNotification missing identifier");
+    }
+
+    @Test
+    public void testEntriesOfSameTemplateKeepIndependentAnchors() throws JSONException {
+        SimulatedPlatformGateway platform = new SimulatedPlatformGateway(context, START);
+        Platform.setGateway(platform);
+        try {
+            CapConfig config = mock(CapConfig.class);
+            when(config.getPluginConfiguration(anyString())).thenReturn(mock(PluginConfig.class));
+            LocalNotificationManager manager = new LocalNotificationManager(storage, mock(Activity.class), context, config);
+            JSObject fields = templateFields().put("schedule", new JSObject().put("every", "day"));
+            storage.writeTemplate("daily", NotificationTemplate.parse(fields.toString()));
+            JSObject first = new JSObject().put("templateId", "daily").put("id", 7);
+            JSObject second = new JSObject().put("templateId", "daily").put("id", 8);
+
+            LocalNotification firstBuilt = buildList(first).get(0);
+            manager.schedule(null, List.of(firstBuilt));
+            platform.advanceBy(HOUR);
+            LocalNotification secondBuilt = buildList(second).get(0);
+            manager.schedule(null, List.of(secondBuilt));
+
+            assertEquals(Long.valueOf(START + DAY), firstBuilt.getSchedule().getAnchor());
+            assertEquals(Long.valueOf(START + HOUR + DAY), secondBuilt.getSchedule().getAnchor());
+            assertNull(buildList(first).get(0).getSchedule().getAnchor());
+        } finally {
+            Platform.setGateway(null);
+        }
+    }
+
+    @Test
+    public void testReadsTemplateRegisteredByPreviousProcess() throws JSONException {
+        JSObject fields = templateFields();
+        context.getSharedPreferences("NOTIFICATION_TEMPLATES", Context.MODE_PRIVATE).edit().putString("stored", fields.toString()).commit();
+
+        LocalNotification built = buildList(entry("stored", 5, 1005)).get(0);
+
+        assertEquals("Order 1005 shipped", built.getTitle());
+    }
+
+    @Test
+    public void testKeepsPlaceholdersWithoutVariable() throws JSONException {
+        JSObject vars = new JSObject().put("a", "1").put("b", 2);
+
+        assertEquals("1 and 2", NotificationTemplate.applyVars("{{a}} and {{ b }}", vars));
+        assertEquals("1 {{c}} {{a", NotificationTemplate.applyVars("{{a}} {{c}} {{a", vars));
+        assertEquals("plain", NotificationTemplate.applyVars("plain", vars));
+    }
+
+    @Test
+    public void testTemplatedBatchBuildsSameNotificationsFromSmallerPayload() throws JSONException {
+        register("order");
+        JSArray full = new JSArray();
+        JSArray templated = new JSArray();
+        for (int i = 0; i < BATCH; i++) {
+            JSObject notification = templateFields().put("id", i).put("title", "Order " + i + " shipped");
+            notification.put("body", "Your order " + i + " is on its way, {{unknown}}");
+            notification.put("schedule", new JSObject().put("every", "day"));
+            notification.put("extra", new JSObject().put("orderId", i));
+            full.put(notification);
+            templated.put(entry("order", i, i).put("extra", new JSObject().put("orderId", i)));
+        }
+
+        List<LocalNotification> fromFull = LocalNotification.buildNotificationList(callWith(full), RecordCodec.GSON, storage);
+        List<LocalNotification> fromTemplate = LocalNotification.buildNotificationList(callWith(templated), RecordCodec.GSON, storage);
+
+        assertEquals(BATCH, fromTemplate.size());
+        assertEquals(RecordCodec.GSON.toJson(fromFull), RecordCodec.GSON.toJson(fromTemplate));
+        assertTrue(templated.toString().length() * 2 < full.toString().length());
+    }
+
+    private void register(String id) throws JSONException {
+        storage.writeTemplate(id, NotificationTemplate.parse(templateFields().toString()));
+    }
+
+    private List<LocalNotification> buildList(JSObject entry) {
+        PluginCall call = callWith(entry);
+        List<LocalNotification> built = LocalNotification.buildNotificationList(call, RecordCodec.GSON, storage);
+        verify(call, never()).reject(anyString());
+        assertEquals(1, built.size());
+        return built;
+    }
+
+    private static PluginCall callWith(JSObject entry) {
+        JSArray notifications = new JSArray();
+        notifications.put(entry);
+        return callWith(notifications);
+    }
+
+    private static PluginCall callWith(JSArray notifications) {
+        PluginCall call = mock(PluginCall.class);
+        when(call.getArray("notifications")).thenReturn(notifications);
+        return call;
+    }
+
+    private static JSObject templateFields() throws JSONException {
+        JSObject fields = new JSObject();
+        fields.put("title", "Order {{orderId}} shipped");
+        fields.put("body", "Your order {{orderId}} is on its way, {{unknown}}");
+        fields.put("channelId", "orders");
+        fields.put("smallIcon", "ic_stat_order");
+        fields.put("largeIcon", "ic_order");
+        fields.put("sound", "order.wav");
+        fields.put("iconColor", "#ff8800");
+        fields.put("actionTypeId", "reply");
+        fields.put("group", "orders");
+        fields.put("autoCancel", true);
+        return fields;
+    }
+
+    private static JSObject entry(String templateId, int id, int orderId) throws JSONException {
+        JSObject entry = new JSObject();
+        entry.put("templateId", templateId);
+        entry.put("id", id);
+        entry.put("schedule", new JSObject().put("every", "day"));
+        entry.put("vars", new JSObject().put("orderId", orderId));
+        return entry;
+    }
+}
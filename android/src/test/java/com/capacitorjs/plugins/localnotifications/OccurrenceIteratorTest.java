@@ -0,0 +1,130 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import org.junit.Test;
+
+public class OccurrenceIteratorTest {
+
+    private static final long MINUTE = 60 * 1000L;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    public void testMergesSchedulesInTimeOrder() {
+        LocalNotification everyHour = notification(1, every("hour", START + 30 * MINUTE));
+        LocalNotification everyTwentyMinutes = notification(2, every("minute", START));
+        everyTwentyMinutes.getSchedule().setCount(20);
+        LocalNotificationSchedule oneShot = new LocalNotificationSchedule();
+        oneShot.setAt(new Date(START + 50 * MINUTE));
+        LocalNotification single = notification(3, oneShot);
+
+        List<long[]> occurrences = collect(
+            new OccurrenceIterator(Arrays.asList(everyHour, everyTwentyMinutes, single), START, START + 2 * HOUR)
+        );
+
+        long[][] expected = {
+            { 2, START },
+            { 2, START + 20 * MINUTE },
+            { 1, START + 30 * MINUTE },
+            { 2, START + 40 * MINUTE },
+            { 3, START + 50 * MINUTE },
+            { 2, START + 60 * MINUTE },
+            { 2, START + 80 * MINUTE },
+            { 1, START + 90 * MINUTE },
+            { 2, START + 100 * MINUTE },
+            { 2, START + 120 * MINUTE }
+        };
+        assertEquals(expected.length, occurrences.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(expected[i], occurrences.get(i));
+        }
+    }
+
+    @Test
+    public void testStartsFromAnchorPhase() {
+        LocalNotification everyHour = notification(1, every("hour", START));
+
+        List<long[]> occurrences = collect(
+            new OccurrenceIterator(Collections.singletonList(everyHour), START + 10 * HOUR + MINUTE, START + 12 * HOUR)
+        );
+
+        assertEquals(2, occurrences.size());
+        assertEquals(START + 11 * HOUR, occurrences.get(0)[1]);
+        assertEquals(START + 12 * HOUR, occurrences.get(1)[1]);
+    }
+
+    @Test
+    public void testUnboundedSeriesIsLazy() {
+        LocalNotification everySecond = notification(1, every("second", START));
+        OccurrenceIterator iterator = new OccurrenceIterator(Collections.singletonList(everySecond), START, Long.MAX_VALUE);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(START + i * 1000L, iterator.next().getTime());
+        }
+        assertTrue(iterator.hasNext());
+    }
+
+    @Test
+    public void testSkipsPastOneShots() {
+        LocalNotificationSchedule past = new LocalNotificationSchedule();
+        past.setAt(new Date(START - MINUTE));
+
+        assertFalse(new OccurrenceIterator(Collections.singletonList(notification(1, past)), START, START + HOUR).hasNext());
+    }
+
+    @Test
+    public void testPreviewFollowsAnchorMovedToNewZone() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+            // 2024-01-01T09:00:00Z, daily
+            long nineUtc = 1_704_099_600_000L;
+            LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+            schedule.setAt(new Date(nineUtc));
+            schedule.setRepeats(true);
+            schedule.setAnchor(nineUtc);
+
+            TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+            assertTrue(schedule.moveAnchorToDefaultZone());
+            List<LocalNotification> notifications = Collections.singletonList(notification(1, schedule));
+            OccurrenceIterator iterator = new OccurrenceIterator(notifications, nineUtc, nineUtc + 24 * HOUR);
+
+            // 9:00 in New York, 14:00 UTC, as the re-armed alarm
+            long first = iterator.next().getTime();
+            assertEquals(nineUtc + 5 * HOUR, first);
+            assertEquals(schedule.getNextTrigger(schedule.resolveAnchor(nineUtc), new Date(nineUtc - 1)), Long.valueOf(first));
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    private static LocalNotificationSchedule every(String unit, long anchor) {
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setEvery(unit);
+        schedule.setAnchor(anchor);
+        return schedule;
+    }
+
+    private static LocalNotification notification(int id, LocalNotificationSchedule schedule) {
+        LocalNotification notification = new LocalNotification();
+        notification.setId(id);
+        notification.setSchedule(schedule);
+        return notification;
+    }
+
+    private static List<long[]> collect(OccurrenceIterator iterator) {
+        List<long[]> occurrences = new ArrayList<>();
+        while (iterator.hasNext()) {
+            OccurrenceIterator.Occurrence occurrence = iterator.next();
+            occurrences.add(new long[] { occurrence.getNotification().getId(), occurrence.getTime() });
+        }
+        return occurrences;
+    }
+}
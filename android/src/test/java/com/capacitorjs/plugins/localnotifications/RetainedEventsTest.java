@@ -0,0 +1,265 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import android.app.Activity;
+import android.content.Context;
+import com.getcapacitor.CapConfig;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginConfig;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.json.JSONException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class RetainedEventsTest {
+
+    private RetainedEvents retained;
+    private DismissDispatchTest.RecordingPlugin plugin;
+
+    @Before
+    public void setUp() {
+        retained = new RetainedEvents();
+        Metrics.setEnabled(true);
+        Metrics.reset();
+    }
+
+    @After
+    public void tearDown() {
+        if (plugin != null) {
+            plugin.handleOnDestroy();
+        }
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    @Test
+    public void testKeepsLatestEventPerNotification() throws JSONException {
+        retained.retain("localNotificationReceived", 1, () -> new JSObject().put("id", 1).put("title", "first"));
+        retained.retain("localNotificationReceived", 2, () -> new JSObject().put("id", 2));
+        retained.retain("localNotificationReceived", 1, () -> new JSObject().put("id", 1).put("title", "second"));
+
+        List<JSObject> events = retained.take("localNotificationReceived");
+
+        assertEquals(2, events.size());
+        assertEquals(2, events.get(0).getInt("id"));
+        assertEquals("second", events.get(1).getString("title"));
+        assertEquals(1, Metrics.getCounter(Metrics.Counter.EVENTS_COALESCED));
+        assertTrue(retained.take("localNotificationReceived").isEmpty());
+    }
+
+    @Test
+    public void testEvictsOldestEventsOverCap() throws JSONException {
+        for (int i = 0; i < RetainedEvents.MAX_PER_EVENT + 10; i++) {
+            int id = i;
+            retained.retain("localNotificationReceived", id, () -> new JSObject().put("id", id));
+        }
+        retained.retain("localNotificationDismissed", 1, () -> new JSObject().put("notificationId", 1));
+
+        List<JSObject> events = retained.take("localNotificationReceived");
+
+        assertEquals(RetainedEvents.MAX_PER_EVENT, events.size());
+        assertEquals(10, events.get(0).getInt("id"));
+        assertEquals(10, Metrics.getCounter(Metrics.Counter.EVENTS_EVICTED));
+        // Caps are per event type
+        assertEquals(1, retained.size("localNotificationDismissed"));
+    }
+
+    @Test
+    public void testNeverCoalescesEventsWithoutNotification() {
+        retained.retain("localNotificationActionPerformed", null, () -> new JSObject().put("actionId", "tap"));
+        retained.retain("localNotificationActionPerformed", null, () -> new JSObject().put("actionId", "tap"));
+
+        assertEquals(2, retained.take("localNotificationActionPerformed").size());
+        assertEquals(0, Metrics.getCounter(Metrics.Counter.EVENTS_COALESCED));
+    }
+
+    @Test
+    public void testPluginDeliversRetainedEventsWhenListenerIsAdded() throws JSONException {
+        loadPlugin();
+        LocalNotificationsPlugin.fireReceived(new JSObject().put("id", 1).put("title", "first"));
+        LocalNotificationsPlugin.fireReceived(new JSObject().put("id", 1).put("title", "second"));
+        LocalNotificationsPlugin.fireDismissed(new int[] { 1, 2 }, Metrics.NOT_STARTED);
+        LocalNotificationsPlugin.fireDismissed(new int[] { 2, 3 }, Metrics.NOT_STARTED);
+        assertTrue(plugin.events.isEmpty());
+
+        listen("localNotificationReceived");
+        listen("localNotificationsDismissedBatch");
+
+        assertEquals(List.of("localNotificationReceived", "localNotificationsDismissedBatch"), plugin.events);
+        assertEquals("second", plugin.data.get(0).getString("title"));
+        assertEquals(3, plugin.data.get(1).getJSONArray("notificationIds").length());
+        assertEquals(1, plugin.data.get(1).getJSONArray("notificationIds").getInt(0));
+        assertEquals(3, plugin.data.get(1).getJSONArray("notificationIds").getInt(2));
+    }
+
+    @Test
+    public void testPluginSendsEventsDirectlyToListeners() throws JSONException {
+        loadPlugin();
+        plugin.listening.add("localNotificationReceived");
+
+        LocalNotificationsPlugin.fireReceived(new JSObject().put("id", 1));
+        LocalNotificationsPlugin.fireReceived(new JSObject().put("id", 1));
+
+        assertEquals(2, plugin.events.size());
+        assertEquals(0, Metrics.getCounter(Metrics.Counter.EVENTS_COALESCED));
+    }
+
+    @Test
+    public void testEventRacingNewListenerReachesIt() throws Exception {
+        AtomicReference<Thread> adding = new AtomicReference<>();
+        loadPlugin(
+            new DismissDispatchTest.RecordingPlugin() {
+                @Override
+                protected boolean hasListeners(String eventName) {
+                    boolean listening = super.hasListeners(eventName);
+                    if (!listening && adding.get() == null) {
+                        // JavaScript adds its listener between the check and the retain
+                        Thread thread = new Thread(() -> listen("localNotificationReceived"));
+                        adding.set(thread);
+                        thread.start();
+                        try {
+                            thread.join(200);
+                        } catch (InterruptedException e) {
+                            throw new AssertionError(e);
+                        }
+                    }
+                    return listening;
+                }
+            }
+        );
+
+        LocalNotificationsPlugin.fireReceived(new JSObject().put("id", 1));
+        adding.get().join();
+
+        assertEquals(List.of("localNotificationReceived"), plugin.events);
+    }
+
+    @Test
+    public void testBuildsReceivedPayloadOnlyForListeners() throws JSONException {
+        loadPlugin();
+        Context context = RuntimeEnvironment.getApplication();
+        AtomicInteger serialized = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            String json = "{\"id\":1,\"title\":\"" + i + "\"}";
+            LocalNotificationsPlugin.fireReceived(context, 1, () -> {
+                serialized.incrementAndGet();
+                return json;
+            });
+        }
+
+        // Replaced before anyone listened, never serialized nor parsed
+        assertEquals(0, serialized.get());
+        assertEquals(2, Metrics.getCounter(Metrics.Counter.PAYLOADS_SKIPPED));
+        assertEquals(0, Metrics.getCounter(Metrics.Counter.PAYLOADS_BUILT));
+
+        listen("localNotificationReceived");
+
+        assertEquals(1, serialized.get());
+        assertEquals(1, Metrics.getCounter(Metrics.Counter.PAYLOADS_BUILT));
+        assertEquals("2", plugin.data.get(0).getString("title"));
+    }
+
+    @Test
+    public void testKeepsStoredJsonWithoutParsingWhenNoPluginIsLoaded() {
+        Context context = RuntimeEnvironment.getApplication();
+        EventOutbox outbox = new EventOutbox(context);
+        outbox.drain();
+
+        LocalNotificationsPlugin.fireReceived(context, 1, () -> "{\"id\":1}");
+
+        assertEquals(0, Metrics.getCounter(Metrics.Counter.PAYLOADS_BUILT));
+        assertEquals(0, Metrics.getCounter(Metrics.Counter.PAYLOADS_SKIPPED));
+        assertEquals(1, Metrics.getCounter(Metrics.Counter.OUTBOX_APPENDS));
+        assertEquals(1, outbox.drain().size());
+    }
+
+    @Test
+    public void testReadsDeliveredNotificationWhenListenerIsAdded() throws JSONException {
+        Context context = RuntimeEnvironment.getApplication();
+        SimulatedPlatformGateway platform = new SimulatedPlatformGateway(context, System.currentTimeMillis());
+        Platform.setGateway(platform);
+        try {
+            loadPlugin();
+            NotificationStorage storage = new NotificationStorage(context);
+            CapConfig config = mock(CapConfig.class);
+            when(config.getPluginConfiguration(anyString())).thenReturn(mock(PluginConfig.class));
+            LocalNotificationManager manager = new LocalNotificationManager(storage, mock(Activity.class), context, config);
+            LocalNotification repeating = newNotification(1, "every");
+            repeating.getSchedule().setEvery("day");
+            LocalNotification once = newNotification(2, "once");
+            once.getSchedule().setAt(new Date(platform.currentTimeMillis() + 60_000L));
+            List<LocalNotification> notifications = List.of(repeating, once);
+            assertNotNull(manager.schedule(null, notifications));
+            storage.appendNotifications(notifications);
+
+            platform.advanceBy(25 * 3_600_000L);
+            // Still stored, read once someone listens
+            LocalNotification updated = newNotification(1, "updated");
+            updated.getSchedule().setEvery("day");
+            updated.getSchedule().setAnchor(repeating.getSchedule().getAnchor());
+            storage.appendNotifications(List.of(updated));
+            assertNull(storage.getSavedNotificationJson("2"));
+
+            listen("localNotificationReceived");
+
+            assertEquals(2, plugin.data.size());
+            assertEquals("updated", findById(plugin.data, 1).getString("title"));
+            // Scheduling state stays private
+            assertNotNull(storage.getSavedNotification("1").getSchedule().getAnchor());
+            assertFalse(findById(plugin.data, 1).getJSObject("schedule").has("anchor"));
+            assertFalse(findById(plugin.data, 1).getJSObject("schedule").has("anchorZone"));
+            assertEquals("once", findById(plugin.data, 2).getString("title"));
+        } finally {
+            Platform.setGateway(null);
+        }
+    }
+
+    private void listen(String eventName) {
+        PluginCall call = mock(PluginCall.class);
+        when(call.getString("eventName")).thenReturn(eventName);
+        plugin.listening.add(eventName);
+        plugin.addListener(call);
+    }
+
+    private void loadPlugin() {
+        loadPlugin(new DismissDispatchTest.RecordingPlugin());
+    }
+
+    private void loadPlugin(DismissDispatchTest.RecordingPlugin recording) {
+        plugin = TestPlugins.load(RuntimeEnvironment.getApplication(), recording);
+        // Loading applies the metrics config option, off here
+        Metrics.setEnabled(true);
+    }
+
+    private static LocalNotification newNotification(int id, String title) {
+        LocalNotification notification = new LocalNotification();
+        notification.setId(id);
+        notification.setTitle(title);
+        notification.setBody("Body");
+        notification.setSchedule(new LocalNotificationSchedule());
+        return notification;
+    }
+
+    private static JSObject findById(List<JSObject> events, int id) {
+        for (JSObject event : events) {
+            if (event.getInteger("id") == id) {
+                return event;
+            }
+        }
+        throw new AssertionError("No event for notification " + id);
+    }
+}
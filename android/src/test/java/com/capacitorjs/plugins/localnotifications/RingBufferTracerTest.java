@@ -0,0 +1,89 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+
+import android.os.Process;
+import java.util.List;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+// Robolectric for the thread ids
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class RingBufferTracerTest {
+
+    @After
+    public void tearDown() {
+        Tracing.setTracer(null);
+    }
+
+    @Test
+    public void testRecordsNestedSpansInEndOrder() {
+        RingBufferTracer tracer = new RingBufferTracer(8);
+
+        tracer.beginSection("outer");
+        tracer.beginSection("inner");
+        tracer.endSection();
+        tracer.endSection();
+
+        List<RingBufferTracer.Span> spans = tracer.getSpans();
+        assertEquals(2, spans.size());
+        assertEquals("inner", spans.get(0).getName());
+        assertEquals(1, spans.get(0).getDepth());
+        assertEquals("outer", spans.get(1).getName());
+        assertEquals(0, spans.get(1).getDepth());
+        assertTrue(spans.get(1).getStartNanos() <= spans.get(0).getStartNanos());
+        assertTrue(spans.get(1).getDurationNanos() >= spans.get(0).getDurationNanos());
+        assertEquals(Process.myTid(), spans.get(0).getThreadId());
+    }
+
+    @Test
+    public void testOverwritesOldestSpansWhenFull() {
+        RingBufferTracer tracer = new RingBufferTracer(3);
+        String[] names = { "a", "b", "c", "d", "e" };
+
+        for (String name : names) {
+            tracer.beginSection(name);
+            tracer.endSection();
+        }
+
+        List<RingBufferTracer.Span> spans = tracer.getSpans();
+        assertEquals(3, spans.size());
+        assertEquals("c", spans.get(0).getName());
+        assertEquals("d", spans.get(1).getName());
+        assertEquals("e", spans.get(2).getName());
+        assertEquals(2, tracer.getDropped());
+
+        tracer.clear();
+        assertTrue(tracer.getSpans().isEmpty());
+        assertEquals(0, tracer.getDropped());
+    }
+
+    @Test
+    public void testIgnoresEndWithoutBegin() {
+        RingBufferTracer tracer = new RingBufferTracer(4);
+
+        tracer.endSection();
+        tracer.beginSection("a");
+        tracer.endSection();
+
+        assertEquals(1, tracer.getSpans().size());
+    }
+
+    @Test
+    public void testTracingDelegatesToInstalledTracer() {
+        RingBufferTracer tracer = new RingBufferTracer(4);
+        Tracing.setTracer(tracer);
+
+        Tracing.begin(Tracing.SECTION_BUILD_NOTIFICATION);
+        Tracing.end();
+
+        assertEquals(Tracing.SECTION_BUILD_NOTIFICATION, tracer.getSpans().get(0).getName());
+
+        Tracing.setTracer(null);
+        assertSame(Tracer.NO_OP, Tracing.getTracer());
+    }
+}
@@ -0,0 +1,472 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.AlarmManager;
+import android.app.Application;
+import android.content.Context;
+import android.content.ComponentName;
+import android.content.ContextWrapper;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.content.SharedPreferences;
+import androidx.appcompat.app.AppCompatActivity;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.PluginCall;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowPackageManager;
+
+/**
+ * Drives schedule, getPending, boot restore and cancel with many notifications and fails when the
+ * storage writes of a call grow with the number of notifications, or its alarm calls grow faster.
+ * Also fails when the time or allocations per notification of getPending and boot restore grow
+ * with the number of notifications, measured coarsely; precise timings are in the core JMH
+ * benchmarks.
+ *
+ * Runs with 1000 notifications by default, pass more sizes with
+ * {@code ./gradlew test -Dln.scale.sizes=1000,10000,50000}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class ScaleTest {
+
+    private static final String SIZES_PROPERTY = "ln.scale.sizes";
+    private static final String DEFAULT_SIZES = "1000";
+
+    // Store and index writes of one call, whatever the number of notifications
+    private static final int MAX_STORAGE_WRITES_PER_CALL = 4;
+
+    // Sizes the cost per notification is compared between, a quadratic call costs 8 times more
+    // per notification at the larger one
+    private static final int SMALL_SIZE = 250;
+    private static final int LARGE_SIZE = 2000;
+
+    // Allowed growth of the cost per notification from the small to the large size, loose enough
+    // for GC pauses and a busy CI machine running Robolectric
+    private static final double MAX_GROWTH_PER_NOTIFICATION = 4.0;
+
+    // Each call is measured several times and the cheapest run kept, the first ones warm up
+    private static final int RUNS = 5;
+
+    private static class Cost {
+
+        final int size;
+        long nanos = Long.MAX_VALUE;
+        long bytes = Long.MAX_VALUE;
+
+        Cost(int size) {
+            this.size = size;
+        }
+
+        double nanosPerNotification() {
+            return (double) nanos / size;
+        }
+
+        double bytesPerNotification() {
+            return (double) bytes / size;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "n=%d %.1fus/notification %.1fKB/notification",
+                size,
+                nanosPerNotification() / 1000,
+                bytesPerNotification() / 1024
+            );
+        }
+    }
+
+    private CountingContext context;
+    private LocalNotificationsPlugin plugin;
+
+    @Before
+    public void setUp() {
+        context = new CountingContext(RuntimeEnvironment.getApplication());
+        // The restore receiver has no activity and opens notifications with the launch intent
+        ComponentName launcher = new ComponentName(context, AppCompatActivity.class);
+        IntentFilter launcherFilter = new IntentFilter(Intent.ACTION_MAIN);
+        launcherFilter.addCategory(Intent.CATEGORY_LAUNCHER);
+        ShadowPackageManager packageManager = shadowOf(context.getPackageManager());
+        packageManager.addActivityIfNotPresent(launcher);
+        packageManager.addIntentFilterForActivity(launcher, launcherFilter);
+
+        plugin = TestPlugins.load(context, new LocalNotificationsPlugin());
+    }
+
+    @After
+    public void tearDown() {
+        plugin.handleOnDestroy();
+    }
+
+    @Test
+    public void testStorageWritesAndAlarmCallsAtScale() throws Exception {
+        for (int size : getSizes()) {
+            runAll(size);
+        }
+    }
+
+    @Test
+    public void testGetPendingAndRestoreCostGrowsLinearly() throws Exception {
+        Cost[] small = measureGetPendingAndRestore(SMALL_SIZE);
+        Cost[] large = measureGetPendingAndRestore(LARGE_SIZE);
+
+        assertLinear("getPending", small[0], large[0]);
+        assertLinear("restore", small[1], large[1]);
+    }
+
+    /**
+     * Schedule, list, restore after boot and cancel the given number of notifications, checking
+     * the writes and alarm calls of each step
+     */
+    private void runAll(int size) throws Exception {
+        JSArray notifications = newNotifications(size);
+        JSArray ids = newIds(size);
+
+        context.reset();
+        JSObject scheduled = resolve(plugin::schedule, notifications);
+        assertEquals(size, scheduled.getJSONArray("notifications").length());
+        assertTrue("Storage writes grow with size: " + context, context.storageWrites <= MAX_STORAGE_WRITES_PER_CALL);
+        assertTrue("Too many alarm calls: " + context, context.alarmCalls <= 2 * size);
+
+        context.reset();
+        JSObject pending = resolve(plugin::getPending, null);
+        assertEquals(size, pending.getJSONArray("notifications").length());
+        assertEquals("getPending must not write", 0, context.storageWrites);
+        assertEquals("getPending must not touch alarms", 0, context.alarmCalls);
+
+        context.reset();
+        new LocalNotificationRestoreReceiver().onReceive(context, new Intent(Intent.ACTION_BOOT_COMPLETED));
+        assertTrue("Storage writes grow with size: " + context, context.storageWrites <= MAX_STORAGE_WRITES_PER_CALL);
+        assertTrue("Too few alarm calls, notifications not restored: " + context, context.alarmCalls >= size);
+        assertTrue("Too many alarm calls: " + context, context.alarmCalls <= 2 * size);
+
+        context.reset();
+        resolve(plugin::cancel, ids);
+        assertTrue("Storage writes grow with size: " + context, context.storageWrites <= MAX_STORAGE_WRITES_PER_CALL);
+        assertEquals("Each cancelled notification cancels its alarm", size, context.alarmCalls);
+
+        JSObject remaining = resolve(plugin::getPending, null);
+        assertEquals(0, remaining.getJSONArray("notifications").length());
+    }
+
+    /**
+     * Cheapest time and allocations of getPending and of boot restore with the given number of
+     * notifications scheduled
+     */
+    private Cost[] measureGetPendingAndRestore(int size) throws Exception {
+        resolve(plugin::schedule, newNotifications(size));
+        Cost getPending = new Cost(size);
+        Cost restore = new Cost(size);
+        for (int run = 0; run < RUNS; run++) {
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            resolve(plugin::getPending, null);
+            record(getPending, start, bytes);
+
+            bytes = allocatedBytes();
+            start = System.nanoTime();
+            new LocalNotificationRestoreReceiver().onReceive(context, new Intent(Intent.ACTION_BOOT_COMPLETED));
+            record(restore, start, bytes);
+        }
+        resolve(plugin::cancel, newIds(size));
+        return new Cost[] { getPending, restore };
+    }
+
+    private static void record(Cost cost, long start, long startBytes) {
+        cost.nanos = Math.min(cost.nanos, System.nanoTime() - start);
+        long bytes = allocatedBytes();
+        if (startBytes >= 0 && bytes >= 0) {
+            cost.bytes = Math.min(cost.bytes, bytes - startBytes);
+        }
+    }
+
+    private static void assertLinear(String operation, Cost small, Cost large) {
+        String costs = operation + " " + small + " then " + large;
+        assertTrue(
+            "Time grows faster than the number of notifications: " + costs,
+            large.nanosPerNotification() <= small.nanosPerNotification() * MAX_GROWTH_PER_NOTIFICATION
+        );
+        if (small.bytes != Long.MAX_VALUE && large.bytes != Long.MAX_VALUE) {
+            assertTrue(
+                "Allocations grow faster than the number of notifications: " + costs,
+                large.bytesPerNotification() <= small.bytesPerNotification() * MAX_GROWTH_PER_NOTIFICATION
+            );
+        }
+    }
+
+    /**
+     * Bytes allocated by the current thread so far, -1 when the JVM doesn't count them
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /**
+     * Notifications with ids 1 to size, every third one repeating
+     */
+    private static JSArray newNotifications(int size) {
+        JSArray notifications = new JSArray();
+        SimpleDateFormat format = new SimpleDateFormat(LocalNotificationSchedule.JS_DATE_FORMAT);
+        long now = System.currentTimeMillis();
+        for (int i = 1; i <= size; i++) {
+            JSObject schedule = new JSObject();
+            if (i % 3 == 0) {
+                // Repeating schedules also go to the schedule index
+                schedule.put("every", "day");
+            } else {
+                schedule.put("at", format.format(new Date(now + 3_600_000L + i * 60_000L)));
+            }
+            JSObject notification = new JSObject();
+            notification.put("id", i);
+            notification.put("title", "Title " + i);
+            notification.put("body", "Body " + i);
+            notification.put("schedule", schedule);
+            notifications.put(notification);
+        }
+        return notifications;
+    }
+
+    private static JSArray newIds(int size) {
+        JSArray ids = new JSArray();
+        for (int i = 1; i <= size; i++) {
+            ids.put(new JSObject().put("id", i));
+        }
+        return ids;
+    }
+
+    /**
+     * Invoke a plugin method with the given notifications option
+     *
+     * @return the resolved data, empty when resolved without data
+     */
+    private JSObject resolve(Consumer<PluginCall> method, JSArray notifications) {
+        PluginCall call = mock(PluginCall.class);
+        when(call.getArray("notifications")).thenReturn(notifications);
+        JSObject[] result = new JSObject[1];
+        doAnswer(invocation -> result[0] = invocation.getArgument(0)).when(call).resolve(any(JSObject.class));
+        doAnswer(invocation -> result[0] = new JSObject()).when(call).resolve();
+        method.accept(call);
+        verify(call, never()).reject(anyString());
+        assertNotNull("Call not resolved", result[0]);
+        return result[0];
+    }
+
+    private static int[] getSizes() {
+        String[] values = System.getProperty(SIZES_PROPERTY, DEFAULT_SIZES).split(",");
+        int[] sizes = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            sizes[i] = Integer.parseInt(values[i].trim());
+        }
+        return sizes;
+    }
+
+    /**
+     * Application context counting preference writes and AlarmManager calls
+     */
+    private static class CountingContext extends ContextWrapper {
+
+        private final Map<String, SharedPreferences> preferences = new HashMap<>();
+        private final AlarmManager alarmManager = mock(AlarmManager.class, withSettings().stubOnly().defaultAnswer(this::onAlarmCall));
+        int storageWrites;
+        int alarmCalls;
+
+        CountingContext(Application application) {
+            super(application);
+        }
+
+        void reset() {
+            storageWrites = 0;
+            alarmCalls = 0;
+        }
+
+        @Override
+        public String toString() {
+            return "storageWrites=" + storageWrites + " alarmCalls=" + alarmCalls;
+        }
+
+        private Object onAlarmCall(InvocationOnMock invocation) {
+            if (invocation.getMethod().getReturnType() == boolean.class) {
+                // canScheduleExactAlarms
+                return true;
+            }
+            alarmCalls++;
+            return null;
+        }
+
+        @Override
+        public Context getApplicationContext() {
+            return this;
+        }
+
+        @Override
+        public Object getSystemService(String name) {
+            if (Context.ALARM_SERVICE.equals(name)) {
+                return alarmManager;
+            }
+            return super.getSystemService(name);
+        }
+
+        @Override
+        public SharedPreferences getSharedPreferences(String name, int mode) {
+            return preferences.computeIfAbsent(name, key -> new CountingPreferences(super.getSharedPreferences(key, mode)));
+        }
+
+        private class CountingPreferences implements SharedPreferences {
+
+            private final SharedPreferences delegate;
+
+            CountingPreferences(SharedPreferences delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public Map<String, ?> getAll() {
+                return delegate.getAll();
+            }
+
+            @Override
+            public String getString(String key, String defValue) {
+                return delegate.getString(key, defValue);
+            }
+
+            @Override
+            public Set<String> getStringSet(String key, Set<String> defValues) {
+                return delegate.getStringSet(key, defValues);
+            }
+
+            @Override
+            public int getInt(String key, int defValue) {
+                return delegate.getInt(key, defValue);
+            }
+
+            @Override
+            public long getLong(String key, long defValue) {
+                return delegate.getLong(key, defValue);
+            }
+
+            @Override
+            public float getFloat(String key, float defValue) {
+                return delegate.getFloat(key, defValue);
+            }
+
+            @Override
+            public boolean getBoolean(String key, boolean defValue) {
+                return delegate.getBoolean(key, defValue);
+            }
+
+            @Override
+            public boolean contains(String key) {
+                return delegate.contains(key);
+            }
+
+            @Override
+            public Editor edit() {
+                return new CountingEditor(delegate.edit());
+            }
+
+            @Override
+            public void registerOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+                delegate.registerOnSharedPreferenceChangeListener(listener);
+            }
+
+            @Override
+            public void unregisterOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+                delegate.unregisterOnSharedPreferenceChangeListener(listener);
+            }
+        }
+
+        private class CountingEditor implements SharedPreferences.Editor {
+
+            private final SharedPreferences.Editor delegate;
+
+            CountingEditor(SharedPreferences.Editor delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public SharedPreferences.Editor putString(String key, String value) {
+                delegate.putString(key, value);
+                return this;
+            }
+
+            @Override
+            public SharedPreferences.Editor putStringSet(String key, Set<String> values) {
+                delegate.putStringSet(key, values);
+                return this;
+            }
+
+            @Override
+            public SharedPreferences.Editor putInt(String key, int value) {
+                delegate.putInt(key, value);
+                return this;
+            }
+
+            @Override
+            public SharedPreferences.Editor putLong(String key, long value) {
+                delegate.putLong(key, value);
+                return this;
+            }
+
+            @Override
+            public SharedPreferences.Editor putFloat(String key, float value) {
+                delegate.putFloat(key, value);
+                return this;
+            }
+
+            @Override
+            public SharedPreferences.Editor putBoolean(String key, boolean value) {
+                delegate.putBoolean(key, value);
+                return this;
+            }
+
+            @Override
+            public SharedPreferences.Editor remove(String key) {
+                delegate.remove(key);
+                return this;
+            }
+
+            @Override
+            public SharedPreferences.Editor clear() {
+                delegate.clear();
+                return this;
+            }
+
+            @Override
+            public boolean commit() {
+                storageWrites++;
+                return delegate.commit();
+            }
+
+            @Override
+            public void apply() {
+                storageWrites++;
+                delegate.apply();
+            }
+        }
+    }
+}
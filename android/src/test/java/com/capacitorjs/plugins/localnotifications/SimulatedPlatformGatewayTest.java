@@ -0,0 +1,144 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+import com.getcapacitor.CapConfig;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginConfig;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class SimulatedPlatformGatewayTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final long DAY = 24 * HOUR;
+    // 2024-01-01T00:00:00Z
+    private static final long START = 1_704_067_200_000L;
+
+    private Context context;
+    private SimulatedPlatformGateway platform;
+    private NotificationStorage storage;
+    private LocalNotificationManager manager;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        platform = new SimulatedPlatformGateway(context, START);
+        Platform.setGateway(platform);
+
+        CapConfig config = mock(CapConfig.class);
+        when(config.getPluginConfiguration(anyString())).thenReturn(mock(PluginConfig.class));
+        storage = new NotificationStorage(context);
+        manager = new LocalNotificationManager(storage, mock(Activity.class), context, config);
+    }
+
+    @After
+    public void tearDown() {
+        Platform.setGateway(null);
+    }
+
+    @Test
+    public void testRepeatingSchedulesFireForMonths() {
+        int count = 20;
+        int days = 90;
+        List<LocalNotification> notifications = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+            schedule.setEvery("day");
+            notifications.add(newNotification(i, schedule));
+        }
+        schedule(notifications);
+        long ipcBefore = platform.getIpcCount();
+
+        int fired = platform.advanceBy(days * DAY);
+
+        assertEquals(count * days, fired);
+        assertEquals(count * days, platform.getNotificationsPosted());
+        assertEquals(count, platform.getPostedNotifications().size());
+        assertEquals(count, platform.getPendingAlarmCount());
+        assertEquals(START + days * DAY, platform.currentTimeMillis());
+        // post, exact alarm check, channel lookup and re-arm
+        assertTrue((platform.getIpcCount() - ipcBefore) <= 4L * fired);
+        assertEquals(START + (days + 1) * DAY, (long) platform.getAlarmTrigger(1, publisherIntent()));
+    }
+
+    @Test
+    public void testOneShotFiresOnceAndIsRemoved() {
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setAt(new Date(START + HOUR));
+        schedule(List.of(newNotification(1, schedule)));
+
+        assertEquals(0, platform.advanceBy(HOUR - 1));
+        assertEquals(1, platform.advanceBy(1));
+        assertEquals(START + HOUR, platform.getPostedNotifications().get(1).when);
+        assertEquals(0, platform.advanceBy(DAY));
+
+        assertEquals(0, platform.getPendingAlarmCount());
+        assertNull(storage.getSavedNotification("1"));
+    }
+
+    @Test
+    public void testFiresInTriggerOrder() {
+        LocalNotificationSchedule later = new LocalNotificationSchedule();
+        later.setAt(new Date(START + 2 * HOUR));
+        LocalNotificationSchedule sooner = new LocalNotificationSchedule();
+        sooner.setAt(new Date(START + HOUR));
+        schedule(List.of(newNotification(1, later), newNotification(2, sooner)));
+
+        platform.advanceBy(3 * HOUR);
+
+        assertEquals(List.of(2, 1), new ArrayList<>(platform.getPostedNotifications().keySet()));
+    }
+
+    @Test
+    public void testCancelRemovesAlarm() {
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setEvery("hour");
+        schedule(List.of(newNotification(1, schedule)));
+        assertEquals(1, platform.getPendingAlarmCount());
+
+        PluginCall call = mock(PluginCall.class);
+        JSArray ids = new JSArray();
+        ids.put(new JSObject().put("id", 1));
+        when(call.getArray("notifications")).thenReturn(ids);
+        manager.cancel(call);
+
+        assertEquals(0, platform.getPendingAlarmCount());
+        assertEquals(0, platform.advanceBy(DAY));
+    }
+
+    private void schedule(List<LocalNotification> notifications) {
+        assertNotNull(manager.schedule(null, notifications));
+        storage.appendNotifications(notifications);
+    }
+
+    private Intent publisherIntent() {
+        return new Intent(context, TimedNotificationPublisher.class);
+    }
+
+    private static LocalNotification newNotification(int id, LocalNotificationSchedule schedule) {
+        LocalNotification notification = new LocalNotification();
+        notification.setId(id);
+        notification.setTitle("Title " + id);
+        notification.setBody("Body " + id);
+        notification.setSchedule(schedule);
+        return notification;
+    }
+}
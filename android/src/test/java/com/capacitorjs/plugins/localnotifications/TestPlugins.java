@@ -0,0 +1,53 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+import android.webkit.WebView;
+import androidx.appcompat.app.AppCompatActivity;
+import com.getcapacitor.Bridge;
+import com.getcapacitor.CapConfig;
+import com.getcapacitor.PluginConfig;
+import com.getcapacitor.PluginHandle;
+
+/**
+ * Loads plugins on a mocked bridge with an attached WebView, the way Capacitor does at app start
+ */
+final class TestPlugins {
+
+    private TestPlugins() {}
+
+    /**
+     * Load the plugin with the default configuration
+     */
+    static <T extends LocalNotificationsPlugin> T load(Context context, T plugin) {
+        CapConfig config = mock(CapConfig.class);
+        when(config.getPluginConfiguration(anyString())).thenReturn(mock(PluginConfig.class));
+        return load(context, plugin, config);
+    }
+
+    /**
+     * Load the plugin with the given configuration. The bridge stays reachable through
+     * {@code plugin.getBridge()}, e.g. to detach the WebView.
+     */
+    static <T extends LocalNotificationsPlugin> T load(Context context, T plugin, CapConfig config) {
+        AppCompatActivity activity = mock(AppCompatActivity.class);
+        when(activity.getSystemService(Context.NOTIFICATION_SERVICE)).thenReturn(context.getSystemService(Context.NOTIFICATION_SERVICE));
+        Bridge bridge = mock(Bridge.class);
+        when(bridge.getContext()).thenReturn(context);
+        when(bridge.getActivity()).thenReturn(activity);
+        when(bridge.getConfig()).thenReturn(config);
+        WebView webView = mock(WebView.class);
+        when(bridge.getWebView()).thenReturn(webView);
+        PluginHandle handle = mock(PluginHandle.class);
+        when(handle.getId()).thenReturn("LocalNotifications");
+        when(handle.getInstance()).thenReturn(plugin);
+        when(bridge.getPlugin("LocalNotifications")).thenReturn(handle);
+        plugin.setBridge(bridge);
+        plugin.setPluginHandle(handle);
+        plugin.load();
+        return plugin;
+    }
+}
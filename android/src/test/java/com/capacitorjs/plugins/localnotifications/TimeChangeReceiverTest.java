@@ -0,0 +1,154 @@
+package com.capacitorjs.plugins.localnotifications;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Activity;
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import androidx.appcompat.app.AppCompatActivity;
+import com.getcapacitor.CapConfig;
+import com.getcapacitor.PluginConfig;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowPackageManager;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 33)
+public class TimeChangeReceiverTest {
+
+    private static final long HOUR = 3_600_000L;
+    // 2024-01-01T00:00:00Z
+    private static final long START = 1_704_067_200_000L;
+
+    private TimeZone defaultZone;
+    private Context context;
+    private SimulatedPlatformGateway platform;
+    private NotificationStorage storage;
+    private LocalNotificationManager manager;
+
+    @Before
+    public void setUp() {
+        defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        context = RuntimeEnvironment.getApplication();
+        platform = new SimulatedPlatformGateway(context, START);
+        Platform.setGateway(platform);
+
+        // The receiver rebuilds notifications without an activity, their tap opens the launcher one
+        ComponentName launcher = new ComponentName(context, AppCompatActivity.class);
+        IntentFilter launcherFilter = new IntentFilter(Intent.ACTION_MAIN);
+        launcherFilter.addCategory(Intent.CATEGORY_LAUNCHER);
+        ShadowPackageManager packageManager = shadowOf(context.getPackageManager());
+        packageManager.addActivityIfNotPresent(launcher);
+        packageManager.addIntentFilterForActivity(launcher, launcherFilter);
+
+        CapConfig config = mock(CapConfig.class);
+        when(config.getPluginConfiguration(anyString())).thenReturn(mock(PluginConfig.class));
+        storage = new NotificationStorage(context);
+        manager = new LocalNotificationManager(storage, mock(Activity.class), context, config);
+    }
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(defaultZone);
+        Platform.setGateway(null);
+    }
+
+    @Test
+    public void testRepeatingAtKeepsWallClockTimeInNewZone() {
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        // 9:00 UTC
+        schedule.setAt(new Date(START + 9 * HOUR));
+        schedule.setRepeats(true);
+        schedule(1, schedule);
+
+        changeZone("America/New_York");
+
+        assertEquals(9, localHour(nextTrigger(1)));
+        assertEquals("America/New_York", storage.getSavedNotification("1").getSchedule().getAnchorZone());
+    }
+
+    @Test
+    public void testEveryDayKeepsWallClockTimeInNewZone() {
+        platform.advanceTo(START + 9 * HOUR);
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setEvery("day");
+        schedule(2, schedule);
+
+        changeZone("Asia/Tokyo");
+
+        long next = nextTrigger(2);
+        assertEquals(9, localHour(next));
+        assertTrue(next > platform.currentTimeMillis());
+    }
+
+    @Test
+    public void testTimeChangeLeavesShownNotification() {
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setAt(new Date(START + 9 * HOUR));
+        schedule.setRepeats(true);
+        schedule(3, schedule);
+        platform.advanceTo(START + 10 * HOUR);
+        assertTrue(platform.getPostedNotifications().containsKey(3));
+
+        changeZone("Europe/Paris");
+
+        assertTrue(platform.getPostedNotifications().containsKey(3));
+        assertEquals(9, localHour(nextTrigger(3)));
+    }
+
+    @Test
+    public void testClockChangeKeepsAnchor() {
+        LocalNotificationSchedule schedule = new LocalNotificationSchedule();
+        schedule.setEvery("week");
+        schedule(4, schedule);
+        Long anchor = storage.getSavedNotification("4").getSchedule().getAnchor();
+
+        new TimeChangeReceiver().onReceive(context, new Intent(Intent.ACTION_TIME_CHANGED));
+
+        assertEquals(anchor, storage.getSavedNotification("4").getSchedule().getAnchor());
+        assertEquals(anchor, nextTrigger(4));
+    }
+
+    private void schedule(int id, LocalNotificationSchedule schedule) {
+        LocalNotification notification = new LocalNotification();
+        notification.setId(id);
+        notification.setTitle("Title " + id);
+        notification.setBody("Body");
+        notification.setSchedule(schedule);
+        List<LocalNotification> notifications = List.of(notification);
+        assertNotNull(manager.schedule(null, notifications));
+        storage.appendNotifications(notifications);
+    }
+
+    private void changeZone(String zoneId) {
+        TimeZone.setDefault(TimeZone.getTimeZone(zoneId));
+        new TimeChangeReceiver().onReceive(context, new Intent(Intent.ACTION_TIMEZONE_CHANGED));
+    }
+
+    private Long nextTrigger(int id) {
+        Long trigger = platform.getAlarmTrigger(id, new Intent(context, TimedNotificationPublisher.class));
+        assertNotNull(trigger);
+        return trigger;
+    }
+
+    private static int localHour(long millis) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(millis);
+        return calendar.get(Calendar.HOUR_OF_DAY);
+    }
+}
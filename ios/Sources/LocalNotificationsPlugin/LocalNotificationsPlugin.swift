@@ -36,14 +36,22 @@ public class LocalNotificationsPlugin: CAPPlugin, CAPBridgedPlugin {
         CAPPluginMethod(name: "changeExactNotificationSetting", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "cancel", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "getPending", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "update", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "appendMessage", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "registerActionTypes", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "registerTemplate", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "areEnabled", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "getDeliveredNotifications", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "removeAllDeliveredNotifications", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "removeDeliveredNotifications", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "createChannel", returnType: CAPPluginReturnPromise),
         CAPPluginMethod(name: "deleteChannel", returnType: CAPPluginReturnPromise),
-        CAPPluginMethod(name: "listChannels", returnType: CAPPluginReturnPromise)
+        CAPPluginMethod(name: "listChannels", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "getUpcomingOccurrences", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "getDeliveryStats", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "getMetrics", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "resetMetrics", returnType: CAPPluginReturnPromise),
+        CAPPluginMethod(name: "dumpTrace", returnType: CAPPluginReturnPromise)
     ]
     private let notificationDelegationHandler = LocalNotificationsHandler()
 
@@ -616,6 +624,38 @@ public class LocalNotificationsPlugin: CAPPlugin, CAPBridgedPlugin {
         call.resolve()
     }
 
+    @objc func update(_ call: CAPPluginCall) {
+        call.unimplemented()
+    }
+
+    @objc func appendMessage(_ call: CAPPluginCall) {
+        call.unimplemented()
+    }
+
+    @objc func registerTemplate(_ call: CAPPluginCall) {
+        call.unimplemented()
+    }
+
+    @objc func getUpcomingOccurrences(_ call: CAPPluginCall) {
+        call.unimplemented()
+    }
+
+    @objc func getDeliveryStats(_ call: CAPPluginCall) {
+        call.unimplemented()
+    }
+
+    @objc func getMetrics(_ call: CAPPluginCall) {
+        call.unimplemented()
+    }
+
+    @objc func resetMetrics(_ call: CAPPluginCall) {
+        call.unimplemented()
+    }
+
+    @objc func dumpTrace(_ call: CAPPluginCall) {
+        call.unimplemented()
+    }
+
     @objc func createChannel(_ call: CAPPluginCall) {
         call.unimplemented()
     }
@@ -47,6 +47,75 @@ declare module '@capacitor/cli' {
        * @example "beep.wav"
        */
       sound?: string;
+
+      /**
+       * Record latency histograms and counters of the plugin operations,
+       * returned by `getMetrics()`.
+       *
+       * Only available for Android.
+       *
+       * @default false
+       * @since 8.0.0-dismiss.3
+       */
+      metrics?: boolean;
+
+      /**
+       * Report spans around the notification lifecycle (building, scheduling,
+       * storage and broadcast receivers) to a tracer.
+       *
+       * `systrace` emits `android.os.Trace` sections visible in Perfetto,
+       * `memory` keeps the latest spans in memory for `dumpTrace()`.
+       *
+       * Apps can also install their own tracer from native code with
+       * `Tracing.setTracer()`, which is kept when this option is not set.
+       *
+       * Only available for Android.
+       *
+       * @since 8.0.0-dismiss.3
+       */
+      tracer?: 'none' | 'systrace' | 'memory';
+
+      /**
+       * Embed a snapshot of the notification in its tap and action intents,
+       * so `localNotificationActionPerformed` is emitted without reading
+       * storage first and the notification is removed from storage off the
+       * main thread.
+       *
+       * Notifications whose JSON is over 2048 characters are read from
+       * storage as usual.
+       *
+       * Only available on Android.
+       *
+       * @default false
+       * @since 8.0.0-dismiss.3
+       */
+      actionSnapshots?: boolean;
+
+      /**
+       * How many times per second a notification changed with `update()` is
+       * posted again at most.
+       *
+       * Android drops the posts of a notification updated faster than about 5
+       * times per second. Updates made faster are merged and posted once the
+       * interval has passed.
+       *
+       * Only available on Android.
+       *
+       * @default 5
+       * @since 8.0.0-dismiss.3
+       */
+      liveUpdatesPerSecond?: number;
+
+      /**
+       * Name of the user of the device in conversations, shown for the
+       * messages without a `sender`.
+       *
+       * Only available on Android.
+       *
+       * @default "You"
+       * @since 8.0.0-dismiss.3
+       */
+      messagingUserName?: string;
     };
   }
 }
@@ -66,6 +135,41 @@ export interface LocalNotificationsPlugin {
    */
   getPending(): Promise<PendingResult>;
 
+  /**
+   * Change the title, body or progress of a notification shown right away,
+   * e.g. the progress of a download.
+   *
+   * Only the fields that changed are applied to the native notification,
+   * which is posted again at most `liveUpdatesPerSecond` times per second.
+   * Notifications scheduled for later, cancelled, dismissed or acted upon
+   * can't be updated and the call is rejected.
+   *
+   * Updates are not stored, a notification shown again after an app restart
+   * has its scheduled fields.
+   *
+   * Only available on Android.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  update(options: UpdateOptions): Promise<void>;
+
+  /**
+   * Add a message to a conversation notification shown right away, only
+   * sending the new message over the bridge.
+   *
+   * The latest 25 messages of each conversation are kept natively, in memory
+   * and in storage, and shown with `MessagingStyle`. The call is rejected
+   * when the notification was not shown by the running app, e.g. after a
+   * restart: schedule it again with only its new `messages`, they are added
+   * to the stored conversation. Conversations are forgotten once their
+   * notification is dismissed, tapped, acted upon or cancelled.
+   *
+   * Only available on Android.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  appendMessage(options: AppendMessageOptions): Promise<void>;
+
   /**
    * Register actions to take when notifications are displayed.
    *
@@ -75,6 +179,22 @@ export interface LocalNotificationsPlugin {
    */
   registerActionTypes(options: RegisterActionTypesOptions): Promise<void>;
 
+  /**
+   * Register notification fields shared by many notifications.
+   *
+   * The fields are stored and parsed once natively. Notifications scheduled
+   * with its `templateId` only need their `id`, `schedule`, `extra` and the
+   * `vars` filling the `{{name}}` placeholders of the template, which keeps
+   * large batches small on the bridge and cheap to build. Registering a
+   * template again with the same `id` replaces it for the notifications
+   * scheduled afterwards.
+   *
+   * Only available on Android.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  registerTemplate(options: RegisterTemplateOptions): Promise<void>;
+
   /**
    * Cancel pending notifications.
    *
@@ -179,6 +299,67 @@ export interface LocalNotificationsPlugin {
    */
   checkExactNotificationSetting(): Promise<SettingsPermissionStatus>;
 
+  /**
+   * Get the upcoming fire times of pending notifications within a time range,
+   * merged in time order.
+   *
+   * Schedules are expanded natively with the same rules used to arm them, so
+   * `every` and `on` schedules don't need to be re-implemented in JavaScript.
+   *
+   * Only available on Android.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  getUpcomingOccurrences(
+    options: GetUpcomingOccurrencesOptions,
+  ): Promise<GetUpcomingOccurrencesResult>;
+
+  /**
+   * Get histograms of how late scheduled notifications were delivered
+   * compared to their trigger time, per schedule kind and alarm mode.
+   *
+   * Useful to see the effect of Doze and inexact alarms on real devices.
+   *
+   * Only available on Android.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  getDeliveryStats(): Promise<DeliveryStatsResult>;
+
+  /**
+   * Get latency histograms and counters of the plugin operations
+   * (`schedule`, `cancel`, `getPending`, storage reads and writes, parsing
+   * and notification builds) since the app started or `resetMetrics()` was
+   * called.
+   *
+   * Metrics are only recorded when the `metrics` config option is enabled.
+   *
+   * Only available on Android.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  getMetrics(): Promise<MetricsResult>;
+
+  /**
+   * Clear the metrics returned by `getMetrics()`.
+   *
+   * Only available on Android.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  resetMetrics(): Promise<void>;
+
+  /**
+   * Get the spans recorded by the in-memory tracer, oldest first.
+   *
+   * Rejects unless the `tracer` config option is set to `memory`.
+   *
+   * Only available on Android.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  dumpTrace(options?: DumpTraceOptions): Promise<DumpTraceResult>;
+
   /**
    * Listen for when notifications are displayed.
    *
@@ -211,6 +392,41 @@ export interface LocalNotificationsPlugin {
     listenerFunc: (event: { notificationId: number }) => void | Promise<void>,
   ): Promise<PluginListenerHandle>;
 
+  /**
+   * Listen for notifications dismissed by the user, reported together.
+   *
+   * Dismissals within 250ms of each other, e.g. from "Clear all", are reported
+   * in a single event. While this event has listeners and
+   * `localNotificationDismissed` has none, the per notification event is not
+   * emitted.
+   *
+   * Only available on Android.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  addListener(
+    eventName: 'localNotificationsDismissedBatch',
+    listenerFunc: (event: { notificationIds: number[] }) => void | Promise<void>,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Listen for notifications snoozed with an action registered with
+   * `snoozeMinutes`.
+   *
+   * The notification is already re-armed natively when the event is
+   * emitted. Snoozes that happen while there is no listener are reported
+   * together in one event when a listener is added, only the latest one per
+   * notification.
+   *
+   * Only available on Android.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  addListener(
+    eventName: 'localNotificationsSnoozed',
+    listenerFunc: (event: SnoozedNotifications) => void | Promise<void>,
+  ): Promise<PluginListenerHandle>;
+
   /**
    * Remove all listeners for this plugin.
    *
@@ -239,7 +455,43 @@ export interface ScheduleOptions {
    *
    * @since 1.0.0
    */
-  notifications: LocalNotificationSchema[];
+  notifications: (LocalNotificationSchema | TemplatedNotificationSchema)[];
+}
+
+/**
+ * A notification built from a template registered with `registerTemplate()`.
+ *
+ * Other fields of `LocalNotificationSchema` set here replace the ones of the
+ * template.
+ *
+ * Only available on Android.
+ *
+ * @since 8.0.0-dismiss.3
+ */
+export interface TemplatedNotificationSchema extends Partial<LocalNotificationSchema> {
+  /**
+   * The identifier the template was registered with.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  templateId: string;
+
+  /**
+   * The notification identifier.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  id: number;
+
+  /**
+   * Values replacing the `{{name}}` placeholders of the title, body,
+   * `largeBody` and `summaryText` of the template.
+   *
+   * Placeholders without a value are kept as written.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  vars?: { [name: string]: string | number };
 }
 
 export interface ScheduleResult {
@@ -260,6 +512,52 @@ export interface PendingResult {
   notifications: PendingLocalNotificationSchema[];
 }
 
+export interface UpdateOptions {
+  /**
+   * The notification identifier.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  id: number;
+
+  /**
+   * The new title of the notification.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  title?: string;
+
+  /**
+   * The new body of the notification.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  body?: string;
+
+  /**
+   * The new progress bar of the notification, `null` removes it.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  progress?: Progress | null;
+}
+
+export interface AppendMessageOptions {
+  /**
+   * The identifier of a notification scheduled with `messages`.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  id: number;
+
+  /**
+   * The message to add to the conversation.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  message: Message;
+}
+
 export interface RegisterActionTypesOptions {
   /**
    * The list of action types to register.
@@ -269,6 +567,22 @@ export interface RegisterActionTypesOptions {
   types: ActionType[];
 }
 
+export interface RegisterTemplateOptions {
+  /**
+   * The identifier referenced by the `templateId` of notifications.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  id: string;
+
+  /**
+   * The fields shared by the notifications, their `id` is ignored.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  notification: Omit<LocalNotificationSchema, 'id'>;
+}
+
 export interface CancelOptions {
   /**
    * The list of notifications to cancel.
@@ -387,7 +701,10 @@ export interface Action {
    * Sets `foreground` in the options of the
    * [`UNNotificationAction`](https://developer.apple.com/documentation/usernotifications/unnotificationaction).
    *
-   * Only available for iOS.
+   * On Android, `false` handles the action in a broadcast receiver instead of
+   * launching the app. The notification is dismissed and
+   * `localNotificationActionPerformed` is emitted as soon as JavaScript is
+   * available. Supported on Android since 8.0.0-dismiss.3.
    *
    * @since 1.0.0
    */
@@ -431,6 +748,20 @@ export interface Action {
    * @since 1.0.0
    */
   inputPlaceholder?: string;
+
+  /**
+   * Make this a snooze action: the notification is dismissed and posted again
+   * after this many minutes, without launching the app.
+   *
+   * Reported by the `localNotificationsSnoozed` event. Repeating
+   * notifications are only dismissed, they fire again at their next
+   * occurrence.
+   *
+   * Only available on Android.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  snoozeMinutes?: number;
 }
 
 /**
@@ -740,6 +1071,28 @@ export interface LocalNotificationSchema {
    */
   channelId?: string;
 
+  /**
+   * Show a progress bar in the notification, changed with `update()`.
+   *
+   * Only available on Android.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  progress?: Progress;
+
+  /**
+   * Show the notification as a conversation with `MessagingStyle`, adding
+   * these messages to it. Continue it with `appendMessage()`.
+   *
+   * Scheduling a notification again with the same `id` adds its messages to
+   * the conversation kept natively, an empty array shows it as is.
+   *
+   * Only available on Android.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  messages?: Message[];
+
   /**
    * If true, the notification can't be swiped away.
    *
@@ -777,6 +1130,26 @@ export interface LocalNotificationSchema {
    */
   inboxList?: string[];
 
+  /**
+   * The priority of this notification, on the same scale as channel
+   * `importance`.
+   *
+   * Picks how the alarm of a scheduled notification is set: `1` and `2` use
+   * an inexact alarm that never wakes the device, `3` uses an exact alarm
+   * delivered when the device is next awake and `4` and `5` use an exact alarm
+   * that wakes the device. Also calls `setPriority()` on
+   * [`NotificationCompat.Builder`](https://developer.android.com/reference/androidx/core/app/NotificationCompat.Builder)
+   * for Android 7.x.
+   *
+   * If not provided, alarms are set as with `3`, an exact alarm that only
+   * wakes the device with `allowWhileIdle`.
+   *
+   * Only available for Android.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  priority?: Importance;
+
   /**
    * If true, notification will not appear while app is in the foreground.
    *
@@ -794,6 +1167,58 @@ export interface LocalNotificationSchema {
  *
  * @since 1.0.0
  */
+export interface Progress {
+  /**
+   * Current progress, out of `max`.
+   *
+   * @default 0
+   * @since 8.0.0-dismiss.3
+   */
+  value?: number;
+
+  /**
+   * Value of a complete progress.
+   *
+   * @default 100
+   * @since 8.0.0-dismiss.3
+   */
+  max?: number;
+
+  /**
+   * Show an activity indicator instead of the progress.
+   *
+   * @default false
+   * @since 8.0.0-dismiss.3
+   */
+  indeterminate?: boolean;
+}
+
+export interface Message {
+  /**
+   * The text of the message.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  text: string;
+
+  /**
+   * Name of the sender, messages without one were sent by the user of the
+   * device.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  sender?: string;
+
+  /**
+   * When the message was sent, in milliseconds since the epoch.
+   *
+   * Defaults to when it is added.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  timestamp?: number;
+}
+
 export interface Schedule {
   /**
    * Schedule a notification at a specific date and time.
@@ -806,6 +1231,9 @@ export interface Schedule {
    * Repeat delivery of this notification at the date and time specified by
    * `at`.
    *
+   * On Android the notification repeats on the `every` interval starting at
+   * `at`, or daily if `every` is not set.
+   *
    * Only available for iOS and Android.
    *
    * @since 1.0.0
@@ -853,9 +1281,21 @@ export interface ScheduleOn {
   year?: number;
   month?: number;
   day?: number;
-  weekday?: Weekday;
-  hour?: number;
-  minute?: number;
+  /**
+   * On Android, several weekdays can be given as an array or a string of
+   * comma separated values and ranges, e.g. `"2-6"` for Monday to Friday.
+   */
+  weekday?: Weekday | Weekday[] | string;
+  /**
+   * On Android, several hours can be given as an array or a string of comma
+   * separated values and ranges, e.g. `[9, 18]`.
+   */
+  hour?: number | number[] | string;
+  /**
+   * On Android, several minutes can be given as an array or a string of
+   * comma separated values and ranges, e.g. `"0,30"`.
+   */
+  minute?: number | number[] | string;
   second?: number;
 }
 
@@ -896,6 +1336,341 @@ export interface SettingsPermissionStatus {
   exact_alarm: PermissionState;
 }
 
+export interface GetUpcomingOccurrencesOptions {
+  /**
+   * Only expand the pending notifications with these identifiers.
+   *
+   * Defaults to all pending notifications.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  ids?: number[];
+
+  /**
+   * Start of the range, in milliseconds since the epoch.
+   *
+   * Defaults to now.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  from?: number;
+
+  /**
+   * End of the range (inclusive), in milliseconds since the epoch.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  to: number;
+
+  /**
+   * Maximum number of occurrences to return.
+   *
+   * @default 100
+   * @since 8.0.0-dismiss.3
+   */
+  limit?: number;
+}
+
+export interface GetUpcomingOccurrencesResult {
+  /**
+   * The occurrences in the range, earliest first.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  occurrences: UpcomingOccurrence[];
+}
+
+export interface UpcomingOccurrence {
+  /**
+   * The notification identifier.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  id: number;
+
+  /**
+   * When the notification fires, in milliseconds since the epoch.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  time: number;
+
+  /**
+   * The title of the notification.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  title: string;
+
+  /**
+   * The body of the notification.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  body: string;
+}
+
+export interface DeliveryStatsResult {
+  /**
+   * One entry per schedule kind and alarm mode that delivered notifications.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  stats: DeliveryStat[];
+}
+
+export interface DeliveryStat {
+  /**
+   * The kind of schedule: `at`, `repeating-at`, `every-fixed`, `every-calendar` or `on`.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  kind: string;
+
+  /**
+   * The alarm the notifications were armed with, e.g. `EXACT_WAKEUP` or `WINDOWED`.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  alarmMode: string;
+
+  /**
+   * Number of deliveries recorded.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  count: number;
+
+  /**
+   * Mean lateness in milliseconds.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  meanMs: number;
+
+  /**
+   * Largest lateness in milliseconds.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  maxMs: number;
+
+  /**
+   * Median lateness in milliseconds, as the upper bound of its bucket.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  p50Ms: number;
+
+  /**
+   * 90th percentile lateness in milliseconds, as the upper bound of its bucket.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  p90Ms: number;
+
+  /**
+   * 99th percentile lateness in milliseconds, as the upper bound of its bucket.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  p99Ms: number;
+
+  /**
+   * Upper bounds of the histogram buckets in milliseconds.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  bucketBoundsMs: number[];
+
+  /**
+   * Deliveries per bucket, with one more entry than `bucketBoundsMs` for
+   * everything above the last bound.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  bucketCounts: number[];
+}
+
+export interface MetricsResult {
+  /**
+   * Whether metrics are being recorded, see the `metrics` config option.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  enabled: boolean;
+
+  /**
+   * Latency histogram of each operation.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  timers: MetricsTimer[];
+
+  /**
+   * Value of each counter.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  counters: MetricsCounter[];
+}
+
+export interface MetricsTimer {
+  /**
+   * The operation: `schedule`, `cancel`, `getPending`, `storageRead`,
+   * `storageWrite`, `parse`, `buildNotification` or `dismissDispatch`, the
+   * time from a batch of dismissals being dispatched to their events being
+   * emitted.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  name: string;
+
+  /**
+   * Number of times the operation ran.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  count: number;
+
+  /**
+   * Mean duration in microseconds.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  meanUs: number;
+
+  /**
+   * Longest duration in microseconds.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  maxUs: number;
+
+  /**
+   * Median duration in microseconds, as the upper bound of its bucket.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  p50Us: number;
+
+  /**
+   * 90th percentile duration in microseconds, as the upper bound of its bucket.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  p90Us: number;
+
+  /**
+   * 99th percentile duration in microseconds, as the upper bound of its bucket.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  p99Us: number;
+
+  /**
+   * Upper bounds of the histogram buckets in microseconds.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  bucketBoundsUs: number[];
+
+  /**
+   * Operations per bucket, with one more entry than `bucketBoundsUs` for
+   * everything above the last bound.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  bucketCounts: number[];
+}
+
+export interface DumpTraceOptions {
+  /**
+   * Clear the buffer after reading it.
+   *
+   * @default false
+   * @since 8.0.0-dismiss.3
+   */
+  clear?: boolean;
+}
+
+export interface DumpTraceResult {
+  /**
+   * The spans still in the buffer, in the order they ended.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  spans: TraceSpan[];
+
+  /**
+   * Number of older spans overwritten because the buffer was full.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  dropped: number;
+}
+
+export interface TraceSpan {
+  /**
+   * The section name, e.g. `LN.buildNotification`.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  name: string;
+
+  /**
+   * Linux thread id of the thread the span ran on, as shown in system traces.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  threadId: number;
+
+  /**
+   * Number of spans open on the same thread when this one began.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  depth: number;
+
+  /**
+   * When the span began, in milliseconds since the epoch.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  startTime: number;
+
+  /**
+   * Duration in microseconds.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  durationUs: number;
+}
+
+export interface MetricsCounter {
+  /**
+   * The counter: `notificationsScheduled`, `notificationsCancelled`,
+   * `parseErrors`, `storageMigrations`, `dismissBroadcasts` (batches of
+   * dismissals broadcast because the plugin was not loaded), `outboxAppends`
+   * and `outboxEvictions` (events kept for the next app start, and dropped
+   * because the outbox was full), `eventsCoalesced` and `eventsEvicted`
+   * (events waiting for a listener replaced by a newer one for the same
+   * notification, and dropped over the limit of 100 per event),
+   * `payloadsBuilt` and `payloadsSkipped` (received event payloads parsed, and
+   * replaced or evicted unparsed before a listener got them) or `liveUpdates`
+   * and `livePosts` (calls to `update()`, and notifications posted again for
+   * them).
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  name: string;
+
+  /**
+   * @since 8.0.0-dismiss.3
+   */
+  value: number;
+}
+
 export interface ActionPerformed {
   /**
    * The identifier of the performed action.
@@ -921,6 +1696,38 @@ export interface ActionPerformed {
   notification: LocalNotificationSchema;
 }
 
+export interface SnoozedNotifications {
+  /**
+   * The snoozed notifications, oldest snooze first.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  notifications: SnoozedNotification[];
+}
+
+export interface SnoozedNotification {
+  /**
+   * The notification identifier.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  id: number;
+
+  /**
+   * The identifier of the snooze action.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  actionId: string;
+
+  /**
+   * When the notification is posted again, in milliseconds since the epoch.
+   *
+   * @since 8.0.0-dismiss.3
+   */
+  at: number;
+}
+
 /**
  * @deprecated
  */
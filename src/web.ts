@@ -3,10 +3,14 @@ import type { PermissionState } from '@capacitor/core';
 
 import type {
   DeliveredNotifications,
+  DeliveryStatsResult,
+  DumpTraceResult,
   EnabledResult,
+  GetUpcomingOccurrencesResult,
   ListChannelsResult,
   LocalNotificationSchema,
   LocalNotificationsPlugin,
+  MetricsResult,
   PendingResult,
   PermissionStatus,
   ScheduleOptions,
@@ -88,10 +92,22 @@ export class LocalNotificationsWeb
     };
   }
 
+  async update(): Promise<void> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
+  async appendMessage(): Promise<void> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
   async registerActionTypes(): Promise<void> {
     throw this.unimplemented('Not implemented on web.');
   }
 
+  async registerTemplate(): Promise<void> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
   async cancel(pending: ScheduleResult): Promise<void> {
     this.pending = this.pending.filter(
       notification =>
@@ -115,6 +131,26 @@ export class LocalNotificationsWeb
     throw this.unimplemented('Not implemented on web.');
   }
 
+  async getUpcomingOccurrences(): Promise<GetUpcomingOccurrencesResult> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
+  async getDeliveryStats(): Promise<DeliveryStatsResult> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
+  async getMetrics(): Promise<MetricsResult> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
+  async resetMetrics(): Promise<void> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
+  async dumpTrace(): Promise<DumpTraceResult> {
+    throw this.unimplemented('Not implemented on web.');
+  }
+
   async requestPermissions(): Promise<PermissionStatus> {
     if (!this.hasNotificationSupport()) {
       throw this.unavailable('Notifications not supported in this browser.');